@@ -0,0 +1,127 @@
+/*
+ * Iris is a World Generator for Minecraft Bukkit Servers
+ * Copyright (c) 2022 Arcane Arts (Volmit Software)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.volmit.iris.benchmark;
+
+import com.volmit.iris.util.data.BlockStates;
+import com.volmit.iris.util.data.StandInServer;
+import com.volmit.iris.util.math.RNG;
+import com.volmit.iris.util.matter.IrisMatter;
+import com.volmit.iris.util.matter.Matter;
+import com.volmit.iris.util.matter.MatterSlice;
+import org.bukkit.Bukkit;
+import org.bukkit.block.data.BlockData;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the block heavy paths before and after interning block states. Every benchmark walks the same 4096 nodes
+ * of a section, parse and key are the former per node work, intern and internedKey the shared registry.
+ * Block data comes from the stand-in server of the core test fixtures, its parsing is far cheaper than a real
+ * server's so the before numbers are a lower bound. Stage timings with a real pack come from /iris developer
+ * enginebench.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BlockStateBenchmark {
+    private static final String[] PALETTE = {
+            "minecraft:stone",
+            "minecraft:deepslate",
+            "minecraft:dirt",
+            "minecraft:grass_block[snowy=false]",
+            "minecraft:water[level=0]",
+            "minecraft:vine[east=false,north=true,south=false,up=false,west=false]",
+            "minecraft:iron_ore",
+            "minecraft:cave_air"
+    };
+
+    private String[] nodes;
+    private BlockData[] states;
+    private Matter matter;
+    private byte[] encoded;
+
+    @Setup
+    public void setup() throws IOException {
+        StandInServer.install();
+        RNG rng = new RNG(1337);
+        nodes = new String[4096];
+        states = new BlockData[4096];
+
+        for (int i = 0; i < nodes.length; i++) {
+            nodes[i] = PALETTE[rng.nextInt(PALETTE.length)];
+            states[i] = BlockStates.parse(nodes[i]);
+        }
+
+        matter = new IrisMatter(16, 16, 16);
+        MatterSlice<BlockData> blocks = matter.slice(BlockData.class);
+
+        for (int i = 0; i < states.length; i++) {
+            blocks.set(i & 15, (i >> 4) & 15, i >> 8, states[i]);
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        matter.write(out);
+        encoded = out.toByteArray();
+    }
+
+    @Benchmark
+    public void parse(Blackhole b) {
+        for (String i : nodes) {
+            b.consume(Bukkit.createBlockData(i));
+        }
+    }
+
+    @Benchmark
+    public void intern(Blackhole b) {
+        for (String i : nodes) {
+            b.consume(BlockStates.parse(i));
+        }
+    }
+
+    @Benchmark
+    public void key(Blackhole b) {
+        for (BlockData i : states) {
+            b.consume(i.getAsString(true));
+        }
+    }
+
+    @Benchmark
+    public void internedKey(Blackhole b) {
+        for (BlockData i : states) {
+            b.consume(BlockStates.key(i));
+        }
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(encoded.length);
+        matter.write(out);
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public Matter decode() throws IOException {
+        return Matter.read(new ByteArrayInputStream(encoded));
+    }
+}
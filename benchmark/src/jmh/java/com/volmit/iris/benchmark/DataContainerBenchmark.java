@@ -0,0 +1,106 @@
+/*
+ * Iris is a World Generator for Minecraft Bukkit Servers
+ * Copyright (c) 2022 Arcane Arts (Volmit Software)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package com.volmit.iris.benchmark;
+
+import com.volmit.iris.util.hunk.bits.DataContainer;
+import com.volmit.iris.util.hunk.bits.Writable;
+import com.volmit.iris.util.math.RNG;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fills, reads and round trips a section sized container. The palette size decides whether the container
+ * stays linear or has to resize into a hash palette while it is filled.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DataContainerBenchmark {
+    private static final int LENGTH = 4096;
+    private static final Writable<Integer> INTS = new Writable<>() {
+        @Override
+        public Integer readNodeData(DataInputStream din) throws IOException {
+            return din.readInt();
+        }
+
+        @Override
+        public void writeNodeData(DataOutputStream dos, Integer integer) throws IOException {
+            dos.writeInt(integer);
+        }
+    };
+
+    @Param({"4", "16", "256"})
+    public int palette;
+
+    private Integer[] values;
+    private DataContainer<Integer> filled;
+    private byte[] encoded;
+
+    @Setup
+    public void setup() throws IOException {
+        RNG rng = new RNG(1337);
+        values = new Integer[LENGTH];
+
+        for (int i = 0; i < LENGTH; i++) {
+            values[i] = rng.i(0, palette - 1);
+        }
+
+        filled = fill();
+        encoded = filled.write();
+    }
+
+    private DataContainer<Integer> fill() {
+        DataContainer<Integer> c = new DataContainer<>(INTS, LENGTH);
+
+        for (int i = 0; i < LENGTH; i++) {
+            c.set(i, values[i]);
+        }
+
+        return c;
+    }
+
+    @Benchmark
+    public DataContainer<Integer> set() {
+        return fill();
+    }
+
+    @Benchmark
+    public void get(Blackhole b) {
+        for (int i = 0; i < LENGTH; i++) {
+            b.consume(filled.get(i));
+        }
+    }
+
+    @Benchmark
+    public byte[] write() throws IOException {
+        return filled.write();
+    }
+
+    @Benchmark
+    public DataContainer<Integer> read() throws IOException {
+        return new DataContainer<>(new DataInputStream(new ByteArrayInputStream(encoded)), INTS);
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Iris is a World Generator for Minecraft Bukkit Servers
+ * Copyright (c) 2022 Arcane Arts (Volmit Software)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package com.volmit.iris.benchmark;
+
+import com.volmit.iris.util.function.NoiseProvider;
+import com.volmit.iris.util.interpolation.InterpolationMethod;
+import com.volmit.iris.util.interpolation.IrisInterpolation;
+import com.volmit.iris.util.math.RNG;
+import com.volmit.iris.util.noise.CNG;
+import com.volmit.iris.util.noise.NoiseType;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Interpolates one chunk of noise with each of the common interpolation modes at the default radius.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class InterpolationBenchmark {
+    @Param({"NONE", "BILINEAR", "BICUBIC", "HERMITE", "BILINEAR_STARCAST_6", "HERMITE_STARCAST_9", "CATMULL_ROM_SPLINE"})
+    public InterpolationMethod method;
+
+    @Param({"7"})
+    public double radius;
+
+    private NoiseProvider provider;
+    private int chunk;
+
+    @Setup
+    public void setup() {
+        CNG noise = CNG.signature(new RNG(1337), NoiseType.SIMPLEX).scale(0.02);
+        provider = noise::noise;
+        chunk = 0;
+    }
+
+    @Benchmark
+    public void chunk(Blackhole b) {
+        int cx = (chunk++ & 63) << 4;
+
+        for (int x = 0; x < 16; x++) {
+            for (int z = 0; z < 16; z++) {
+                b.consume(IrisInterpolation.getNoise(method, cx + x, z, radius, provider));
+            }
+        }
+    }
+}
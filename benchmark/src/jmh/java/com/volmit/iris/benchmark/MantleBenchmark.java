@@ -0,0 +1,107 @@
+/*
+ * Iris is a World Generator for Minecraft Bukkit Servers
+ * Copyright (c) 2022 Arcane Arts (Volmit Software)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package com.volmit.iris.benchmark;
+
+import com.volmit.iris.util.mantle.MantleChunk;
+import com.volmit.iris.util.mantle.TectonicPlate;
+import com.volmit.iris.util.math.RNG;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes and reads a tectonic plate of synthetic chunks to a temporary file. Every write gets a freshly built plate
+ * so all of its chunks are dirty and encoded, reads either only load the index or decode every chunk too.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class MantleBenchmark {
+    private static final int WORLD_HEIGHT = 384;
+
+    @Param({"64", "1024"})
+    public int chunks;
+
+    @Param({"4"})
+    public int sections;
+
+    private File folder;
+    private File written;
+    private File target;
+    private TectonicPlate plate;
+
+    @Setup(Level.Trial)
+    public void setupTrial() throws IOException {
+        folder = Files.createTempDirectory("iris-mantle-benchmark").toFile();
+        written = new File(folder, "read.ttp");
+        target = new File(folder, "write.ttp");
+        plate().write(written);
+    }
+
+    @Setup(Level.Invocation)
+    public void setupInvocation() {
+        plate = plate();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        written.delete();
+        target.delete();
+        folder.delete();
+    }
+
+    private TectonicPlate plate() {
+        RNG rng = new RNG(1337);
+        TectonicPlate p = new TectonicPlate(WORLD_HEIGHT, 0, 0);
+
+        for (int i = 0; i < chunks; i++) {
+            MantleChunk c = p.getOrCreate(i & 31, i >> 5);
+
+            for (int j = 0; j < sections; j++) {
+                MatterBenchmark.fill(c.getOrCreate(j), rng);
+            }
+        }
+
+        return p;
+    }
+
+    @Benchmark
+    public void write() throws IOException {
+        plate.write(target);
+    }
+
+    @Benchmark
+    public TectonicPlate readIndex() throws IOException {
+        return TectonicPlate.read(WORLD_HEIGHT, written);
+    }
+
+    @Benchmark
+    public void readAll(Blackhole b) throws IOException {
+        TectonicPlate p = TectonicPlate.read(WORLD_HEIGHT, written);
+
+        for (int i = 0; i < chunks; i++) {
+            b.consume(p.get(i & 31, i >> 5));
+        }
+    }
+}
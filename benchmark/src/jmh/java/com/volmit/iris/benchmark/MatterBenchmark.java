@@ -0,0 +1,97 @@
+/*
+ * Iris is a World Generator for Minecraft Bukkit Servers
+ * Copyright (c) 2022 Arcane Arts (Volmit Software)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package com.volmit.iris.benchmark;
+
+import com.volmit.iris.util.math.RNG;
+import com.volmit.iris.util.matter.IrisMatter;
+import com.volmit.iris.util.matter.Matter;
+import com.volmit.iris.util.matter.MatterCavern;
+import com.volmit.iris.util.matter.MatterSlice;
+import com.volmit.iris.util.matter.MatterUpdate;
+import com.volmit.iris.util.matter.slices.CavernMatter;
+import com.volmit.iris.util.matter.slices.UpdateMatter;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encodes and decodes a single mantle section holding the slices a carved chunk typically has.
+ * Only slices that don't need a server are used, block data can't be created offline.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MatterBenchmark {
+    private Matter matter;
+    private byte[] encoded;
+
+    @Setup
+    public void setup() throws IOException {
+        matter = section(new RNG(1337));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        matter.write(out);
+        encoded = out.toByteArray();
+    }
+
+    static Matter section(RNG rng) {
+        Matter m = new IrisMatter(16, 16, 16);
+        fill(m, rng);
+        return m;
+    }
+
+    static void fill(Matter m, RNG rng) {
+        MatterSlice<Integer> ints = m.slice(Integer.class);
+        MatterSlice<MatterCavern> caverns = m.slice(MatterCavern.class);
+        MatterSlice<MatterUpdate> updates = m.slice(MatterUpdate.class);
+
+        for (int x = 0; x < 16; x++) {
+            for (int y = 0; y < 16; y++) {
+                for (int z = 0; z < 16; z++) {
+                    if (rng.nextInt(4) == 0) {
+                        ints.set(x, y, z, rng.nextInt(64));
+                    }
+
+                    if (rng.nextInt(3) == 0) {
+                        caverns.set(x, y, z, y < 4 ? CavernMatter.get("", 1) : CavernMatter.BASIC);
+                    }
+
+                    if (rng.nextInt(32) == 0) {
+                        updates.set(x, y, z, UpdateMatter.ON);
+                    }
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(encoded.length);
+        matter.write(out);
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public Matter decode() throws IOException {
+        return Matter.read(new ByteArrayInputStream(encoded));
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Iris is a World Generator for Minecraft Bukkit Servers
+ * Copyright (c) 2022 Arcane Arts (Volmit Software)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package com.volmit.iris.benchmark;
+
+import com.volmit.iris.util.math.RNG;
+import com.volmit.iris.util.noise.CNG;
+import com.volmit.iris.util.noise.NoiseType;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Samples one chunk column of noise per invocation, the unit the generator works in.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class NoiseBenchmark {
+    @Param({"SIMPLEX", "PERLIN", "CELLULAR", "WHITE", "FRACTAL_FBM_SIMPLEX"})
+    public NoiseType type;
+
+    private CNG signature;
+    private CNG noise;
+    private int chunk;
+
+    @Setup
+    public void setup() {
+        signature = CNG.signature(new RNG(1337));
+        noise = CNG.signature(new RNG(1337), type).scale(0.01);
+        chunk = 0;
+    }
+
+    @Benchmark
+    public void sample2D(Blackhole b) {
+        int cx = (chunk++ & 63) << 4;
+
+        for (int x = 0; x < 16; x++) {
+            for (int z = 0; z < 16; z++) {
+                b.consume(noise.noise(cx + x, z));
+            }
+        }
+    }
+
+    @Benchmark
+    public void sample3D(Blackhole b) {
+        int cx = (chunk++ & 63) << 4;
+
+        for (int x = 0; x < 16; x++) {
+            for (int y = 0; y < 16; y++) {
+                for (int z = 0; z < 16; z++) {
+                    b.consume(noise.noise(cx + x, y, z));
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public void signature(Blackhole b) {
+        int cx = (chunk++ & 63) << 4;
+
+        for (int x = 0; x < 16; x++) {
+            for (int z = 0; z < 16; z++) {
+                b.consume(signature.noise(cx + x, z));
+            }
+        }
+    }
+}
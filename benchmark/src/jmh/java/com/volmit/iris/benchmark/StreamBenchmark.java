@@ -0,0 +1,93 @@
+/*
+ * Iris is a World Generator for Minecraft Bukkit Servers
+ * Copyright (c) 2022 Arcane Arts (Volmit Software)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package com.volmit.iris.benchmark;
+
+import com.volmit.iris.util.math.RNG;
+import com.volmit.iris.util.noise.CNG;
+import com.volmit.iris.util.noise.NoiseType;
+import com.volmit.iris.util.stream.DoubleStream2D;
+import com.volmit.iris.util.stream.sources.CNGStream;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads one chunk of a typical height stream chain through the primitive double path, with and without a 2D cache
+ * in front of it. The cached reads revisit the same region so they measure cache hits, the fill cost shows up in the
+ * first iteration. The fill benchmarks read the same chunk through the chunk aligned fill path instead.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class StreamBenchmark {
+    private final double[] out = new double[256];
+    private DoubleStream2D chain;
+    private DoubleStream2D cached;
+    private int chunk;
+
+    @Setup
+    public void setup() {
+        CNG base = CNG.signature(new RNG(1337), NoiseType.SIMPLEX);
+        CNG detail = CNG.signature(new RNG(42), NoiseType.PERLIN).scale(0.05);
+        chain = new CNGStream(base)
+                .zoom(80)
+                .add(new CNGStream(detail).multiply(0.25))
+                .fit(0, 256)
+                .map(v -> (double) Math.round(v));
+        cached = chain.cache2D("benchmark", null, 8192);
+        chunk = 0;
+    }
+
+    @Benchmark
+    public void chain(Blackhole b) {
+        read(chain, b);
+    }
+
+    @Benchmark
+    public void cache2D(Blackhole b) {
+        read(cached, b);
+    }
+
+    @Benchmark
+    public void chainFill(Blackhole b) {
+        fill(chain, b);
+    }
+
+    @Benchmark
+    public void cache2DFill(Blackhole b) {
+        fill(cached, b);
+    }
+
+    private void read(DoubleStream2D stream, Blackhole b) {
+        int cx = (chunk++ & 31) << 4;
+
+        for (int x = 0; x < 16; x++) {
+            for (int z = 0; z < 16; z++) {
+                b.consume(stream.getDouble(cx + x, z));
+            }
+        }
+    }
+
+    private void fill(DoubleStream2D stream, Blackhole b) {
+        stream.fill(out, (chunk++ & 31) << 4, 0, 16, 16);
+        b.consume(out);
+    }
+}
@@ -55,6 +55,7 @@ import com.volmit.iris.util.io.InstanceState;
 import com.volmit.iris.util.io.JarScanner;
 import com.volmit.iris.util.math.M;
 import com.volmit.iris.util.math.RNG;
+import com.volmit.iris.util.matter.MatterObjectRef;
 import com.volmit.iris.util.misc.getHardware;
 import com.volmit.iris.util.parallel.MultiBurst;
 import com.volmit.iris.util.plugin.IrisService;
@@ -135,6 +136,10 @@ public class Iris extends VolmitPlugin implements Listener {
 
     @SuppressWarnings("unchecked")
     public static <T> T service(Class<T> c) {
+        if (instance == null) {
+            return null;
+        }
+
         return (T) instance.services.get(c);
     }
 
@@ -146,8 +151,23 @@ public class Iris extends VolmitPlugin implements Listener {
         }
     }
 
+    /**
+     * @return the plugin jar, or the jar Iris was loaded from when running without a server
+     */
+    private static File getJar() {
+        if (instance != null) {
+            return instance.getJarFile();
+        }
+
+        try {
+            return new File(Iris.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        } catch (Throwable e) {
+            throw new IllegalStateException("Can't locate the Iris jar", e);
+        }
+    }
+
     public static KList<Object> initialize(String s, Class<? extends Annotation> slicedClass) {
-        JarScanner js = new JarScanner(instance.getJarFile(), s);
+        JarScanner js = new JarScanner(getJar(), s);
         KList<Object> v = new KList<>();
         J.attempt(js::scan);
         for (Class<?> i : js.getClasses()) {
@@ -164,7 +184,7 @@ public class Iris extends VolmitPlugin implements Listener {
     }
 
     public static KList<Class<?>> getClasses(String s, Class<? extends Annotation> slicedClass) {
-        JarScanner js = new JarScanner(instance.getJarFile(), s);
+        JarScanner js = new JarScanner(getJar(), s);
         KList<Class<?>> v = new KList<>();
         J.attempt(js::scan);
         for (Class<?> i : js.getClasses()) {
@@ -483,6 +503,7 @@ public class Iris extends VolmitPlugin implements Listener {
             autoStartStudio();
             checkForBukkitWorlds();
             IrisToolbelt.retainMantleDataForSlice(String.class.getCanonicalName());
+            IrisToolbelt.retainMantleDataForSlice(MatterObjectRef.class.getCanonicalName());
             IrisToolbelt.retainMantleDataForSlice(BlockData.class.getCanonicalName());
         });
     }
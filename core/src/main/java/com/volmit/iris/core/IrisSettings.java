@@ -61,6 +61,10 @@ public class IrisSettings {
 
         settings = new IrisSettings();
 
+        if (Iris.instance == null) {
+            return settings;
+        }
+
         File s = Iris.instance.getDataFile("settings.json");
 
         if (!s.exists()) {
@@ -123,6 +127,7 @@ public class IrisSettings {
     public static class IrisSettingsWorld {
         public IrisAsyncTeleport asyncTeleport = new IrisAsyncTeleport();
         public boolean postLoadBlockUpdates = true;
+        public long postLoadBlockUpdateBudgetMS = 4;
         public boolean forcePersistEntities = true;
         public boolean anbientEntitySpawningSystem = true;
         public long asyncTickIntervalMS = 700;
@@ -135,6 +140,11 @@ public class IrisSettings {
     @Data
     public static class IrisSettingsConcurrency {
         public int parallelism = -1;
+        public boolean adaptivePregenWindow = true;
+        public int pregenMinWindow = 16;
+        public int pregenMaxWindow = 1024;
+        public double pregenHeapLimit = 0.85;
+        public int pregenLagThresholdMs = 10;
     }
 
     @Data
@@ -23,6 +23,7 @@ import com.volmit.iris.core.ServerConfigurator;
 import com.volmit.iris.core.loader.IrisData;
 import com.volmit.iris.core.nms.datapack.DataVersion;
 import com.volmit.iris.core.service.IrisEngineSVC;
+import com.volmit.iris.core.tools.IrisEngineBenchmark;
 import com.volmit.iris.core.tools.IrisPackBenchmarking;
 import com.volmit.iris.core.tools.IrisToolbelt;
 import com.volmit.iris.engine.framework.Engine;
@@ -136,6 +137,39 @@ public class CommandDeveloper implements DecreeExecutor {
 
     }
 
+    @Decree(description = "Migrate legacy Tectonic Plates to the indexed format")
+    public void migrateMantle(
+            @Param(description = "The world to migrate", aliases = {"world"})
+            World world
+    ) {
+        Engine engine = IrisToolbelt.access(world).getEngine();
+        int maxHeight = engine.getTarget().getHeight();
+        File tectonicplates = new File(engine.getWorld().worldFolder(), "mantle");
+        File[] files = tectonicplates.listFiles((dir, name) -> name.endsWith(".ttp.lz4b"));
+        if (files == null) {
+            sender().sendMessage(C.RED + "No mantle found for " + world.getName());
+            return;
+        }
+
+        VolmitSender sender = sender();
+        AtomicInteger migrated = new AtomicInteger();
+        var burst = MultiBurst.burst.burst(files.length);
+        for (File i : files) {
+            burst.queue(() -> {
+                try {
+                    if (TectonicPlate.migrate(maxHeight, i)) {
+                        migrated.incrementAndGet();
+                    }
+                } catch (IOException e) {
+                    Iris.reportError(e);
+                    Iris.error("Failed to migrate " + i.getName());
+                }
+            });
+        }
+        burst.complete();
+        sender.sendMessage(C.GREEN + "Migrated " + migrated.get() + " of " + files.length + " Tectonic Plates");
+    }
+
     @Decree(description = "Test")
     public void packBenchmark(
             @Param(description = "The pack to bench", aliases = {"pack"}, defaultValue = "overworld")
@@ -148,6 +182,21 @@ public class CommandDeveloper implements DecreeExecutor {
         new IrisPackBenchmarking(dimension, radius, gui);
     }
 
+    @Decree(description = "Benchmark a pack offline and write a json report", aliases = {"enginebench"})
+    public void engineBenchmark(
+            @Param(description = "The pack to bench", aliases = {"pack"}, defaultValue = "overworld")
+            IrisDimension dimension,
+            @Param(description = "Radius of the measured square in chunks", defaultValue = "16")
+            int radius,
+            @Param(description = "Radius of the warmup square in chunks", defaultValue = "8")
+            int warmup,
+            @Param(description = "The seed to generate with", defaultValue = "1337")
+            long seed
+    ) {
+        sender().sendMessage(C.GREEN + "Starting the engine benchmark of " + dimension.getLoadKey() + ", the report will be written to the packbenchmarks folder.");
+        new IrisEngineBenchmark(dimension, seed, radius, warmup, sender()).start();
+    }
+
     @Decree(description = "Upgrade to another Minecraft version")
     public void upgrade(
             @Param(description = "The version to upgrade to", defaultValue = "latest") DataVersion version) {
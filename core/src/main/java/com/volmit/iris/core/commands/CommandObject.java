@@ -138,9 +138,9 @@ public class CommandObject implements DecreeExecutor {
     ) {
         IrisObject o = IrisData.loadAnyObject(object);
         sender().sendMessage("Object Size: " + o.getW() + " * " + o.getH() + " * " + o.getD() + "");
-        sender().sendMessage("Blocks Used: " + NumberFormat.getIntegerInstance().format(o.getBlocks().size()));
+        sender().sendMessage("Blocks Used: " + NumberFormat.getIntegerInstance().format(o.volume()));
 
-        Queue<BlockData> queue = o.getBlocks().enqueueValues();
+        Queue<BlockData> queue = o.getCompactBlocks().toBlocks().enqueueValues();
         Map<Material, Set<BlockData>> unsorted = new HashMap<>();
         Map<BlockData, Integer> amounts = new HashMap<>();
         Map<Material, Integer> materials = new HashMap<>();
@@ -325,7 +325,7 @@ public class CommandObject implements DecreeExecutor {
 //            IrisObjectPlacementScaleInterpolator interpolator
     ) {
         IrisObject o = IrisData.loadAnyObject(object);
-        double maxScale = Double.max(10 - o.getBlocks().size() / 10000d, 1);
+        double maxScale = Double.max(10 - o.volume() / 10000d, 1);
         if (scale > maxScale) {
             sender().sendMessage(C.YELLOW + "Indicated scale exceeds maximum. Downscaled to maximum: " + maxScale);
             scale = maxScale;
@@ -24,6 +24,7 @@ import com.volmit.iris.core.gui.PregeneratorJob;
 import com.volmit.iris.core.pregenerator.LazyPregenerator;
 import com.volmit.iris.core.pregenerator.PregenTask;
 import com.volmit.iris.core.tools.IrisToolbelt;
+import com.volmit.iris.engine.object.IrisDimension;
 import com.volmit.iris.util.decree.DecreeExecutor;
 import com.volmit.iris.util.decree.annotations.Decree;
 import com.volmit.iris.util.decree.annotations.Param;
@@ -70,6 +71,50 @@ public class CommandPregen implements DecreeExecutor {
         }
     }
 
+    @Decree(description = "Pregenerate a world that is not loaded straight into its region files", aliases = "offline")
+    public void headless(
+            @Param(description = "The radius of the pregen in blocks", aliases = "size")
+            int radius,
+            @Param(aliases = "world-name", description = "The name of the world folder to pregen")
+            String name,
+            @Param(aliases = "dimension", description = "The dimension type to pregen the world with", defaultValue = "default")
+            IrisDimension type,
+            @Param(description = "The seed the world will be created with", defaultValue = "1337")
+            long seed,
+            @Param(aliases = "middle", description = "The center location of the pregen", defaultValue = "0,0")
+            Vector center
+    ) {
+        if (Bukkit.getWorld(name) != null) {
+            sender().sendMessage(C.RED + "The world " + name + " is loaded, use /iris pregen start instead.");
+            return;
+        }
+
+        if (PregeneratorJob.getInstance() != null) {
+            sender().sendMessage(C.RED + "Another pregeneration task is already running.");
+            return;
+        }
+
+        try {
+            radius = Math.max(radius, 1024);
+            int w = (radius >> 9 + 1) * 2;
+            IrisToolbelt.pregenerateHeadless(PregenTask
+                    .builder()
+                    .center(new Position2(center.getBlockX() >> 9, center.getBlockZ() >> 9))
+                    .gui(sender().isPlayer())
+                    .width(w)
+                    .height(w)
+                    .build(), name, type, seed);
+            String msg = C.GREEN + "Headless pregen started in " + C.GOLD + name + C.GREEN + " of " + C.GOLD + (radius * 2) + C.GREEN + " by " + C.GOLD + (radius * 2) + C.GREEN + " blocks from " + C.GOLD + center.getX() + "," + center.getZ();
+            sender().sendMessage(msg);
+            sender().sendMessage(C.GREEN + "Create the world with " + C.GOLD + "/iris create " + name + " " + type.getLoadKey() + " " + seed + C.GREEN + " once it is done.");
+            Iris.info(msg);
+        } catch (Throwable e) {
+            sender().sendMessage(C.RED + "Epic fail. See console.");
+            Iris.reportError(e);
+            e.printStackTrace();
+        }
+    }
+
     @Decree(description = "Stop the active pregeneration task", aliases = "x")
     public void stop() {
         if (PregeneratorJob.shutdownInstance()) {
@@ -23,6 +23,7 @@ import com.volmit.iris.core.IrisSettings;
 import com.volmit.iris.core.gui.NoiseExplorerGUI;
 import com.volmit.iris.core.gui.VisionGUI;
 import com.volmit.iris.core.loader.IrisData;
+import com.volmit.iris.core.loader.ObjectMetaIndex;
 import com.volmit.iris.core.project.IrisProject;
 import com.volmit.iris.core.service.ConversionSVC;
 import com.volmit.iris.core.service.StudioSVC;
@@ -62,7 +63,6 @@ import io.papermc.lib.PaperLib;
 import org.bukkit.*;
 import org.bukkit.event.inventory.InventoryType;
 import org.bukkit.inventory.Inventory;
-import org.bukkit.util.BlockVector;
 import org.bukkit.util.Vector;
 
 import java.io.File;
@@ -804,10 +804,12 @@ public class CommandStudio implements DecreeExecutor {
                         continue;
                     }
 
-                    File ff = g.getData().getObjectLoader().findFile(i);
-                    BlockVector sz = IrisObject.sampleSize(ff);
-                    nn3 = i + ": size=[" + sz.getBlockX() + "," + sz.getBlockY() + "," + sz.getBlockZ() + "] location=[" + ff.getPath() + "]";
-                    stop.add(i);
+                    ObjectMetaIndex.Entry e = g.getData().getObjectLoader().getMeta(i);
+
+                    if (e != null) {
+                        nn3 = i + ": size=[" + e.w() + "," + e.h() + "," + e.d() + "] location=[" + e.path() + "]";
+                        stop.add(i);
+                    }
                 } catch (Throwable e) {
                     Iris.reportError(e);
                 }
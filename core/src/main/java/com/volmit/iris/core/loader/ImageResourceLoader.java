@@ -116,24 +116,9 @@ public class ImageResourceLoader extends ResourceLoader<IrisImage> {
         return possibleKeys;
     }
 
-    public File findFile(String name) {
-        for (File i : getFolders(name)) {
-            for (File j : i.listFiles()) {
-                if (j.isFile() && j.getName().endsWith(".png") && j.getName().split("\\Q.\\E")[0].equals(name)) {
-                    return j;
-                }
-            }
-
-            File file = new File(i, name + ".png");
-
-            if (file.exists()) {
-                return file;
-            }
-        }
-
-        Iris.warn("Couldn't find " + resourceTypeName + ": " + name);
-
-        return null;
+    @Override
+    protected String getFileExtension() {
+        return ".png";
     }
 
     public IrisImage load(String name) {
@@ -141,23 +126,14 @@ public class ImageResourceLoader extends ResourceLoader<IrisImage> {
     }
 
     private IrisImage loadRaw(String name) {
-        for (File i : getFolders(name)) {
-            for (File j : i.listFiles()) {
-                if (j.isFile() && j.getName().endsWith(".png") && j.getName().split("\\Q.\\E")[0].equals(name)) {
-                    return loadFile(j, name);
-                }
-            }
-
-            File file = new File(i, name + ".png");
+        File file = resolveFile(name);
 
-            if (file.exists()) {
-                return loadFile(file, name);
-            }
+        if (file == null) {
+            Iris.warn("Couldn't find " + resourceTypeName + ": " + name);
+            return null;
         }
 
-        Iris.warn("Couldn't find " + resourceTypeName + ": " + name);
-
-        return null;
+        return loadFile(file, name);
     }
 
     public IrisImage load(String name, boolean warn) {
@@ -268,9 +268,19 @@ public class IrisData implements ExclusionStrategy, TypeAdapterFactory {
 
     public void close() {
         closed = true;
+        saveSnapshots();
         dump();
     }
 
+    /**
+     * Write the compiled resource snapshot of every loader which read or invalidated resources
+     */
+    public void saveSnapshots() {
+        for (ResourceLoader<?> i : loaders.values()) {
+            i.saveSnapshot();
+        }
+    }
+
     public IrisData copy() {
         return IrisData.get(dataFolder);
     }
@@ -362,6 +372,28 @@ public class IrisData implements ExclusionStrategy, TypeAdapterFactory {
         }
     }
 
+    /**
+     * Apply file changes seen by the hotloader to the file index of every loader
+     *
+     * @param created the created files or folders
+     * @param changed the modified files
+     * @param deleted the deleted files or folders
+     */
+    public void updateIndexes(KList<File> created, KList<File> changed, KList<File> deleted) {
+        for (ResourceLoader<?> i : loaders.values()) {
+            i.updateIndex(created, changed, deleted);
+        }
+    }
+
+    /**
+     * Drop the file index of every loader, use this after changing the pack without the hotloader
+     */
+    public void clearIndexes() {
+        for (ResourceLoader<?> i : loaders.values()) {
+            i.clearIndex();
+        }
+    }
+
     public String toLoadKey(File f) {
         if (f.getPath().startsWith(getDataFolder().getPath())) {
             String[] full = f.getPath().split("\\Q" + File.separator + "\\E");
@@ -126,24 +126,9 @@ public class MatterObjectResourceLoader extends ResourceLoader<IrisMatterObject>
 //        return possibleKeys;
 //    }
 
-    public File findFile(String name) {
-        for (File i : getFolders(name)) {
-            for (File j : i.listFiles()) {
-                if (j.isFile() && j.getName().endsWith(".mat") && j.getName().split("\\Q.\\E")[0].equals(name)) {
-                    return j;
-                }
-            }
-
-            File file = new File(i, name + ".mat");
-
-            if (file.exists()) {
-                return file;
-            }
-        }
-
-        Iris.warn("Couldn't find " + resourceTypeName + ": " + name);
-
-        return null;
+    @Override
+    protected String getFileExtension() {
+        return ".mat";
     }
 
     public IrisMatterObject load(String name) {
@@ -151,23 +136,14 @@ public class MatterObjectResourceLoader extends ResourceLoader<IrisMatterObject>
     }
 
     private IrisMatterObject loadRaw(String name) {
-        for (File i : getFolders(name)) {
-            for (File j : i.listFiles()) {
-                if (j.isFile() && j.getName().endsWith(".mat") && j.getName().split("\\Q.\\E")[0].equals(name)) {
-                    return loadFile(j, name);
-                }
-            }
-
-            File file = new File(i, name + ".mat");
+        File file = resolveFile(name);
 
-            if (file.exists()) {
-                return loadFile(file, name);
-            }
+        if (file == null) {
+            Iris.warn("Couldn't find " + resourceTypeName + ": " + name);
+            return null;
         }
 
-        Iris.warn("Couldn't find " + resourceTypeName + ": " + name);
-
-        return null;
+        return loadFile(file, name);
     }
 
     public IrisMatterObject load(String name, boolean warn) {
@@ -0,0 +1,331 @@
+/*
+ * Iris is a World Generator for Minecraft Bukkit Servers
+ * Copyright (c) 2022 Arcane Arts (Volmit Software)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.volmit.iris.core.loader;
+
+import com.volmit.iris.Iris;
+import com.volmit.iris.util.collection.KList;
+import com.volmit.iris.util.collection.KMap;
+import com.volmit.iris.util.collection.KSet;
+import com.volmit.iris.util.format.C;
+import com.volmit.iris.util.format.Form;
+import com.volmit.iris.util.io.CustomOutputStream;
+import com.volmit.iris.util.parallel.BurstExecutor;
+import com.volmit.iris.util.parallel.MultiBurst;
+import com.volmit.iris.util.scheduling.PrecisionStopwatch;
+import org.bukkit.util.BlockVector;
+
+import java.io.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Persistent header index of every object file in a pack, stored in the pack's .iris folder.
+ * Entries are keyed by load key and validated against the file length and modification time,
+ * so a refresh only opens the object files which changed since the last scan.
+ */
+public class ObjectMetaIndex {
+    private static final int VERSION = 1;
+    private static final String EXTENSION = ".iob";
+    private final File root;
+    private final File file;
+    private final Supplier<KList<File>> folders;
+    private final KMap<String, Entry> entries;
+    private volatile boolean stale;
+    private boolean loaded;
+
+    public ObjectMetaIndex(File root, Supplier<KList<File>> folders) {
+        this.root = root;
+        this.file = new File(root, ".iris/objects.idx");
+        this.folders = folders;
+        this.entries = new KMap<>();
+        this.stale = true;
+        this.loaded = false;
+    }
+
+    /**
+     * Get the indexed header of an object
+     *
+     * @param key the load key
+     * @return the entry or null if no such object file exists
+     */
+    public Entry get(String key) {
+        refresh();
+        return entries.get(key);
+    }
+
+    /**
+     * @return every load key in the pack
+     */
+    public String[] getKeys() {
+        refresh();
+        return entries.keySet().toArray(new String[0]);
+    }
+
+    /**
+     * Mark the index for a rescan on the next access. Unchanged files keep their entries.
+     */
+    public void invalidate() {
+        stale = true;
+    }
+
+    /**
+     * Rescan the object folders if the index was invalidated. Only new or modified files are opened,
+     * the index file is rewritten when anything changed.
+     */
+    public void refresh() {
+        if (!stale) {
+            return;
+        }
+
+        synchronized (this) {
+            if (!stale) {
+                return;
+            }
+
+            PrecisionStopwatch p = PrecisionStopwatch.start();
+
+            if (!loaded) {
+                read();
+                loaded = true;
+            }
+
+            KMap<String, File> found = new KMap<>();
+            KList<File> f = folders.get();
+
+            if (f != null) {
+                for (File i : f) {
+                    scan(i, "", found);
+                }
+            }
+
+            AtomicInteger changed = new AtomicInteger(entries.size());
+            entries.keySet().removeIf(k -> !found.containsKey(k));
+            changed.set(changed.get() - entries.size());
+            BurstExecutor burst = MultiBurst.burst.burst(found.size());
+
+            for (String i : found.k()) {
+                File j = found.get(i);
+                Entry e = entries.get(i);
+
+                if (e != null && e.matches(path(j), j)) {
+                    continue;
+                }
+
+                burst.queue(() -> {
+                    try {
+                        entries.put(i, sample(i, j));
+                    } catch (Throwable ex) {
+                        Iris.reportError(ex);
+                        Iris.warn("Couldn't index object file: " + j.getPath() + ": " + ex.getMessage());
+                        entries.remove(i);
+                    }
+
+                    changed.incrementAndGet();
+                });
+            }
+
+            burst.complete();
+
+            if (changed.get() > 0) {
+                write();
+            }
+
+            stale = false;
+            Iris.debug("Object Index " + C.GRAY + root.getPath() + C.LIGHT_PURPLE + " refreshed " + C.WHITE + Form.f(changed.get()) + C.LIGHT_PURPLE + " of " + C.WHITE + Form.f(entries.size()) + C.LIGHT_PURPLE + " entries in " + C.RED + Form.duration(p.getMilliseconds(), 2));
+        }
+    }
+
+    private void scan(File dir, String prefix, KMap<String, File> found) {
+        File[] files = dir.listFiles();
+
+        if (files == null) {
+            return;
+        }
+
+        for (File i : files) {
+            if (i.isDirectory()) {
+                scan(i, prefix + i.getName() + "/", found);
+            } else if (i.getName().endsWith(EXTENSION)) {
+                found.putIfAbsent(prefix + i.getName().substring(0, i.getName().length() - EXTENSION.length()), i);
+            }
+        }
+    }
+
+    private String path(File f) {
+        return root.toURI().relativize(f.toURI()).getPath();
+    }
+
+    private Entry sample(String key, File f) throws IOException {
+        long modified = f.lastModified();
+        long length = f.length();
+
+        try (DataInputStream din = new DataInputStream(new BufferedInputStream(new FileInputStream(f)))) {
+            int w = din.readInt();
+            int h = din.readInt();
+            int d = din.readInt();
+
+            if (din.readUTF().equals("Iris V2 IOB;")) {
+                String[] palette = new String[din.readShort()];
+
+                for (int i = 0; i < palette.length; i++) {
+                    palette[i] = din.readUTF();
+                }
+
+                return new Entry(key, path(f), modified, length, w, h, d, din.readInt(), palette);
+            }
+        } catch (UTFDataFormatException | EOFException ignored) {
+            // Legacy object, read below
+        }
+
+        try (DataInputStream din = new DataInputStream(new BufferedInputStream(new FileInputStream(f)))) {
+            int w = din.readInt();
+            int h = din.readInt();
+            int d = din.readInt();
+            int s = din.readInt();
+            KSet<String> palette = new KSet<>();
+
+            for (int i = 0; i < s; i++) {
+                din.skipNBytes(6);
+                palette.add(din.readUTF());
+            }
+
+            return new Entry(key, path(f), modified, length, w, h, d, s, palette.toArray(new String[0]));
+        }
+    }
+
+    private void read() {
+        if (!file.exists()) {
+            return;
+        }
+
+        try (DataInputStream din = new DataInputStream(new BufferedInputStream(new GZIPInputStream(new FileInputStream(file))))) {
+            if (din.readInt() != VERSION) {
+                return;
+            }
+
+            int s = din.readInt();
+
+            for (int i = 0; i < s; i++) {
+                Entry e = Entry.read(din);
+                entries.put(e.key(), e);
+            }
+        } catch (Throwable e) {
+            Iris.reportError(e);
+            Iris.warn("Couldn't read object index " + file.getPath() + ", rebuilding it");
+            entries.clear();
+        }
+    }
+
+    private void write() {
+        File tmp = new File(file.getParentFile(), file.getName() + ".tmp");
+
+        try {
+            file.getParentFile().mkdirs();
+
+            try (DataOutputStream dos = new DataOutputStream(new BufferedOutputStream(new CustomOutputStream(new FileOutputStream(tmp), 6)))) {
+                KList<Entry> v = entries.v();
+                dos.writeInt(VERSION);
+                dos.writeInt(v.size());
+
+                for (Entry i : v) {
+                    i.write(dos);
+                }
+            }
+
+            if (!tmp.renameTo(file)) {
+                file.delete();
+
+                if (!tmp.renameTo(file)) {
+                    throw new IOException("Couldn't move " + tmp.getPath() + " to " + file.getPath());
+                }
+            }
+        } catch (Throwable e) {
+            Iris.reportError(e);
+            Iris.warn("Couldn't write object index " + file.getPath() + ": " + e.getMessage());
+            tmp.delete();
+        }
+    }
+
+    /**
+     * Header information of a single object file
+     *
+     * @param key      the load key
+     * @param path     the file path relative to the pack folder
+     * @param modified the file modification time when it was sampled
+     * @param length   the file length when it was sampled
+     * @param w        the object width
+     * @param h        the object height
+     * @param d        the object depth
+     * @param blocks   the number of blocks in the object
+     * @param palette  the distinct block states of the object
+     */
+    public record Entry(String key, String path, long modified, long length, int w, int h, int d, int blocks,
+                        String[] palette) {
+        public BlockVector getSize() {
+            return new BlockVector(w, h, d);
+        }
+
+        public int getMax2dDimension() {
+            return Math.max(w, d);
+        }
+
+        public int getMax3dDimension() {
+            return Math.max(Math.max(w, d), h);
+        }
+
+        boolean matches(String path, File f) {
+            return this.path.equals(path) && modified == f.lastModified() && length == f.length();
+        }
+
+        static Entry read(DataInputStream din) throws IOException {
+            String key = din.readUTF();
+            String path = din.readUTF();
+            long modified = din.readLong();
+            long length = din.readLong();
+            int w = din.readInt();
+            int h = din.readInt();
+            int d = din.readInt();
+            int blocks = din.readInt();
+            String[] palette = new String[din.readInt()];
+
+            for (int i = 0; i < palette.length; i++) {
+                palette[i] = din.readUTF();
+            }
+
+            return new Entry(key, path, modified, length, w, h, d, blocks, palette);
+        }
+
+        void write(DataOutputStream dos) throws IOException {
+            dos.writeUTF(key);
+            dos.writeUTF(path);
+            dos.writeLong(modified);
+            dos.writeLong(length);
+            dos.writeInt(w);
+            dos.writeInt(h);
+            dos.writeInt(d);
+            dos.writeInt(blocks);
+            dos.writeInt(palette.length);
+
+            for (String i : palette) {
+                dos.writeUTF(i);
+            }
+        }
+    }
+}
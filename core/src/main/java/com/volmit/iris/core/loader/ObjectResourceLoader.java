@@ -22,18 +22,43 @@ import com.volmit.iris.Iris;
 import com.volmit.iris.core.IrisSettings;
 import com.volmit.iris.engine.object.IrisObject;
 import com.volmit.iris.util.collection.KList;
-import com.volmit.iris.util.collection.KSet;
 import com.volmit.iris.util.data.KCache;
 import com.volmit.iris.util.scheduling.PrecisionStopwatch;
+import org.bukkit.util.BlockVector;
 
 import java.io.File;
+import java.util.List;
 
 public class ObjectResourceLoader extends ResourceLoader<IrisObject> {
+    private final ObjectMetaIndex index;
+
     public ObjectResourceLoader(File root, IrisData idm, String folderName, String resourceTypeName) {
         super(root, idm, folderName, resourceTypeName, IrisObject.class);
+        index = new ObjectMetaIndex(idm.getDataFolder(), this::getFolders);
         loadCache = new KCache<>(this::loadRaw, IrisSettings.get().getPerformance().getObjectLoaderCacheSize());
     }
 
+    /**
+     * Get the indexed header of an object without opening its file
+     *
+     * @param name the object key
+     * @return the index entry or null if the object does not exist
+     */
+    public ObjectMetaIndex.Entry getMeta(String name) {
+        return name == null ? null : index.get(name);
+    }
+
+    /**
+     * Get the size of an object without opening its file
+     *
+     * @param name the object key
+     * @return the size or null if the object does not exist
+     */
+    public BlockVector getObjectSize(String name) {
+        ObjectMetaIndex.Entry e = getMeta(name);
+        return e == null ? null : e.getSize();
+    }
+
     public boolean supportsSchemas() {
         return false;
     }
@@ -54,6 +79,7 @@ public class ObjectResourceLoader extends ResourceLoader<IrisObject> {
             t.setLoader(manager);
             t.setLoadFile(j);
             t.read(j);
+            t.compact();
             logLoad(j, t);
             tlt.addAndGet(p.getMilliseconds());
             return t;
@@ -69,44 +95,36 @@ public class ObjectResourceLoader extends ResourceLoader<IrisObject> {
             return possibleKeys;
         }
         Iris.debug("Building " + resourceTypeName + " Possibility Lists");
-        KSet<String> m = new KSet<>();
-        for (File i : getFolders()) {
-            m.addAll(getFiles(i, ".iob", true));
-        }
-        possibleKeys = m.toArray(new String[0]);
+        possibleKeys = index.getKeys();
         return possibleKeys;
     }
 
-    private KList<String> getFiles(File dir, String ext, boolean skipDirName) {
-        KList<String> paths = new KList<>();
-        String name = skipDirName ? "" : dir.getName() + "/";
-        for (File f : dir.listFiles()) {
-            if (f.isFile() && f.getName().endsWith(ext)) {
-                paths.add(name + f.getName().replaceAll("\\Q" + ext + "\\E", ""));
-            } else if (f.isDirectory()) {
-                getFiles(f, ext, false).forEach(e -> paths.add(name + e));
-            }
-        }
-        return paths;
+    @Override
+    protected String getFileExtension() {
+        return ".iob";
     }
 
-    public File findFile(String name) {
-        for (File i : getFolders(name)) {
-            for (File j : i.listFiles()) {
-                if (j.isFile() && j.getName().endsWith(".iob") && j.getName().split("\\Q.\\E")[0].equals(name)) {
-                    return j;
-                }
-            }
+    @Override
+    protected File resolveFile(String name) {
+        ObjectMetaIndex.Entry e = getMeta(name);
 
-            File file = new File(i, name + ".iob");
+        if (e != null) {
+            return new File(manager.getDataFolder(), e.path());
+        }
 
-            if (file.exists()) {
+        if (name == null) {
+            return null;
+        }
+
+        for (File i : getFolders(name)) {
+            File file = new File(i, name + getFileExtension());
+
+            if (file.isFile()) {
+                index.invalidate();
                 return file;
             }
         }
 
-        Iris.warn("Couldn't find " + resourceTypeName + ": " + name);
-
         return null;
     }
 
@@ -115,26 +133,42 @@ public class ObjectResourceLoader extends ResourceLoader<IrisObject> {
     }
 
     private IrisObject loadRaw(String name) {
-        for (File i : getFolders(name)) {
-            for (File j : i.listFiles()) {
-                if (j.isFile() && j.getName().endsWith(".iob") && j.getName().split("\\Q.\\E")[0].equals(name)) {
-                    return loadFile(j, name);
-                }
-            }
+        File file = resolveFile(name);
 
-            File file = new File(i, name + ".iob");
-
-            if (file.exists()) {
-                return loadFile(file, name);
-            }
+        if (file == null) {
+            Iris.warn("Couldn't find " + resourceTypeName + ": " + name);
+            return null;
         }
 
-        Iris.warn("Couldn't find " + resourceTypeName + ": " + name);
-
-        return null;
+        return loadFile(file, name);
     }
 
     public IrisObject load(String name, boolean warn) {
         return loadCache.get(name);
     }
+
+    @Override
+    public boolean updateIndex(KList<File> created, KList<File> changed, KList<File> deleted) {
+        for (File i : getFolders()) {
+            String root = i.getAbsolutePath() + File.separator;
+
+            for (KList<File> files : List.of(created, changed, deleted)) {
+                for (File j : files) {
+                    if (j.getAbsolutePath().startsWith(root) && (files == deleted || j.isDirectory() || j.getName().endsWith(getFileExtension()))) {
+                        index.invalidate();
+                        possibleKeys = null;
+                        return true;
+                    }
+                }
+            }
+        }
+
+        return false;
+    }
+
+    @Override
+    public void clearIndex() {
+        super.clearIndex();
+        index.invalidate();
+    }
 }
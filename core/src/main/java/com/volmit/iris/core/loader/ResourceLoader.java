@@ -26,6 +26,7 @@ import com.volmit.iris.core.service.PreservationSVC;
 import com.volmit.iris.engine.framework.Engine;
 import com.volmit.iris.engine.framework.MeteredCache;
 import com.volmit.iris.util.collection.KList;
+import com.volmit.iris.util.collection.KMap;
 import com.volmit.iris.util.collection.KSet;
 import com.volmit.iris.util.data.KCache;
 import com.volmit.iris.util.format.C;
@@ -48,7 +49,6 @@ import java.util.Locale;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
-import java.util.function.Predicate;
 import java.util.stream.Stream;
 import java.util.zip.GZIPInputStream;
 import java.util.zip.GZIPOutputStream;
@@ -60,6 +60,8 @@ public class ResourceLoader<T extends IrisRegistrant> implements MeteredCache {
     public static final AtomicDouble tlt = new AtomicDouble(0);
     private static final int CACHE_SIZE = 100000;
     protected final AtomicReference<KList<File>> folderCache;
+    protected final AtomicReference<KMap<String, File>> fileIndex;
+    protected final ResourceSnapshot snapshot;
     protected KSet<String> firstAccess;
     protected File root;
     protected String folderName;
@@ -76,6 +78,7 @@ public class ResourceLoader<T extends IrisRegistrant> implements MeteredCache {
         this.manager = manager;
         firstAccess = new KSet<>();
         folderCache = new AtomicReference<>();
+        fileIndex = new AtomicReference<>();
         sec = new ChronoLatch(5000);
         loads = new AtomicInteger();
         this.objectClass = objectClass;
@@ -83,6 +86,7 @@ public class ResourceLoader<T extends IrisRegistrant> implements MeteredCache {
         this.resourceTypeName = resourceTypeName;
         this.root = root;
         this.folderName = folderName;
+        snapshot = new ResourceSnapshot(manager.getDataFolder(), folderName, cname);
         loadCache = new KCache<>(this::loadRaw, IrisSettings.get().getPerformance().getResourceLoaderCacheSize());
         Iris.debug("Loader<" + C.GREEN + resourceTypeName + C.LIGHT_PURPLE + "> created in " + C.RED + "IDM/" + manager.getId() + C.LIGHT_PURPLE + " on " + C.GRAY + manager.getDataFolder().getPath());
         Iris.service(PreservationSVC.class).registerCache(this);
@@ -106,23 +110,144 @@ public class ResourceLoader<T extends IrisRegistrant> implements MeteredCache {
     }
 
     public File findFile(String name) {
+        File file = resolveFile(name);
+
+        if (file == null) {
+            Iris.warn("Couldn't find " + resourceTypeName + ": " + name);
+        }
+
+        return file;
+    }
+
+    /**
+     * @return the file extension of this resource type, including the dot
+     */
+    protected String getFileExtension() {
+        return ".json";
+    }
+
+    /**
+     * Resolve the file of a key through the file index. Keys missing from the index are checked
+     * directly on disk and added when found, so files created outside of the hotloader still resolve.
+     *
+     * @param name the load key
+     * @return the file or null if it does not exist
+     */
+    protected File resolveFile(String name) {
+        if (name == null) {
+            return null;
+        }
+
+        KMap<String, File> index = getFileIndex();
+        File file = index.get(name);
+
+        if (file != null) {
+            return file;
+        }
+
         for (File i : getFolders(name)) {
-            for (File j : i.listFiles()) {
-                if (j.isFile() && j.getName().endsWith(".json") && j.getName().split("\\Q.\\E")[0].equals(name)) {
-                    return j;
+            file = new File(i, name + getFileExtension());
+
+            if (file.isFile()) {
+                index.put(name, file);
+                return file;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Get the key to file index of this loader, building it with a single folder walk if needed.
+     * Once built it is kept up to date through {@link #updateIndex(KList, KList, KList)}.
+     *
+     * @return the index
+     */
+    public KMap<String, File> getFileIndex() {
+        KMap<String, File> index = fileIndex.get();
+
+        if (index != null) {
+            return index;
+        }
+
+        synchronized (fileIndex) {
+            if (fileIndex.get() == null) {
+                PrecisionStopwatch p = PrecisionStopwatch.start();
+                KMap<String, File> m = new KMap<>();
+                KList<File> folders = getFolders();
+
+                if (folders != null) {
+                    for (File i : folders) {
+                        indexFiles(i, i, m);
+                    }
                 }
+
+                fileIndex.set(m);
+                Iris.debug("Loader<" + C.GREEN + resourceTypeName + C.LIGHT_PURPLE + "> indexed " + C.WHITE + Form.f(m.size()) + C.LIGHT_PURPLE + " files in " + C.RED + Form.duration(p.getMilliseconds(), 2));
             }
 
-            File file = new File(i, name + ".json");
+            return fileIndex.get();
+        }
+    }
 
-            if (file.exists()) {
-                return file;
+    private void indexFiles(File folder, File at, KMap<String, File> index) {
+        if (at.isDirectory()) {
+            File[] files = at.listFiles();
+
+            if (files != null) {
+                for (File i : files) {
+                    indexFiles(folder, i, index);
+                }
             }
+        } else if (at.getName().endsWith(getFileExtension())) {
+            String path = folder.toURI().relativize(at.toURI()).getPath();
+            index.put(path.substring(0, path.length() - getFileExtension().length()), at);
+        }
+    }
+
+    /**
+     * Apply files reported by the hotloader to the file index.
+     * Files outside of this loader's folders or with another extension are ignored.
+     *
+     * @param created the created files or folders
+     * @param changed the modified files
+     * @param deleted the deleted files or folders
+     * @return true if the index changed
+     */
+    public boolean updateIndex(KList<File> created, KList<File> changed, KList<File> deleted) {
+        KMap<String, File> index = fileIndex.get();
+        KList<File> folders = getFolders();
+        boolean modified = false;
+
+        if (index == null || folders == null) {
+            return false;
         }
 
-        Iris.warn("Couldn't find " + resourceTypeName + ": " + name);
+        for (File i : folders) {
+            String root = i.getAbsolutePath() + File.separator;
 
-        return null;
+            for (File j : deleted) {
+                String path = j.getAbsolutePath();
+
+                if (path.startsWith(root)) {
+                    modified |= index.values().removeIf(f -> f.getAbsolutePath().equals(path) || f.getAbsolutePath().startsWith(path + File.separator));
+                }
+            }
+
+            for (File j : created) {
+                if (j.getAbsolutePath().startsWith(root)) {
+                    int size = index.size();
+                    indexFiles(i, j, index);
+                    modified |= index.size() != size;
+                }
+            }
+        }
+
+        if (modified) {
+            possibleKeys = null;
+        }
+
+        return modified;
     }
 
     public void logLoad(File path, T t) {
@@ -146,30 +271,11 @@ public class ResourceLoader<T extends IrisRegistrant> implements MeteredCache {
         J.a(() -> Iris.warn("Couldn't Load " + resourceTypeName + " file: " + path.getPath() + ": " + e.getMessage()));
     }
 
-    private KList<File> matchAllFiles(File root, Predicate<File> f) {
-        KList<File> fx = new KList<>();
-        matchFiles(root, fx, f);
-        return fx;
-    }
-
-    private void matchFiles(File at, KList<File> files, Predicate<File> f) {
-        if (at.isDirectory()) {
-            for (File i : at.listFiles()) {
-                matchFiles(i, files, f);
-            }
-        } else {
-            if (f.test(at)) {
-                files.add(at);
-            }
-        }
-    }
-
     public String[] getPossibleKeys() {
         if (possibleKeys != null) {
             return possibleKeys;
         }
 
-        KSet<String> m = new KSet<>();
         KList<File> files = getFolders();
 
         if (files == null) {
@@ -177,14 +283,7 @@ public class ResourceLoader<T extends IrisRegistrant> implements MeteredCache {
             return possibleKeys;
         }
 
-        for (File i : files) {
-            for (File j : matchAllFiles(i, (f) -> f.getName().endsWith(".json"))) {
-                m.add(i.toURI().relativize(j.toURI()).getPath().replaceAll("\\Q.json\\E", ""));
-            }
-        }
-
-        KList<String> v = new KList<>(m);
-        possibleKeys = v.toArray(new String[0]);
+        possibleKeys = getFileIndex().keySet().toArray(new String[0]);
         return possibleKeys;
     }
 
@@ -195,8 +294,7 @@ public class ResourceLoader<T extends IrisRegistrant> implements MeteredCache {
     protected T loadFile(File j, String name) {
         try {
             PrecisionStopwatch p = PrecisionStopwatch.start();
-            T t = getManager().getGson()
-                    .fromJson(preprocess(new JSONObject(IO.readAll(j))).toString(0), objectClass);
+            T t = getManager().getGson().fromJson(compile(j, name), objectClass);
             t.setLoadKey(name);
             t.setLoadFile(j);
             t.setLoader(manager);
@@ -211,10 +309,30 @@ public class ResourceLoader<T extends IrisRegistrant> implements MeteredCache {
         }
     }
 
+    private String compile(File j, String name) throws IOException {
+        String json = snapshot.get(name, j);
+
+        if (json == null) {
+            long modified = j.lastModified();
+            long length = j.length();
+            json = preprocess(new JSONObject(IO.readAll(j))).toString(0);
+            snapshot.put(name, j, modified, length, json);
+        }
+
+        return json;
+    }
+
     protected JSONObject preprocess(JSONObject j) {
         return j;
     }
 
+    /**
+     * Write the compiled resource snapshot if it changed
+     */
+    public void saveSnapshot() {
+        snapshot.save();
+    }
+
     public Stream<T> streamAll(Stream<String> s) {
         return s.map(this::load);
     }
@@ -285,22 +403,8 @@ public class ResourceLoader<T extends IrisRegistrant> implements MeteredCache {
     }
 
     private T loadRaw(String name) {
-        for (File i : getFolders(name)) {
-            //noinspection ConstantConditions
-            for (File j : i.listFiles()) {
-                if (j.isFile() && j.getName().endsWith(".json") && j.getName().split("\\Q.\\E")[0].equals(name)) {
-                    return loadFile(j, name);
-                }
-            }
-
-            File file = new File(i, name + ".json");
-
-            if (file.exists()) {
-                return loadFile(file, name);
-            }
-        }
-
-        return null;
+        File file = resolveFile(name);
+        return file == null ? null : loadFile(file, name);
     }
 
     public T load(String name, boolean warn) {
@@ -404,21 +508,7 @@ public class ResourceLoader<T extends IrisRegistrant> implements MeteredCache {
     }
 
     public File fileFor(T b) {
-        for (File i : getFolders()) {
-            for (File j : i.listFiles()) {
-                if (j.isFile() && j.getName().endsWith(".json") && j.getName().split("\\Q.\\E")[0].equals(b.getLoadKey())) {
-                    return j;
-                }
-            }
-
-            File file = new File(i, b.getLoadKey() + ".json");
-
-            if (file.exists()) {
-                return file;
-            }
-        }
-
-        return null;
+        return resolveFile(b.getLoadKey());
     }
 
     public boolean isLoaded(String next) {
@@ -430,6 +520,15 @@ public class ResourceLoader<T extends IrisRegistrant> implements MeteredCache {
         possibleKeys = null;
     }
 
+    /**
+     * Drop the file index so it is rebuilt on the next lookup. Only needed when files were changed
+     * without the hotloader seeing it.
+     */
+    public void clearIndex() {
+        fileIndex.set(null);
+        possibleKeys = null;
+    }
+
     public KList<String> getPossibleKeys(String arg) {
         KList<String> f = new KList<>();
 
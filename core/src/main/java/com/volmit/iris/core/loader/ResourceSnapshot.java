@@ -0,0 +1,285 @@
+/*
+ * Iris is a World Generator for Minecraft Bukkit Servers
+ * Copyright (c) 2022 Arcane Arts (Volmit Software)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.volmit.iris.core.loader;
+
+import com.volmit.iris.Iris;
+import com.volmit.iris.util.collection.KMap;
+import com.volmit.iris.util.format.C;
+import com.volmit.iris.util.format.Form;
+import com.volmit.iris.util.scheduling.PrecisionStopwatch;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.CRC32;
+
+/**
+ * Compiled snapshot of the preprocessed json of every resource a loader has read, stored in the pack's .iris folder.
+ * Entries are validated per file against the file length and modification time, so a changed file is simply read again.
+ * The snapshot is stamped with the Iris version and resource type and protected by a checksum, a mismatch discards it.
+ * <p>
+ * Only the index is kept in memory, the json of an entry is read from the snapshot file when it is requested.
+ * Newly compiled json is held until the next save.
+ */
+public class ResourceSnapshot {
+    private static final int MAGIC = 0x49525053;
+    private static final int VERSION = 1;
+    private final File file;
+    private final File root;
+    private final String stamp;
+    private final KMap<String, Entry> entries;
+    private final AtomicBoolean dirty;
+    private volatile boolean loaded;
+
+    public ResourceSnapshot(File root, String folderName, String type) {
+        this.root = root;
+        this.file = new File(root, ".iris/cache/" + folderName + ".snapshot");
+        this.stamp = (Iris.instance == null ? "headless" : Iris.instance.getDescription().getVersion()) + "/" + type;
+        this.entries = new KMap<>();
+        this.dirty = new AtomicBoolean(false);
+        this.loaded = false;
+    }
+
+    /**
+     * Get the compiled json of a resource if its file did not change since it was compiled
+     *
+     * @param key  the load key
+     * @param from the file the resource is loaded from
+     * @return the json or null if it has to be read from the file
+     */
+    public String get(String key, File from) {
+        load();
+        Entry e = entries.get(key);
+
+        if (e == null) {
+            return null;
+        }
+
+        if (!e.path().equals(path(from)) || e.modified() != from.lastModified() || e.length() != from.length()) {
+            entries.remove(key);
+            dirty.set(true);
+            return null;
+        }
+
+        if (e.json() != null) {
+            return new String(e.json(), StandardCharsets.UTF_8);
+        }
+
+        synchronized (this) {
+            try (FileChannel fc = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+                return new String(read(fc, e), StandardCharsets.UTF_8);
+            } catch (Throwable ex) {
+                Iris.reportError(ex);
+                entries.remove(key, e);
+                dirty.set(true);
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Store the compiled json of a resource
+     *
+     * @param key      the load key
+     * @param from     the file the resource was read from
+     * @param modified the modification time of the file before it was read
+     * @param length   the length of the file before it was read
+     * @param json     the preprocessed json
+     */
+    public void put(String key, File from, long modified, long length, String json) {
+        load();
+        byte[] b = json.getBytes(StandardCharsets.UTF_8);
+        entries.put(key, new Entry(path(from), modified, length, -1, b.length, b));
+        dirty.set(true);
+    }
+
+    private String path(File f) {
+        return root.toURI().relativize(f.toURI()).getPath();
+    }
+
+    private void load() {
+        if (loaded) {
+            return;
+        }
+
+        synchronized (this) {
+            if (loaded) {
+                return;
+            }
+
+            if (file.exists()) {
+                try {
+                    read();
+                } catch (Throwable e) {
+                    Iris.reportError(e);
+                    Iris.warn("Couldn't read resource snapshot " + file.getPath() + ", it will be recompiled");
+                    entries.clear();
+                }
+            }
+
+            loaded = true;
+        }
+    }
+
+    private void read() throws IOException {
+        PrecisionStopwatch p = PrecisionStopwatch.start();
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file.toPath()));
+
+        if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION || !new String(readBytes(buffer), StandardCharsets.UTF_8).equals(stamp)) {
+            return;
+        }
+
+        long checksum = buffer.getLong();
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice());
+
+        if (crc.getValue() != checksum) {
+            throw new IOException("Checksum mismatch");
+        }
+
+        int count = buffer.getInt();
+
+        for (int i = 0; i < count; i++) {
+            String key = new String(readBytes(buffer), StandardCharsets.UTF_8);
+            String path = new String(readBytes(buffer), StandardCharsets.UTF_8);
+            long modified = buffer.getLong();
+            long length = buffer.getLong();
+            int size = buffer.getInt();
+
+            if (size < 0 || size > buffer.remaining()) {
+                throw new IOException("Invalid length " + size);
+            }
+
+            entries.put(key, new Entry(path, modified, length, buffer.position(), size, null));
+            buffer.position(buffer.position() + size);
+        }
+
+        Iris.debug("Snapshot " + C.GRAY + file.getPath() + C.LIGHT_PURPLE + " read " + C.WHITE + Form.f(entries.size()) + C.LIGHT_PURPLE + " entries in " + C.RED + Form.duration(p.getMilliseconds(), 2));
+    }
+
+    /**
+     * Write the snapshot if anything was compiled or invalidated since it was read. Entries of deleted files are dropped.
+     * Written entries release their json, it is read back from the new snapshot when requested.
+     */
+    public void save() {
+        if (!dirty.getAndSet(false)) {
+            return;
+        }
+
+        synchronized (this) {
+            File tmp = new File(file.getParentFile(), file.getName() + ".tmp");
+
+            try {
+                entries.values().removeIf(e -> !new File(root, e.path()).isFile());
+                KMap<String, Entry> copy = entries.copy();
+                KMap<String, Entry> written = new KMap<>();
+                byte[] stampBytes = stamp.getBytes(StandardCharsets.UTF_8);
+                long header = 4 + 4 + 4 + stampBytes.length + 8;
+                ByteArrayOutputStream bos = new ByteArrayOutputStream();
+                DataOutputStream dos = new DataOutputStream(bos);
+                dos.writeInt(copy.size());
+
+                try (FileChannel fc = file.exists() ? FileChannel.open(file.toPath(), StandardOpenOption.READ) : null) {
+                    for (String i : copy.k()) {
+                        Entry e = copy.get(i);
+                        byte[] json = e.json() != null ? e.json() : read(fc, e);
+                        writeString(dos, i);
+                        writeString(dos, e.path());
+                        dos.writeLong(e.modified());
+                        dos.writeLong(e.length());
+                        dos.writeInt(json.length);
+                        written.put(i, new Entry(e.path(), e.modified(), e.length(), header + dos.size(), json.length, null));
+                        dos.write(json);
+                    }
+                }
+
+                dos.flush();
+                byte[] payload = bos.toByteArray();
+                CRC32 crc = new CRC32();
+                crc.update(payload);
+                file.getParentFile().mkdirs();
+
+                try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp)))) {
+                    out.writeInt(MAGIC);
+                    out.writeInt(VERSION);
+                    writeString(out, stamp);
+                    out.writeLong(crc.getValue());
+                    out.write(payload);
+                }
+
+                if (!tmp.renameTo(file)) {
+                    file.delete();
+
+                    if (!tmp.renameTo(file)) {
+                        throw new IOException("Couldn't move " + tmp.getPath() + " to " + file.getPath());
+                    }
+                }
+
+                written.forEach((k, v) -> entries.replace(k, copy.get(k), v));
+            } catch (Throwable e) {
+                Iris.reportError(e);
+                Iris.warn("Couldn't write resource snapshot " + file.getPath() + ": " + e.getMessage());
+                tmp.delete();
+                dirty.set(true);
+            }
+        }
+    }
+
+    private static byte[] read(FileChannel fc, Entry e) throws IOException {
+        if (fc == null) {
+            throw new IOException("No snapshot to read from");
+        }
+
+        ByteBuffer b = ByteBuffer.allocate(e.size());
+
+        while (b.hasRemaining()) {
+            if (fc.read(b, e.offset() + b.position()) < 0) {
+                throw new EOFException("Snapshot ended before the entry");
+            }
+        }
+
+        return b.array();
+    }
+
+    private static byte[] readBytes(ByteBuffer buffer) throws IOException {
+        int length = buffer.getInt();
+
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IOException("Invalid length " + length);
+        }
+
+        byte[] b = new byte[length];
+        buffer.get(b);
+        return b;
+    }
+
+    private static void writeString(DataOutputStream dos, String s) throws IOException {
+        byte[] b = s.getBytes(StandardCharsets.UTF_8);
+        dos.writeInt(b.length);
+        dos.write(b);
+    }
+
+    private record Entry(String path, long modified, long length, long offset, int size, byte[] json) {
+
+    }
+}
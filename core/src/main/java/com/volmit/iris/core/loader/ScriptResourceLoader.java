@@ -124,44 +124,20 @@ public class ScriptResourceLoader extends ResourceLoader<IrisScript> {
 //        return possibleKeys;
 //    }
 
-    public File findFile(String name) {
-        for (File i : getFolders(name)) {
-            for (File j : i.listFiles()) {
-                if (j.isFile() && j.getName().endsWith(".js") && j.getName().split("\\Q.\\E")[0].equals(name)) {
-                    return j;
-                }
-            }
-
-            File file = new File(i, name + ".js");
-
-            if (file.exists()) {
-                return file;
-            }
-        }
-
-        Iris.warn("Couldn't find " + resourceTypeName + ": " + name);
-
-        return null;
+    @Override
+    protected String getFileExtension() {
+        return ".js";
     }
 
     private IrisScript loadRaw(String name) {
-        for (File i : getFolders(name)) {
-            for (File j : i.listFiles()) {
-                if (j.isFile() && j.getName().endsWith(".js") && j.getName().split("\\Q.\\E")[0].equals(name)) {
-                    return loadFile(j, name);
-                }
-            }
-
-            File file = new File(i, name + ".js");
+        File file = resolveFile(name);
 
-            if (file.exists()) {
-                return loadFile(file, name);
-            }
+        if (file == null) {
+            Iris.warn("Couldn't find " + resourceTypeName + ": " + name);
+            return null;
         }
 
-        Iris.warn("Couldn't find " + resourceTypeName + ": " + name);
-
-        return null;
+        return loadFile(file, name);
     }
 
     public IrisScript load(String name, boolean warn) {
@@ -62,6 +62,8 @@ public class IrisPregenerator {
     private final KSet<Position2> net;
     private final ChronoLatch cl;
     private final ChronoLatch saveLatch = new ChronoLatch(30000);
+    private final PregenJournal journal;
+    private volatile Position2 currentRegion;
 
     public IrisPregenerator(PregenTask task, PregeneratorMethod generator, PregenListener listener) {
         this.listener = listenify(listener);
@@ -71,6 +73,7 @@ public class IrisPregenerator {
         this.paused = new AtomicBoolean(false);
         this.task = task;
         this.generator = generator;
+        this.journal = new PregenJournal(task, generator.getWorldFolder());
         retry = new KSet<>();
         net = new KSet<>();
         currentGeneratorMethod = new AtomicReference<>("Void");
@@ -88,6 +91,12 @@ public class IrisPregenerator {
         ticker = new Looper() {
             @Override
             protected long loop() {
+                Position2 region = currentRegion;
+
+                if (region != null) {
+                    currentGeneratorMethod.set(generator.getMethod(region.getX(), region.getZ()));
+                }
+
                 long eta = computeETA();
                 int secondGenerated = generated.get() - generatedLast.get();
                 generatedLast.set(generated.get());
@@ -111,7 +120,7 @@ public class IrisPregenerator {
                 if (cl.flip()) {
                     double percentage = ((double) generated.get() / (double) totalChunks.get()) * 100;
                     if (!IrisPackBenchmarking.benchmarkInProgress) {
-                        Iris.info("Pregen: " + Form.f(generated.get()) + " of " + Form.f(totalChunks.get()) + " (%.0f%%) " + Form.f((int) chunksPerSecond.getAverage()) + "/s ETA: " + Form.duration(eta, 2), percentage);
+                        Iris.info("Pregen: " + Form.f(generated.get()) + " of " + Form.f(totalChunks.get()) + " (%.0f%%) " + Form.f((int) chunksPerSecond.getAverage()) + "/s ETA: " + Form.duration(eta, 2) + " %s", percentage, currentGeneratorMethod.get());
                     } else {
                         Iris.info("Benchmarking: " + Form.f(generated.get()) + " of " + Form.f(totalChunks.get()) + " (%.0f%%) " + Form.f((int) chunksPerSecond.getAverage()) + "/s ETA: " + Form.duration(eta, 2), percentage);
                     }
@@ -156,11 +165,13 @@ public class IrisPregenerator {
     private void init() {
         generator.init();
         generator.save();
+        journal.open();
     }
 
     private void shutdown() {
         listener.onSaving();
         generator.close();
+        journal.close(!shutdown.get());
         ticker.interrupt();
         listener.onClose();
         Mantle mantle = getMantle();
@@ -185,6 +196,13 @@ public class IrisPregenerator {
             return;
         }
 
+        if (journal.isRegionDone(x, z)) {
+            PregenTask.iterateRegion(x, z, this::skipChunk);
+            generatedRegions.add(pos);
+            return;
+        }
+
+        currentRegion = pos;
         currentGeneratorMethod.set(generator.getMethod(x, z));
         boolean hit = false;
         if (generator.supportsRegions(x, z, listener) && regions) {
@@ -199,6 +217,11 @@ public class IrisPregenerator {
                     J.sleep(50);
                 }
 
+                if (journal.isChunkDone(xx, zz)) {
+                    skipChunk(xx, zz);
+                    return;
+                }
+
                 generator.generateChunk(xx, zz, listener);
             });
         }
@@ -208,7 +231,7 @@ public class IrisPregenerator {
 
             if (saveLatch.flip()) {
                 listener.onSaving();
-                generator.save();
+                journal.sync(generator::save);
             }
 
             generatedRegions.add(pos);
@@ -216,8 +239,13 @@ public class IrisPregenerator {
         }
     }
 
+    private void skipChunk(int x, int z) {
+        listener.onChunkExistsInRegionGen(x, z);
+        listener.onChunkGenerated(x, z);
+    }
+
     private void checkRegion(int x, int z) {
-        if (generatedRegions.contains(new Position2(x, z))) {
+        if (generatedRegions.contains(new Position2(x, z)) || journal.isRegionDone(x, z)) {
             return;
         }
 
@@ -248,6 +276,7 @@ public class IrisPregenerator {
             public void onChunkGenerated(int x, int z) {
                 listener.onChunkGenerated(x, z);
                 generated.addAndGet(1);
+                journal.chunk(x, z);
             }
 
             @Override
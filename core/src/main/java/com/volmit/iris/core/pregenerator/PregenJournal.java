@@ -0,0 +1,341 @@
+/*
+ * Iris is a World Generator for Minecraft Bukkit Servers
+ * Copyright (c) 2022 Arcane Arts (Volmit Software)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package com.volmit.iris.core.pregenerator;
+
+import com.volmit.iris.Iris;
+import com.volmit.iris.util.collection.KMap;
+import com.volmit.iris.util.collection.KSet;
+import com.volmit.iris.util.format.C;
+import com.volmit.iris.util.format.Form;
+import com.volmit.iris.util.math.Position2;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Append only journal of the chunks and regions a pregen task finished, kept in the world folder so a restarted
+ * task can skip finished work without probing the world.
+ * <p>
+ * Records are buffered in memory and only written by {@link #sync(Runnable)}, which runs the world save first.
+ * A record on disk therefore always belongs to a chunk which was saved before. A torn record at the end of the
+ * file is cut off when the journal is opened again. Once all 1024 chunks of a region are recorded the region
+ * is recorded and its chunks are dropped when the journal is compacted on the next open.
+ */
+public class PregenJournal {
+    private static final int MAGIC = 0x49504A4C;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 24;
+    private static final int RECORD_SIZE = 9;
+    private static final byte CHUNK = 0;
+    private static final byte REGION = 1;
+    private final File file;
+    private final PregenTask task;
+    private final KSet<Position2> regions;
+    private final KMap<Position2, Progress> progress;
+    private ByteArrayOutputStream pending;
+    private DataOutputStream pendingOut;
+    private FileChannel channel;
+
+    /**
+     * @param task        the task
+     * @param worldFolder the folder of the world or null to not journal anything
+     */
+    public PregenJournal(PregenTask task, File worldFolder) {
+        this.task = task;
+        this.file = worldFolder == null ? null : new File(worldFolder, "iris/pregen/" + id(task) + ".journal");
+        this.regions = new KSet<>();
+        this.progress = new KMap<>();
+        resetPending();
+    }
+
+    private static String id(PregenTask task) {
+        return task.getCenter().getX() + "_" + task.getCenter().getZ() + "_" + task.getWidth() + "x" + task.getHeight();
+    }
+
+    /**
+     * Read what a previous run of the same task finished and open the journal for appending
+     */
+    public synchronized void open() {
+        if (file == null) {
+            return;
+        }
+
+        try {
+            file.getParentFile().mkdirs();
+
+            if (file.exists()) {
+                read();
+            }
+
+            compact();
+            channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+
+            if (!regions.isEmpty() || !progress.isEmpty()) {
+                Iris.info("Resuming pregen from " + C.GRAY + file.getName() + C.RESET + ": " + Form.f(regions.size()) + " regions and " + Form.f(progress.values().stream().mapToInt(Progress::count).sum()) + " chunks are done");
+            }
+        } catch (Throwable e) {
+            Iris.reportError(e);
+            Iris.warn("Couldn't open the pregen journal " + file.getPath() + ", progress won't be saved: " + e.getMessage());
+            close(false);
+        }
+    }
+
+    private void read() throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file.toPath()));
+
+        if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC || buffer.getInt() != VERSION
+                || buffer.getInt() != task.getCenter().getX() || buffer.getInt() != task.getCenter().getZ()
+                || buffer.getInt() != task.getWidth() || buffer.getInt() != task.getHeight()) {
+            Iris.warn("Ignoring the pregen journal " + file.getPath() + ", it doesn't belong to this task");
+            return;
+        }
+
+        while (buffer.remaining() >= RECORD_SIZE) {
+            byte type = buffer.get();
+            int x = buffer.getInt();
+            int z = buffer.getInt();
+
+            switch (type) {
+                case CHUNK -> mark(x, z);
+                case REGION -> markRegion(new Position2(x, z));
+                default -> {
+                    Iris.warn("The pregen journal " + file.getPath() + " is damaged, dropping everything after " + Form.f(buffer.position() - RECORD_SIZE) + " bytes");
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Rewrite the journal with only the finished regions and the chunks of unfinished ones
+     */
+    private void compact() throws IOException {
+        File tmp = new File(file.getParentFile(), file.getName() + ".tmp");
+
+        try (DataOutputStream dos = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp)))) {
+            dos.writeInt(MAGIC);
+            dos.writeInt(VERSION);
+            dos.writeInt(task.getCenter().getX());
+            dos.writeInt(task.getCenter().getZ());
+            dos.writeInt(task.getWidth());
+            dos.writeInt(task.getHeight());
+
+            for (Position2 i : regions) {
+                writeRecord(dos, REGION, i.getX(), i.getZ());
+            }
+
+            for (Position2 i : progress.k()) {
+                Progress p = progress.get(i);
+
+                for (int j = 0; j < 1024; j++) {
+                    if (p.has(j)) {
+                        writeRecord(dos, CHUNK, (i.getX() << 5) + (j & 31), (i.getZ() << 5) + (j >> 5));
+                    }
+                }
+            }
+        }
+
+        try (FileChannel c = FileChannel.open(tmp.toPath(), StandardOpenOption.WRITE)) {
+            c.force(true);
+        }
+
+        Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static void writeRecord(DataOutputStream dos, byte type, int x, int z) throws IOException {
+        dos.writeByte(type);
+        dos.writeInt(x);
+        dos.writeInt(z);
+    }
+
+    private boolean mark(int x, int z) {
+        Position2 r = new Position2(x >> 5, z >> 5);
+
+        if (regions.contains(r)) {
+            return false;
+        }
+
+        Progress p = progress.computeIfAbsent(r, (k) -> new Progress());
+
+        if (!p.set(((z & 31) << 5) | (x & 31))) {
+            return false;
+        }
+
+        if (p.count() >= 1024) {
+            markRegion(r);
+        }
+
+        return true;
+    }
+
+    private boolean markRegion(Position2 r) {
+        progress.remove(r);
+        return regions.add(r);
+    }
+
+    /**
+     * Record a finished chunk, it is written with the next {@link #sync(Runnable)}
+     *
+     * @param x the chunk x
+     * @param z the chunk z
+     */
+    public synchronized void chunk(int x, int z) {
+        if (channel == null || !mark(x, z)) {
+            return;
+        }
+
+        try {
+            writeRecord(pendingOut, CHUNK, x, z);
+
+            if (regions.contains(new Position2(x >> 5, z >> 5))) {
+                writeRecord(pendingOut, REGION, x >> 5, z >> 5);
+            }
+        } catch (IOException e) {
+            Iris.reportError(e);
+        }
+    }
+
+    /**
+     * @param x the region x
+     * @param z the region z
+     * @return true if every chunk of the region was finished by a previous run
+     */
+    public synchronized boolean isRegionDone(int x, int z) {
+        return regions.contains(new Position2(x, z));
+    }
+
+    /**
+     * @param x the chunk x
+     * @param z the chunk z
+     * @return true if the chunk was finished by a previous run
+     */
+    public synchronized boolean isChunkDone(int x, int z) {
+        Position2 r = new Position2(x >> 5, z >> 5);
+
+        if (regions.contains(r)) {
+            return true;
+        }
+
+        Progress p = progress.get(r);
+        return p != null && p.has(((z & 31) << 5) | (x & 31));
+    }
+
+    /**
+     * Save the world and then append and fsync everything recorded before the save started
+     *
+     * @param save saves the world
+     */
+    public void sync(Runnable save) {
+        byte[] data;
+
+        synchronized (this) {
+            data = pending.toByteArray();
+            resetPending();
+        }
+
+        save.run();
+        append(data);
+    }
+
+    private void resetPending() {
+        pending = new ByteArrayOutputStream(4096);
+        pendingOut = new DataOutputStream(pending);
+    }
+
+    private synchronized void append(byte[] data) {
+        if (channel == null || data.length == 0) {
+            return;
+        }
+
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(data);
+
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+
+            channel.force(false);
+        } catch (Throwable e) {
+            Iris.reportError(e);
+            Iris.warn("Couldn't write the pregen journal " + file.getPath() + ", progress won't be saved: " + e.getMessage());
+            close(false);
+        }
+    }
+
+    /**
+     * Write what is left and close the journal. The world has to be saved already.
+     *
+     * @param complete true if the task finished, the journal is deleted then
+     */
+    public synchronized void close(boolean complete) {
+        if (channel != null) {
+            append(pending.toByteArray());
+            resetPending();
+        }
+
+        try {
+            if (channel != null) {
+                channel.close();
+            }
+        } catch (IOException e) {
+            Iris.reportError(e);
+        }
+
+        channel = null;
+
+        if (complete && file != null) {
+            file.delete();
+        }
+    }
+
+    private static class Progress {
+        private final long[] bits = new long[16];
+        private int count;
+
+        private boolean set(int i) {
+            long m = 1L << i;
+
+            if ((bits[i >> 6] & m) != 0) {
+                return false;
+            }
+
+            bits[i >> 6] |= m;
+            count++;
+            return true;
+        }
+
+        private boolean has(int i) {
+            return (bits[i >> 6] & (1L << i)) != 0;
+        }
+
+        private int count() {
+            return count;
+        }
+    }
+}
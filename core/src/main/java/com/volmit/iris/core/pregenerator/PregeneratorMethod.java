@@ -20,6 +20,8 @@ package com.volmit.iris.core.pregenerator;
 
 import com.volmit.iris.util.mantle.Mantle;
 
+import java.io.File;
+
 /**
  * Represents something that is capable of generating in chunks or regions, or both
  */
@@ -77,4 +79,11 @@ public interface PregeneratorMethod {
     void generateChunk(int x, int z, PregenListener listener);
 
     Mantle getMantle();
+
+    /**
+     * Return the folder of the world being generated, the progress journal of a task is kept in it
+     *
+     * @return the world folder or null if progress can't be journaled
+     */
+    File getWorldFolder();
 }
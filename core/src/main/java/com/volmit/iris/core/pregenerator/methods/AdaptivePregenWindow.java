@@ -0,0 +1,209 @@
+/*
+ * Iris is a World Generator for Minecraft Bukkit Servers
+ * Copyright (c) 2022 Arcane Arts (Volmit Software)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package com.volmit.iris.core.pregenerator.methods;
+
+import com.volmit.iris.core.IrisSettings;
+import com.volmit.iris.core.service.IrisEngineSVC;
+import com.volmit.iris.util.format.Form;
+import com.volmit.iris.util.mantle.Mantle;
+import com.volmit.iris.util.math.M;
+import com.volmit.iris.util.profile.MsptTimings;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.util.function.Supplier;
+
+/**
+ * Limits the chunk loads a pregen method keeps in flight. Once a second the window is resized: it shrinks when
+ * the heap after the last collection is close to full, when the server falls behind on ticks, when too many
+ * tectonic plates are loaded or when chunks take much longer than they used to. Otherwise it grows while it is
+ * saturated, so big hosts get more chunks in flight and small hosts fewer.
+ */
+public class AdaptivePregenWindow {
+    private static final long ADJUST_INTERVAL = 1000;
+    private static final int FIXED_WINDOW = 256;
+    private final Supplier<Mantle> mantle;
+    private final MsptTimings timings;
+    private final boolean adaptive;
+    private final int min;
+    private final int max;
+    private final double heapLimit;
+    private final int lagThreshold;
+    private int window;
+    private int inFlight;
+    private int peak;
+    private double latency;
+    private double baseline;
+    private long lastAdjust;
+    private String reason;
+
+    /**
+     * @param mantle the mantle of the world being generated, it may supply null for non Iris worlds
+     */
+    public AdaptivePregenWindow(Supplier<Mantle> mantle) {
+        IrisSettings.IrisSettingsConcurrency s = IrisSettings.get().getConcurrency();
+        this.mantle = mantle;
+        this.adaptive = s.isAdaptivePregenWindow();
+        this.min = Math.max(1, s.getPregenMinWindow());
+        this.max = Math.max(min, s.getPregenMaxWindow());
+        this.heapLimit = s.getPregenHeapLimit();
+        this.lagThreshold = s.getPregenLagThresholdMs();
+        this.timings = adaptive ? MsptTimings.of(null) : null;
+        this.window = adaptive ? Math.max(min, Math.min(max, 64)) : FIXED_WINDOW;
+        this.latency = -1;
+        this.baseline = -1;
+        this.lastAdjust = M.ms();
+        this.reason = adaptive ? "starting" : "fixed";
+    }
+
+    /**
+     * Wait for a free slot in the window
+     *
+     * @return the time the slot was taken, pass it to {@link #release(long, boolean)}
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public synchronized long acquire() throws InterruptedException {
+        while (inFlight >= window) {
+            wait();
+        }
+
+        inFlight++;
+        peak = Math.max(peak, inFlight);
+        return M.ms();
+    }
+
+    /**
+     * Free a slot taken with {@link #acquire()}
+     *
+     * @param started the time returned by acquire
+     * @param loaded  true if the chunk was loaded, failures don't count towards the latency
+     */
+    public synchronized void release(long started, boolean loaded) {
+        long now = M.ms();
+        inFlight--;
+
+        if (loaded) {
+            sample(now - started);
+        }
+
+        if (adaptive && now - lastAdjust >= ADJUST_INTERVAL) {
+            lastAdjust = now;
+            adjust();
+        }
+
+        notifyAll();
+    }
+
+    /**
+     * Wait until every slot is released
+     */
+    public synchronized void drain() {
+        boolean interrupted = false;
+
+        while (inFlight > 0) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public void close() {
+        if (timings != null) {
+            timings.interrupt();
+        }
+    }
+
+    private void sample(long ms) {
+        latency = latency < 0 ? ms : latency + (ms - latency) * 0.1;
+        baseline = baseline < 0 ? latency : Math.min(latency, baseline + (latency - baseline) * 0.01);
+    }
+
+    private void adjust() {
+        double heap = heapUsage();
+        int lag = timings.getMspt();
+        Mantle m = mantle.get();
+        int plates = m == null ? 0 : m.getLoadedRegionCount();
+        int plateLimit = IrisEngineSVC.getTectonicLimit() * 2;
+
+        if (heap > heapLimit) {
+            shrink(0.5, "heap " + Form.pc(heap, 0));
+        } else if (lag > lagThreshold) {
+            shrink(0.75, "lag +" + lag + "ms");
+        } else if (plates > plateLimit) {
+            shrink(0.75, "mantle " + plates + "/" + plateLimit + " plates");
+        } else if (baseline > 0 && latency > baseline * 4) {
+            shrink(0.85, "latency " + Form.f(latency, 0) + "ms");
+        } else if (peak >= window) {
+            window = Math.min(max, window + Math.max(2, window >> 3));
+            reason = window >= max ? "max" : "growing";
+        } else {
+            reason = "steady";
+        }
+
+        peak = inFlight;
+    }
+
+    private void shrink(double factor, String why) {
+        window = Math.max(min, (int) (window * factor));
+        reason = why;
+    }
+
+    /**
+     * @return the fraction of the heap still used after the last collection of the old generation
+     */
+    private static double heapUsage() {
+        double usage = -1;
+
+        for (MemoryPoolMXBean i : ManagementFactory.getMemoryPoolMXBeans()) {
+            MemoryUsage u = i.getType() == MemoryType.HEAP ? i.getCollectionUsage() : null;
+
+            if (u != null && u.getMax() > 0) {
+                usage = Math.max(usage, u.getUsed() / (double) u.getMax());
+            }
+        }
+
+        if (usage < 0) {
+            Runtime r = Runtime.getRuntime();
+            usage = (r.totalMemory() - r.freeMemory()) / (double) r.maxMemory();
+        }
+
+        return usage;
+    }
+
+    /**
+     * @return the current window size
+     */
+    public synchronized int getWindow() {
+        return window;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "window " + window + " (" + inFlight + " in flight, " + reason + ")";
+    }
+}
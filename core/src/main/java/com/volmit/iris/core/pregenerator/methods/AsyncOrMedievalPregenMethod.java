@@ -24,6 +24,8 @@ import com.volmit.iris.util.mantle.Mantle;
 import io.papermc.lib.PaperLib;
 import org.bukkit.World;
 
+import java.io.File;
+
 public class AsyncOrMedievalPregenMethod implements PregeneratorMethod {
     private final PregeneratorMethod method;
 
@@ -66,6 +68,11 @@ public class AsyncOrMedievalPregenMethod implements PregeneratorMethod {
         method.generateChunk(x, z, listener);
     }
 
+    @Override
+    public File getWorldFolder() {
+        return method.getWorldFolder();
+    }
+
     @Override
     public Mantle getMantle() {
         return method.getMantle();
@@ -25,20 +25,18 @@ import com.volmit.iris.core.tools.IrisToolbelt;
 import com.volmit.iris.util.collection.KMap;
 import com.volmit.iris.util.mantle.Mantle;
 import com.volmit.iris.util.math.M;
-import com.volmit.iris.util.parallel.MultiBurst;
 import com.volmit.iris.util.scheduling.J;
 import io.papermc.lib.PaperLib;
 import org.bukkit.Chunk;
 import org.bukkit.World;
 
+import java.io.File;
 import java.util.ArrayList;
 import java.util.Map;
-import java.util.concurrent.Semaphore;
 
 public class AsyncPregenMethod implements PregeneratorMethod {
     private final World world;
-    private final MultiBurst burst;
-    private final Semaphore semaphore;
+    private final AdaptivePregenWindow window;
     private final Map<Chunk, Long> lastUse;
 
     public AsyncPregenMethod(World world, int threads) {
@@ -47,8 +45,7 @@ public class AsyncPregenMethod implements PregeneratorMethod {
         }
 
         this.world = world;
-        burst = new MultiBurst("Iris Async Pregen", Thread.MIN_PRIORITY);
-        semaphore = new Semaphore(256);
+        this.window = new AdaptivePregenWindow(this::getMantle);
         this.lastUse = new KMap<>();
     }
 
@@ -74,18 +71,25 @@ public class AsyncPregenMethod implements PregeneratorMethod {
         }
     }
 
-    private void completeChunk(int x, int z, PregenListener listener) {
+    private void completeChunk(int x, int z, PregenListener listener, long started) {
         try {
-            PaperLib.getChunkAtAsync(world, x, z, true).thenAccept((i) -> {
-                lastUse.put(i, M.ms());
-                listener.onChunkGenerated(x, z);
-                listener.onChunkCleaned(x, z);
-            }).get();
-        } catch (InterruptedException ignored) {
+            PaperLib.getChunkAtAsync(world, x, z, true).whenComplete((i, e) -> {
+                try {
+                    if (e != null) {
+                        e.printStackTrace();
+                        return;
+                    }
+
+                    lastUse.put(i, M.ms());
+                    listener.onChunkGenerated(x, z);
+                    listener.onChunkCleaned(x, z);
+                } finally {
+                    window.release(started, e == null);
+                }
+            });
         } catch (Throwable e) {
             e.printStackTrace();
-        } finally {
-            semaphore.release();
+            window.release(started, false);
         }
     }
 
@@ -96,14 +100,14 @@ public class AsyncPregenMethod implements PregeneratorMethod {
 
     @Override
     public String getMethod(int x, int z) {
-        return "Async";
+        return "Async " + window;
     }
 
     @Override
     public void close() {
-        semaphore.acquireUninterruptibly(256);
+        window.drain();
         unloadAndSaveAllChunks();
-        burst.close();
+        window.close();
     }
 
     @Override
@@ -124,12 +128,20 @@ public class AsyncPregenMethod implements PregeneratorMethod {
     @Override
     public void generateChunk(int x, int z, PregenListener listener) {
         listener.onChunkGenerating(x, z);
+        long started;
+
         try {
-            semaphore.acquire();
+            started = window.acquire();
         } catch (InterruptedException e) {
             return;
         }
-        burst.complete(() -> completeChunk(x, z, listener));
+
+        completeChunk(x, z, listener, started);
+    }
+
+    @Override
+    public File getWorldFolder() {
+        return world.getWorldFolder();
     }
 
     @Override
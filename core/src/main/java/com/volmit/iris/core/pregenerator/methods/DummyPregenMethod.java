@@ -22,6 +22,8 @@ import com.volmit.iris.core.pregenerator.PregenListener;
 import com.volmit.iris.core.pregenerator.PregeneratorMethod;
 import com.volmit.iris.util.mantle.Mantle;
 
+import java.io.File;
+
 public class DummyPregenMethod implements PregeneratorMethod {
     @Override
     public void init() {
@@ -58,6 +60,11 @@ public class DummyPregenMethod implements PregeneratorMethod {
 
     }
 
+    @Override
+    public File getWorldFolder() {
+        return null;
+    }
+
     @Override
     public Mantle getMantle() {
         return null;
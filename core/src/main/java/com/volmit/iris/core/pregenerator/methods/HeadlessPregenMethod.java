@@ -0,0 +1,273 @@
+/*
+ * Iris is a World Generator for Minecraft Bukkit Servers
+ * Copyright (c) 2022 Arcane Arts (Volmit Software)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.volmit.iris.core.pregenerator.methods;
+
+import com.volmit.iris.Iris;
+import com.volmit.iris.core.pregenerator.PregenListener;
+import com.volmit.iris.core.pregenerator.PregenTask;
+import com.volmit.iris.core.pregenerator.PregeneratorMethod;
+import com.volmit.iris.core.service.IrisEngineSVC;
+import com.volmit.iris.engine.data.chunk.MCATerrainChunk;
+import com.volmit.iris.engine.framework.Engine;
+import com.volmit.iris.util.collection.KList;
+import com.volmit.iris.util.mantle.Mantle;
+import com.volmit.iris.util.nbt.mca.Chunk;
+import com.volmit.iris.util.nbt.mca.MCAFile;
+import com.volmit.iris.util.nbt.mca.MCAUtil;
+import com.volmit.iris.util.nbt.mca.NBTWorld;
+import com.volmit.iris.util.parallel.BurstExecutor;
+import com.volmit.iris.util.parallel.MultiBurst;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.util.BitSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generates whole regions straight into .mca files with an engine which is not bound to a loaded world.
+ * Chunks of a region are generated in parallel, finished regions are written by a pool of writers
+ * while the next region generates. Chunks which fail to generate are left out of the region file. Regions which
+ * already have a complete file are skipped, incomplete ones only generate their missing chunks.
+ */
+public class HeadlessPregenMethod implements PregeneratorMethod {
+    private final Engine engine;
+    private final NBTWorld world;
+    private final ExecutorService writers;
+    private final KList<Future<?>> saving;
+    private final int maxSaving;
+    private volatile boolean closed;
+
+    public HeadlessPregenMethod(Engine engine, int threads) {
+        this.engine = engine;
+        this.world = new NBTWorld(engine.getWorld().worldFolder());
+        this.maxSaving = Math.max(2, threads / 4);
+        this.saving = new KList<>();
+        AtomicInteger id = new AtomicInteger();
+        this.writers = Executors.newFixedThreadPool(maxSaving, r -> {
+            Thread t = new Thread(r);
+            t.setName("Iris Headless Writer " + id.incrementAndGet());
+            t.setPriority(Thread.MIN_PRIORITY);
+            return t;
+        });
+    }
+
+    @Override
+    public void init() {
+        world.getRegionFile(0, 0).getParentFile().mkdirs();
+    }
+
+    @Override
+    public void close() {
+        waitForSaves(0);
+        writers.shutdown();
+
+        try {
+            while (!writers.awaitTermination(3, TimeUnit.SECONDS)) {
+                Iris.info("Still Waiting to save MCA Files...");
+            }
+        } catch (InterruptedException e) {
+            e.printStackTrace();
+        }
+
+        world.close();
+        closed = true;
+        engine.close();
+    }
+
+    @Override
+    public void save() {
+        waitForSaves(0);
+        engine.getMantle().trim(IrisEngineSVC.getTectonicLimit());
+        engine.getMantle().unloadTectonicPlate(IrisEngineSVC.getTectonicLimit());
+    }
+
+    @Override
+    public boolean supportsRegions(int x, int z, PregenListener listener) {
+        return true;
+    }
+
+    @Override
+    public String getMethod(int x, int z) {
+        return "Headless";
+    }
+
+    @Override
+    public void generateRegion(int x, int z, PregenListener listener) {
+        File file = world.getRegionFile(x, z);
+        BitSet existing = file.exists() ? existing(file) : new BitSet(1024);
+
+        if (existing == null || existing.cardinality() == 1024) {
+            PregenTask.iterateRegion(x, z, (xx, zz) -> {
+                listener.onChunkExistsInRegionGen(xx, zz);
+                listener.onChunkGenerated(xx, zz);
+            });
+            return;
+        }
+
+        MCAFile mca = world.getMCA(x, z);
+
+        if (!existing.isEmpty() && !load(file, mca)) {
+            world.unloadRegion(x, z);
+            return;
+        }
+
+        int minHeight = engine.getMinHeight();
+        int maxHeight = engine.getMaxHeight();
+        AtomicInteger failed = new AtomicInteger();
+        BurstExecutor burst = MultiBurst.burst.burst(1024);
+
+        PregenTask.iterateRegion(x, z, (xx, zz) -> {
+            if (existing.get(MCAFile.getChunkIndex(xx, zz))) {
+                listener.onChunkExistsInRegionGen(xx, zz);
+                listener.onChunkGenerated(xx, zz);
+                return;
+            }
+
+            Chunk c = Chunk.newChunk(minHeight, maxHeight);
+            mca.setChunk(xx & 31, zz & 31, c);
+            burst.queue(() -> {
+                listener.onChunkGenerating(xx, zz);
+
+                try {
+                    engine.generate(xx << 4, zz << 4, MCATerrainChunk.builder()
+                            .writer(world)
+                            .ox(xx << 4)
+                            .oz(zz << 4)
+                            .minHeight(minHeight)
+                            .maxHeight(maxHeight)
+                            .mcaChunk(c)
+                            .injector((a, b, cc, d) -> {
+                            })
+                            .build(), false);
+                    listener.onChunkGenerated(xx, zz);
+                } catch (Throwable e) {
+                    mca.setChunk(xx & 31, zz & 31, null);
+                    failed.incrementAndGet();
+                    Iris.reportError(e);
+                    Iris.error("Failed to generate chunk " + xx + ", " + zz + " headless: " + e.getMessage());
+                }
+
+                listener.onChunkCleaned(xx, zz);
+            });
+        });
+
+        burst.complete();
+
+        if (failed.get() > 0) {
+            Iris.warn("Region " + x + ", " + z + " is missing " + failed.get() + " chunks which failed to generate, they are generated again on the next pregen");
+        }
+
+        waitForSaves(maxSaving - 1);
+
+        synchronized (saving) {
+            saving.add(writers.submit(() -> world.doSaveUnload(x, z)));
+        }
+    }
+
+    /**
+     * Read which chunks a region file holds from its header
+     *
+     * @param file the region file
+     * @return the indices of the chunks in the file or null if the header couldn't be read
+     */
+    private static BitSet existing(File file) {
+        BitSet b = new BitSet(1024);
+
+        try (DataInputStream din = new DataInputStream(new BufferedInputStream(new FileInputStream(file), 4096))) {
+            for (int i = 0; i < 1024; i++) {
+                if ((din.readInt() & 0xFF) != 0) {
+                    b.set(i);
+                }
+            }
+        } catch (Throwable e) {
+            Iris.reportError(e);
+            Iris.error("Failed to read the header of " + file.getPath() + ", skipping the region: " + e.getMessage());
+            return null;
+        }
+
+        return b;
+    }
+
+    /**
+     * Load the chunks of an incomplete region file, so they are written again with the missing chunks
+     *
+     * @param file the region file
+     * @param mca  the region to load the chunks into
+     * @return true if the chunks were loaded
+     */
+    private static boolean load(File file, MCAFile mca) {
+        try {
+            MCAFile read = MCAUtil.read(file);
+
+            for (int i = 0; i < 1024; i++) {
+                mca.setChunk(i, read.getChunk(i));
+            }
+
+            return true;
+        } catch (Throwable e) {
+            Iris.reportError(e);
+            Iris.error("Failed to read " + file.getPath() + ", its missing chunks are not generated: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private void waitForSaves(int keep) {
+        while (true) {
+            Future<?> f;
+
+            synchronized (saving) {
+                saving.removeIf(Future::isDone);
+
+                if (saving.size() <= keep) {
+                    return;
+                }
+
+                f = saving.get(0);
+            }
+
+            try {
+                f.get();
+            } catch (Throwable e) {
+                Iris.reportError(e);
+                e.printStackTrace();
+            }
+        }
+    }
+
+    @Override
+    public void generateChunk(int x, int z, PregenListener listener) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public File getWorldFolder() {
+        return engine.getWorld().worldFolder();
+    }
+
+    @Override
+    public Mantle getMantle() {
+        return closed ? null : engine.getMantle().getMantle();
+    }
+}
@@ -23,6 +23,8 @@ import com.volmit.iris.core.pregenerator.PregeneratorMethod;
 import com.volmit.iris.util.mantle.Mantle;
 import org.bukkit.World;
 
+import java.io.File;
+
 public class HybridPregenMethod implements PregeneratorMethod {
     private final PregeneratorMethod inWorld;
     private final World world;
@@ -67,6 +69,11 @@ public class HybridPregenMethod implements PregeneratorMethod {
         inWorld.generateChunk(x, z, listener);
     }
 
+    @Override
+    public File getWorldFolder() {
+        return world.getWorldFolder();
+    }
+
     @Override
     public Mantle getMantle() {
         return inWorld.getMantle();
@@ -32,6 +32,7 @@ import org.bukkit.Bukkit;
 import org.bukkit.Chunk;
 import org.bukkit.World;
 
+import java.io.File;
 import java.util.ArrayList;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
@@ -127,6 +128,11 @@ public class MedievalPregenMethod implements PregeneratorMethod {
         }));
     }
 
+    @Override
+    public File getWorldFolder() {
+        return world.getWorldFolder();
+    }
+
     @Override
     public Mantle getMantle() {
         if (IrisToolbelt.isIrisWorld(world)) {
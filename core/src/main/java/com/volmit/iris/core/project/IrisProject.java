@@ -528,7 +528,7 @@ public class IrisProject {
                     IrisObject o = new IrisObject(0, 0, 0);
                     o.read(f);
 
-                    if (o.getBlocks().isEmpty()) {
+                    if (o.volume() == 0) {
                         sender.sendMessageRaw("<hover:show_text:'Error:\n" +
                                 "<yellow>" + f.getPath() +
                                 "'><red>- IOB " + f.getName() + " has 0 blocks!");
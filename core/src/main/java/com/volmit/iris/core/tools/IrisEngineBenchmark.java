@@ -0,0 +1,296 @@
+/*
+ * Iris is a World Generator for Minecraft Bukkit Servers
+ * Copyright (c) 2022 Arcane Arts (Volmit Software)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package com.volmit.iris.core.tools;
+
+import com.google.gson.GsonBuilder;
+import com.volmit.iris.Iris;
+import com.volmit.iris.core.IrisSettings;
+import com.volmit.iris.core.gui.PregeneratorJob;
+import com.volmit.iris.engine.data.chunk.MCATerrainChunk;
+import com.volmit.iris.engine.framework.Engine;
+import com.volmit.iris.engine.object.IrisDimension;
+import com.volmit.iris.util.collection.KMap;
+import com.volmit.iris.util.format.Form;
+import com.volmit.iris.util.io.IO;
+import com.volmit.iris.util.mantle.Mantle;
+import com.volmit.iris.util.nbt.mca.Chunk;
+import com.volmit.iris.util.nbt.mca.NBTWorld;
+import com.volmit.iris.util.parallel.BurstExecutor;
+import com.volmit.iris.util.parallel.MultiBurst;
+import com.volmit.iris.util.plugin.VolmitSender;
+import com.volmit.iris.util.scheduling.PrecisionStopwatch;
+import org.bukkit.Bukkit;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Offline counterpart of {@link IrisPackBenchmarking}. Builds an engine for a pack and seed against a stand-in world
+ * in the plugin folder, generates a fixed square of chunks around 0, 0 into throwaway chunks and writes a json report
+ * with the per stage times, chunks per second, allocation rate and the size of the written mantle.
+ * <p>
+ * A warmup square far away from the measured one is generated first, so the numbers don't include the JIT
+ * warming up but the measured chunks don't profit from warm caches either. Two reports of the same pack, seed
+ * and radius are meant to be diffed against each other.
+ */
+public class IrisEngineBenchmark {
+    private static final int WARMUP_OFFSET = 100_000;
+    private final IrisDimension dimension;
+    private final long seed;
+    private final int radius;
+    private final int warmup;
+    private final VolmitSender sender;
+
+    /**
+     * @param dimension the pack to benchmark
+     * @param seed      the seed
+     * @param radius    the radius of the measured square in chunks
+     * @param warmup    the radius of the warmup square in chunks
+     * @param sender    the sender to report progress to
+     */
+    public IrisEngineBenchmark(IrisDimension dimension, long seed, int radius, int warmup, VolmitSender sender) {
+        this.dimension = dimension;
+        this.seed = seed;
+        this.radius = radius;
+        this.warmup = warmup;
+        this.sender = sender;
+    }
+
+    /**
+     * Run the benchmark on its own thread
+     */
+    public void start() {
+        if (PregeneratorJob.getInstance() != null) {
+            sender.sendMessage("Can't benchmark while a pregen is running, closing the engine would stop it.");
+            return;
+        }
+
+        Thread.ofVirtual()
+                .name("EngineBenchmarking")
+                .start(() -> {
+                    try {
+                        File report = run();
+                        sender.sendMessage("Engine benchmark report written to " + report.getPath());
+                    } catch (Throwable e) {
+                        Iris.reportError(e);
+                        e.printStackTrace();
+                        sender.sendMessage("Engine benchmark failed: " + e.getMessage());
+                    }
+                });
+    }
+
+    /**
+     * Run the benchmark on the calling thread
+     *
+     * @return the written report
+     * @throws IOException if the report can't be written
+     */
+    public File run() throws IOException {
+        File folder = new File(Iris.instance.getDataFolder("benchmark"), "engine");
+        IO.delete(folder);
+        Iris.info("Setting up engine benchmark for " + dimension.getLoadKey() + " with seed " + seed);
+        Engine engine = IrisToolbelt.createHeadlessEngine(folder, "benchmark-engine", dimension, seed);
+        NBTWorld world = new NBTWorld(folder);
+        Report report = new Report();
+
+        try {
+            Iris.info("Warming up with " + Form.f(side(warmup) * side(warmup)) + " chunks");
+            generate(engine, world, WARMUP_OFFSET, warmup);
+
+            KMap<String, Double> totals = engine.getMetrics().pullTotals();
+            KMap<String, Long> counts = engine.getMetrics().pullCounts();
+            long allocated = allocatedBytes();
+            long gc = gcMillis();
+
+            Iris.info("Measuring " + Form.f(side(radius) * side(radius)) + " chunks");
+            PrecisionStopwatch p = PrecisionStopwatch.start();
+            int chunks = generate(engine, world, 0, radius);
+            double seconds = p.getMilliseconds() / 1000D;
+            allocated = allocated < 0 ? -1 : allocatedBytes() - allocated;
+            gc = gcMillis() - gc;
+
+            KMap<String, Double> t = engine.getMetrics().pullTotals();
+            KMap<String, Long> c = engine.getMetrics().pullCounts();
+
+            for (String i : t.k()) {
+                long samples = c.get(i) - counts.get(i);
+                double ms = t.get(i) - totals.get(i);
+
+                if (samples > 0) {
+                    report.stages.put(i, new Stage(ms / samples, ms, samples));
+                }
+            }
+
+            report.chunks = chunks;
+            report.seconds = seconds;
+            report.chunksPerSecond = chunks > 0 ? chunks / seconds : 0;
+            report.allocatedBytes = allocated;
+            report.allocatedBytesPerSecond = allocated < 0 ? -1 : chunks > 0 ? allocated / seconds : 0;
+            report.allocatedBytesPerChunk = allocated < 0 ? -1 : chunks > 0 ? allocated / (double) chunks : 0;
+            report.gcMillis = gc;
+        } finally {
+            world.close();
+            engine.close();
+        }
+
+        measureMantle(new File(folder, "mantle"), report);
+        IO.delete(folder);
+        return write(report);
+    }
+
+    private int generate(Engine engine, NBTWorld world, int offset, int radius) {
+        int minHeight = engine.getMinHeight();
+        int maxHeight = engine.getMaxHeight();
+        AtomicInteger generated = new AtomicInteger();
+        BurstExecutor burst = MultiBurst.burst.burst(side(radius) * side(radius));
+
+        for (int x = -radius; x <= radius; x++) {
+            for (int z = -radius; z <= radius; z++) {
+                int cx = offset + x;
+                int cz = z;
+                burst.queue(() -> {
+                    try {
+                        engine.generate(cx << 4, cz << 4, MCATerrainChunk.builder()
+                                .writer(world)
+                                .ox(cx << 4)
+                                .oz(cz << 4)
+                                .minHeight(minHeight)
+                                .maxHeight(maxHeight)
+                                .mcaChunk(Chunk.newChunk(minHeight, maxHeight))
+                                .injector((a, b, c, d) -> {
+                                })
+                                .build(), false);
+                        generated.incrementAndGet();
+                    } catch (Throwable e) {
+                        Iris.reportError(e);
+                        Iris.error("Failed to generate chunk " + cx + ", " + cz + " for the engine benchmark: " + e.getMessage());
+                    }
+                });
+            }
+        }
+
+        burst.complete();
+        return generated.get();
+    }
+
+    /**
+     * Sum up the plates of the measured square and the ring of plates around it the mantle may have written into.
+     * The warmup plates are far away and left out.
+     */
+    private void measureMantle(File folder, Report report) {
+        int from = (-radius >> 5) - 1;
+        int to = (radius >> 5) + 1;
+
+        for (int x = from; x <= to; x++) {
+            for (int z = from; z <= to; z++) {
+                File f = Mantle.fileForRegion(folder, x, z);
+
+                if (f.exists()) {
+                    report.mantlePlates++;
+                    report.mantleBytes += f.length();
+                }
+            }
+        }
+
+        report.mantleBytesPerChunk = report.chunks > 0 ? report.mantleBytes / (double) report.chunks : 0;
+    }
+
+    private File write(Report report) throws IOException {
+        report.pack = dimension.getLoadKey();
+        report.seed = seed;
+        report.radius = radius;
+        report.warmupRadius = warmup;
+        report.threads = IrisSettings.getThreadCount(IrisSettings.get().getConcurrency().getParallelism());
+        report.iris = Iris.instance.getDescription().getVersion();
+        report.server = Bukkit.getVersion();
+        report.java = System.getProperty("java.version");
+        report.date = LocalDateTime.now(Clock.systemDefaultZone()).toString();
+
+        File results = new File(Iris.instance.getDataFolder("packbenchmarks"), dimension.getLoadKey() + "-" + seed + " " + report.date.replace(':', '-') + ".json");
+        IO.writeAll(results, new GsonBuilder().setPrettyPrinting().create().toJson(report));
+        Iris.info("-----------------");
+        Iris.info("Engine benchmark of " + report.pack + ":");
+        Iris.info("- Chunks: " + Form.f(report.chunks) + " in " + Form.duration(report.seconds * 1000D, 2));
+        Iris.info("- Chunks per second: " + Form.f(report.chunksPerSecond, 2));
+        Iris.info("- Allocated per chunk: " + (report.allocatedBytes < 0 ? "unknown" : Form.memSize((long) report.allocatedBytesPerChunk, 2)));
+        Iris.info("- Mantle: " + Form.memSize(report.mantleBytes, 2) + " in " + report.mantlePlates + " plates");
+        Iris.info("-----------------");
+        return results;
+    }
+
+    private static int side(int radius) {
+        return (radius << 1) + 1;
+    }
+
+    /**
+     * @return the bytes allocated by all threads of the jvm so far or -1 if the jvm can't tell
+     */
+    private static long allocatedBytes() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean t && t.isThreadAllocatedMemorySupported() && t.isThreadAllocatedMemoryEnabled()) {
+            return t.getTotalThreadAllocatedBytes();
+        }
+
+        return -1;
+    }
+
+    private static long gcMillis() {
+        long v = 0;
+
+        for (GarbageCollectorMXBean i : ManagementFactory.getGarbageCollectorMXBeans()) {
+            v += Math.max(0, i.getCollectionTime());
+        }
+
+        return v;
+    }
+
+    private record Stage(double averageMillis, double totalMillis, long samples) {
+
+    }
+
+    @SuppressWarnings("unused")
+    private static class Report {
+        private String pack;
+        private long seed;
+        private int radius;
+        private int warmupRadius;
+        private int threads;
+        private String iris;
+        private String server;
+        private String java;
+        private String date;
+        private int chunks;
+        private double seconds;
+        private double chunksPerSecond;
+        private final TreeMap<String, Stage> stages = new TreeMap<>();
+        private long allocatedBytes;
+        private double allocatedBytesPerSecond;
+        private double allocatedBytesPerChunk;
+        private long gcMillis;
+        private int mantlePlates;
+        private long mantleBytes;
+        private double mantleBytesPerChunk;
+    }
+}
@@ -24,10 +24,14 @@ import com.volmit.iris.core.gui.PregeneratorJob;
 import com.volmit.iris.core.loader.IrisData;
 import com.volmit.iris.core.pregenerator.PregenTask;
 import com.volmit.iris.core.pregenerator.PregeneratorMethod;
+import com.volmit.iris.core.pregenerator.methods.HeadlessPregenMethod;
 import com.volmit.iris.core.pregenerator.methods.HybridPregenMethod;
 import com.volmit.iris.core.service.StudioSVC;
+import com.volmit.iris.engine.IrisEngine;
 import com.volmit.iris.engine.framework.Engine;
+import com.volmit.iris.engine.framework.EngineTarget;
 import com.volmit.iris.engine.object.IrisDimension;
+import com.volmit.iris.engine.object.IrisWorld;
 import com.volmit.iris.engine.platform.PlatformChunkGenerator;
 import com.volmit.iris.util.plugin.VolmitSender;
 import org.bukkit.Bukkit;
@@ -173,6 +177,59 @@ public class IrisToolbelt {
         return pregenerate(task, new HybridPregenMethod(world, IrisSettings.getThreadCount(IrisSettings.get().getConcurrency().getParallelism())), null);
     }
 
+    /**
+     * Start a headless pregenerator task. Regions are generated straight into the region files
+     * of the world folder with an engine that is not bound to a loaded world, so the world must not be loaded.
+     * The pack is installed into the world folder if it isn't there yet.
+     *
+     * @param task      the scheduled task
+     * @param worldName the name of the world folder
+     * @param dimension the dimension to generate
+     * @param seed      the seed the world will be created with
+     * @return the pregenerator job (already started)
+     */
+    public static PregeneratorJob pregenerateHeadless(PregenTask task, String worldName, IrisDimension dimension, long seed) {
+        Engine engine = createHeadlessEngine(new File(Bukkit.getWorldContainer(), worldName), worldName, dimension, seed);
+        return pregenerate(task, new HeadlessPregenMethod(engine, IrisSettings.getThreadCount(IrisSettings.get().getConcurrency().getParallelism())), engine);
+    }
+
+    /**
+     * Create an engine which is not bound to a loaded world. Its mantle and engine data live in the given folder,
+     * the pack is installed into the folder if it isn't there yet. Closing the engine is up to the caller.
+     *
+     * @param folder    the world folder
+     * @param worldName the name of the world
+     * @param dimension the dimension to generate
+     * @param seed      the seed
+     * @return the engine
+     */
+    public static Engine createHeadlessEngine(File folder, String worldName, IrisDimension dimension, long seed) {
+        File pack = new File(folder, "iris/pack");
+        File[] files = pack.listFiles();
+
+        if (files == null || files.length == 0) {
+            pack.mkdirs();
+            Iris.service(StudioSVC.class).installIntoWorld(Iris.getSender(), dimension.getLoadKey(), folder);
+        }
+
+        IrisData data = IrisData.get(pack);
+        IrisDimension dim = data.getDimensionLoader().load(dimension.getLoadKey());
+
+        if (dim == null) {
+            throw new IllegalStateException("Missing dimension " + dimension.getLoadKey() + " in " + pack.getPath());
+        }
+
+        IrisWorld world = IrisWorld.builder()
+                .name(worldName)
+                .seed(seed)
+                .environment(dim.getEnvironment())
+                .worldFolder(folder)
+                .minHeight(dim.getMinHeight())
+                .maxHeight(dim.getMaxHeight())
+                .build();
+        return new IrisEngine(new EngineTarget(world, dim, data), false);
+    }
+
     /**
      * Evacuate all players from the world into literally any other world.
      * If there are no other worlds, kick them! Not the best but what's mine is mine sometimes...
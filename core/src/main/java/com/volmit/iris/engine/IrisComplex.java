@@ -29,10 +29,12 @@ import com.volmit.iris.util.collection.KMap;
 import com.volmit.iris.util.collection.KSet;
 import com.volmit.iris.util.context.IrisContext;
 import com.volmit.iris.util.data.DataProvider;
+import com.volmit.iris.util.function.NoiseProvider;
 import com.volmit.iris.util.interpolation.IrisInterpolation.NoiseKey;
 import com.volmit.iris.util.math.M;
 import com.volmit.iris.util.math.RNG;
 import com.volmit.iris.util.noise.CNG;
+import com.volmit.iris.util.stream.DoubleStream2D;
 import com.volmit.iris.util.stream.ProceduralStream;
 import com.volmit.iris.util.stream.interpolation.Interpolated;
 import lombok.Data;
@@ -42,6 +44,7 @@ import org.bukkit.Material;
 import org.bukkit.block.Biome;
 import org.bukkit.block.data.BlockData;
 
+import java.util.Arrays;
 import java.util.UUID;
 
 @Data
@@ -49,13 +52,14 @@ import java.util.UUID;
 @ToString(exclude = "data")
 public class IrisComplex implements DataProvider {
     private static final BlockData AIR = Material.AIR.createBlockData();
+    private static final int MAX_ENVELOPE_SIZE = 128;
     private RNG rng;
     private double fluidHeight;
     private IrisData data;
     private KMap<IrisInterpolator, KSet<IrisGenerator>> generators;
     private ProceduralStream<IrisRegion> regionStream;
-    private ProceduralStream<Double> regionStyleStream;
-    private ProceduralStream<Double> regionIdentityStream;
+    private DoubleStream2D regionStyleStream;
+    private DoubleStream2D regionIdentityStream;
     private ProceduralStream<UUID> regionIDStream;
     private ProceduralStream<InferredType> bridgeStream;
     private ProceduralStream<IrisBiome> landBiomeStream;
@@ -66,12 +70,12 @@ public class IrisComplex implements DataProvider {
     private ProceduralStream<UUID> baseBiomeIDStream;
     private ProceduralStream<IrisBiome> trueBiomeStream;
     private ProceduralStream<Biome> trueBiomeDerivativeStream;
-    private ProceduralStream<Double> heightStream;
+    private DoubleStream2D heightStream;
     private ProceduralStream<Integer> roundedHeighteightStream;
-    private ProceduralStream<Double> maxHeightStream;
-    private ProceduralStream<Double> overlayStream;
-    private ProceduralStream<Double> heightFluidStream;
-    private ProceduralStream<Double> slopeStream;
+    private DoubleStream2D maxHeightStream;
+    private DoubleStream2D overlayStream;
+    private DoubleStream2D heightFluidStream;
+    private DoubleStream2D slopeStream;
     private ProceduralStream<Integer> topSurfaceStream;
     private ProceduralStream<IrisDecorator> terrainSurfaceDecoration;
     private ProceduralStream<IrisDecorator> terrainCeilingDecoration;
@@ -112,8 +116,8 @@ public class IrisComplex implements DataProvider {
                 .getAllBiomes(this).forEach((b) -> b
                         .getGenerators()
                         .forEach((c) -> registerGenerator(c.getCachedGenerator(this)))));
-        overlayStream = ProceduralStream.ofDouble((x, z) -> 0.0D).waste("Overlay Stream");
-        engine.getDimension().getOverlayNoise().forEach(i -> overlayStream = overlayStream.add((x, z) -> i.get(rng, getData(), x, z)));
+        overlayStream = DoubleStream2D.of(0.0D).waste("Overlay Stream");
+        engine.getDimension().getOverlayNoise().forEach(i -> overlayStream = overlayStream.add(DoubleStream2D.of((x, z) -> i.get(rng, getData(), x, z))));
         rockStream = engine.getDimension().getRockPalette().getLayerGenerator(rng.nextParallelRNG(45), data).stream()
                 .select(engine.getDimension().getRockPalette().getBlockData(data)).waste("Rock Stream");
         fluidStream = engine.getDimension().getFluidPalette().getLayerGenerator(rng.nextParallelRNG(78), data).stream()
@@ -177,13 +181,16 @@ public class IrisComplex implements DataProvider {
                 bridgeStream.convertAware2D((t, x, z) -> inferredStreams.get(t).get(x, z))
                         .convertAware2D(this::implode)
                         .cache2D("baseBiomeStream", engine, cacheSize).waste("Base Biome Stream");
-        heightStream = ProceduralStream.of((x, z) -> {
+        NoiseProvider height2D = (x, z) -> {
             IrisBiome b = focusBiome != null ? focusBiome : baseBiomeStream.get(x, z);
             return getHeight(engine, b, x, z, engine.getSeedManager().getHeight());
-        }, Interpolated.DOUBLE).cache2D("heightStream", engine, cacheSize).waste("Height Stream");
+        };
+        heightStream = DoubleStream2D.of(height2D, (x, y, z) -> height2D.noise(x, z),
+                        (out, x, z) -> fillHeight(engine, out, x, z, engine.getSeedManager().getHeight()))
+                .cache2D("heightStream", engine, cacheSize).waste("Height Stream");
         roundedHeighteightStream = heightStream.contextInjecting((c, x, z) -> IrisContext.getOr(engine).getChunkContext().getHeight().get(x, z))
                 .round().waste("Rounded Height Stream");
-        slopeStream = heightStream.contextInjecting((c, x, z) -> IrisContext.getOr(engine).getChunkContext().getHeight().get(x, z))
+        slopeStream = DoubleStream2D.wrap(heightStream.contextInjecting((c, x, z) -> IrisContext.getOr(engine).getChunkContext().getHeight().get(x, z)))
                 .slope(3).cache2D("slopeStream", engine, cacheSize).waste("Slope Stream");
         trueBiomeStream = focusBiome != null ? ProceduralStream.of((x, y) -> focusBiome, Interpolated.of(a -> 0D,
                         b -> focusBiome))
@@ -194,9 +201,9 @@ public class IrisComplex implements DataProvider {
                 .cache2D("trueBiomeStream", engine, cacheSize).waste("True Biome Stream");
         trueBiomeDerivativeStream = trueBiomeStream.contextInjecting((c, x, z) -> IrisContext.getOr(engine).getChunkContext().getBiome().get(x, z))
                 .convert(IrisBiome::getDerivative).cache2D("trueBiomeDerivativeStream", engine, cacheSize).waste("True Biome Derivative Stream");
-        heightFluidStream = heightStream.contextInjecting((c, x, z) -> IrisContext.getOr(engine).getChunkContext().getHeight().get(x, z))
+        heightFluidStream = DoubleStream2D.wrap(heightStream.contextInjecting((c, x, z) -> IrisContext.getOr(engine).getChunkContext().getHeight().get(x, z)))
                 .max(fluidHeight).cache2D("heightFluidStream", engine, cacheSize).waste("Height Fluid Stream");
-        maxHeightStream = ProceduralStream.ofDouble((x, z) -> height).waste("Max Height Stream");
+        maxHeightStream = DoubleStream2D.of(height).waste("Max Height Stream");
         terrainSurfaceDecoration = trueBiomeStream.contextInjecting((c, x, z) -> IrisContext.getOr(engine).getChunkContext().getBiome().get(x, z))
                 .convertAware2D((b, xx, zz) -> decorateFor(b, xx, zz, IrisDecorationPart.NONE)).cache2D("terrainSurfaceDecoration", engine, cacheSize).waste("Surface Decoration Stream");
         terrainCeilingDecoration = trueBiomeStream.contextInjecting((c, x, z) -> IrisContext.getOr(engine).getChunkContext().getBiome().get(x, z))
@@ -357,7 +364,78 @@ public class IrisComplex implements DataProvider {
     }
 
     private double getHeight(Engine engine, IrisBiome b, double x, double z, long seed) {
-        return Math.max(Math.min(getInterpolatedHeight(engine, x, z, seed) + fluidHeight + overlayStream.get(x, z), engine.getHeight()), 0);
+        return Math.max(Math.min(getInterpolatedHeight(engine, x, z, seed) + fluidHeight + overlayStream.getDouble(x, z), engine.getHeight()), 0);
+    }
+
+    /**
+     * Chunk level counterpart of {@link #getHeight(Engine, IrisBiome, double, double, long)} for the 16x16 block at x, z.
+     * The biome envelope lattice is sampled once for the whole chunk instead of once per column.
+     */
+    private void fillHeight(Engine engine, double[] out, int x, int z, long seed) {
+        double[] xs = new double[16];
+        double[] zs = new double[16];
+
+        for (int i = 0; i < 16; i++) {
+            xs[i] = x + i;
+            zs[i] = z + i;
+        }
+
+        Arrays.fill(out, 0, 256, 0D);
+        for (IrisInterpolator i : generators.keySet()) {
+            fillGenerators(engine, i, generators.get(i), out, x, z, xs, zs, seed);
+        }
+
+        for (int j = 0; j < 16; j++) {
+            for (int i = 0; i < 16; i++) {
+                int k = (j * 16) + i;
+                out[k] = Math.max(Math.min(out[k] + fluidHeight + overlayStream.getDouble(x + i, z + j), engine.getHeight()), 0);
+            }
+        }
+    }
+
+    private void fillGenerators(Engine engine, IrisInterpolator interpolator, KSet<IrisGenerator> generators, double[] out, int x, int z, double[] xs, double[] zs, long seed) {
+        if (generators.isEmpty()) {
+            return;
+        }
+
+        int margin = (int) Math.ceil(interpolator.getHorizontalScale() * 3) + 2;
+        int size = 16 + (margin * 2);
+
+        if (size > MAX_ENVELOPE_SIZE) {
+            for (int j = 0; j < 16; j++) {
+                for (int i = 0; i < 16; i++) {
+                    out[(j * 16) + i] += interpolateGenerators(engine, interpolator, generators, x + i, z + j, seed);
+                }
+            }
+
+            return;
+        }
+
+        GeneratorEnvelope envelope = new GeneratorEnvelope(engine, generators, x - margin, z - margin, size);
+        double[] hi = new double[256];
+        double[] lo = new double[256];
+        double[] d = new double[256];
+        double[] g = new double[256];
+
+        for (int j = 0; j < 16; j++) {
+            for (int i = 0; i < 16; i++) {
+                int k = (j * 16) + i;
+                hi[k] = interpolator.interpolateDirect(x + i, z + j, envelope::hi);
+                lo[k] = interpolator.interpolateDirect(x + i, z + j, envelope::lo);
+            }
+        }
+
+        for (IrisGenerator gen : generators) {
+            gen.fill(g, xs, zs, seed + 239945);
+
+            for (int k = 0; k < 256; k++) {
+                d[k] += M.lerp(lo[k], hi[k], g[k]);
+            }
+        }
+
+        for (int k = 0; k < 256; k++) {
+            out[k] += d[k] / generators.size();
+        }
     }
 
     private void registerGenerator(IrisGenerator cachedGenerator) {
@@ -392,4 +470,116 @@ public class IrisComplex implements DataProvider {
     public void close() {
 
     }
+
+    /**
+     * The summed generator link min / max of the base biome at each integer lattice point around a chunk.
+     * Points are sampled lazily and at most once, points outside of the grid are sampled directly.
+     */
+    private class GeneratorEnvelope {
+        private final Engine engine;
+        private final KSet<IrisGenerator> generators;
+        private final int x;
+        private final int z;
+        private final int size;
+        private final double[] hi;
+        private final double[] lo;
+
+        private GeneratorEnvelope(Engine engine, KSet<IrisGenerator> generators, int x, int z, int size) {
+            this.engine = engine;
+            this.generators = generators;
+            this.x = x;
+            this.z = z;
+            this.size = size;
+            this.hi = new double[size * size];
+            this.lo = new double[size * size];
+            Arrays.fill(hi, Double.NaN);
+        }
+
+        public double hi(double xx, double zz) {
+            int k = index(xx, zz);
+
+            if (k == -1) {
+                return sum(xx, zz, true);
+            }
+
+            if (Double.isNaN(hi[k])) {
+                sample(k, xx, zz);
+            }
+
+            return hi[k];
+        }
+
+        public double lo(double xx, double zz) {
+            int k = index(xx, zz);
+
+            if (k == -1) {
+                return sum(xx, zz, false);
+            }
+
+            if (Double.isNaN(hi[k])) {
+                sample(k, xx, zz);
+            }
+
+            return lo[k];
+        }
+
+        private int index(double xx, double zz) {
+            int ix = (int) xx;
+            int iz = (int) zz;
+
+            if (ix != xx || iz != zz) {
+                return -1;
+            }
+
+            ix -= x;
+            iz -= z;
+
+            if (ix < 0 || iz < 0 || ix >= size || iz >= size) {
+                return -1;
+            }
+
+            return (iz * size) + ix;
+        }
+
+        private void sample(int k, double xx, double zz) {
+            try {
+                IrisBiome bx = baseBiomeStream.get(xx, zz);
+                double h = 0;
+                double l = 0;
+
+                for (IrisGenerator gen : generators) {
+                    h += bx.getGenLinkMax(gen.getLoadKey(), engine);
+                    l += bx.getGenLinkMin(gen.getLoadKey(), engine);
+                }
+
+                lo[k] = l;
+                hi[k] = h;
+            } catch (Throwable e) {
+                Iris.reportError(e);
+                e.printStackTrace();
+                Iris.error("Failed to sample biome envelope at " + xx + " " + zz + "...");
+                lo[k] = 0;
+                hi[k] = 0;
+            }
+        }
+
+        private double sum(double xx, double zz, boolean max) {
+            try {
+                IrisBiome bx = baseBiomeStream.get(xx, zz);
+                double b = 0;
+
+                for (IrisGenerator gen : generators) {
+                    b += max ? bx.getGenLinkMax(gen.getLoadKey(), engine) : bx.getGenLinkMin(gen.getLoadKey(), engine);
+                }
+
+                return b;
+            } catch (Throwable e) {
+                Iris.reportError(e);
+                e.printStackTrace();
+                Iris.error("Failed to sample biome envelope at " + xx + " " + zz + "...");
+            }
+
+            return 0;
+        }
+    }
 }
@@ -35,6 +35,7 @@ import com.volmit.iris.engine.mantle.EngineMantle;
 import com.volmit.iris.engine.object.*;
 import com.volmit.iris.engine.scripting.EngineExecutionEnvironment;
 import com.volmit.iris.util.atomics.AtomicRollingSequence;
+import com.volmit.iris.util.collection.KList;
 import com.volmit.iris.util.collection.KMap;
 import com.volmit.iris.util.context.ChunkContext;
 import com.volmit.iris.util.context.IrisContext;
@@ -42,6 +43,7 @@ import com.volmit.iris.util.documentation.BlockCoordinates;
 import com.volmit.iris.util.format.C;
 import com.volmit.iris.util.format.Form;
 import com.volmit.iris.util.hunk.Hunk;
+import com.volmit.iris.util.hunk.view.BlockUpdateHunk;
 import com.volmit.iris.util.io.IO;
 import com.volmit.iris.util.mantle.MantleFlag;
 import com.volmit.iris.util.math.M;
@@ -176,6 +178,7 @@ public class IrisEngine implements Engine {
             hash32 = new CompletableFuture<>();
             setupMode();
             J.a(this::computeBiomeMaxes);
+            J.a(() -> getData().saveSnapshots());
             J.a(() -> {
                 File[] roots = getData().getLoaders()
                         .values()
@@ -411,6 +414,17 @@ public class IrisEngine implements Engine {
 
             sender.sendMessage("  " + befb + num + afb + ": " + C.BOLD + C.WHITE + Form.pc(weights.get(i), 0));
         }
+
+        sender.sendMessage("Mantle Radius: " + C.BOLD + C.WHITE + Form.f(getMetrics().getMantleRadius().getAverage(), 1) + C.RESET + C.GRAY + " avg, "
+                + C.BOLD + C.WHITE + (int) getMetrics().getMantleRadius().getMax() + C.RESET + C.GRAY + " max, "
+                + C.BOLD + C.WHITE + getMantle().getRadius() + C.RESET + C.GRAY + " worst case (chunks)");
+        KMap<Integer, Long> radii = getMetrics().pullMantleRadii();
+        KList<Integer> keys = radii.k();
+        keys.sort(Integer::compare);
+
+        for (Integer i : keys) {
+            sender.sendMessage("  " + C.GOLD + i + C.RESET + C.GRAY + ": " + C.BOLD + C.WHITE + Form.f(radii.get(i)) + " chunks");
+        }
     }
 
     @Override
@@ -472,7 +486,7 @@ public class IrisEngine implements Engine {
         getEngineData().getStatistics().generatedChunk();
         try {
             PrecisionStopwatch p = PrecisionStopwatch.start();
-            Hunk<BlockData> blocks = vblocks.listen((xx, y, zz, t) -> catchBlockUpdates(x + xx, y + getMinHeight(), z + zz, t));
+            BlockUpdateHunk blocks = new BlockUpdateHunk(vblocks);
 
             if (getDimension().isDebugChunkCrossSections() && ((x >> 4) % getDimension().getDebugCrossSectionsMod() == 0 || (z >> 4) % getDimension().getDebugCrossSectionsMod() == 0)) {
                 for (int i = 0; i < 16; i++) {
@@ -484,6 +498,7 @@ public class IrisEngine implements Engine {
                 mode.generate(x, z, blocks, vbiomes, multicore);
             }
 
+            commitBlockUpdates(x, z, blocks);
             getMantle().getMantle().flag(x >> 4, z >> 4, MantleFlag.REAL, true);
             getMetrics().getTotal().put(p.getMilliseconds());
             generated.incrementAndGet();
@@ -44,6 +44,7 @@ import com.volmit.iris.util.scheduling.jobs.QueueJob;
 import io.papermc.lib.PaperLib;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
+import org.bukkit.Bukkit;
 import org.bukkit.Chunk;
 import org.bukkit.Location;
 import org.bukkit.World;
@@ -61,7 +62,6 @@ import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
-import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -514,47 +514,38 @@ public class IrisWorldManager extends EngineAssignedWorldManager {
 
     public Map<IrisPosition, KSet<IrisSpawner>> getSpawnersFromMarkers(Chunk c) {
         Map<IrisPosition, KSet<IrisSpawner>> p = new KMap<>();
-        Set<IrisPosition> b = new KSet<>();
+        KMap<IrisPosition, IrisMarker> found = new KMap<>();
+        KMap<String, IrisMarker> markers = new KMap<>();
+        KMap<String, KList<IrisSpawner>> spawners = new KMap<>();
+        KList<IrisPosition> check = new KList<>();
         getMantle().iterateChunk(c.getX(), c.getZ(), MatterMarker.class, (x, y, z, t) -> {
             if (t.getTag().equals("cave_floor") || t.getTag().equals("cave_ceiling")) {
                 return;
             }
 
-            IrisMarker mark = getData().getMarkerLoader().load(t.getTag());
+            IrisMarker mark = markers.computeIfAbsent(t.getTag(), (k) -> getData().getMarkerLoader().load(k));
+
+            if (mark == null) {
+                return;
+            }
+
             IrisPosition pos = new IrisPosition((c.getX() << 4) + x, y, (c.getZ() << 4) + z);
+            found.put(pos, mark);
 
             if (mark.isEmptyAbove()) {
-                AtomicBoolean remove = new AtomicBoolean(false);
+                check.add(pos);
+            }
+        });
 
-                try {
-                    J.sfut(() -> {
-                        if (c.getBlock(x, y + 1, z).getBlockData().getMaterial().isSolid() || c.getBlock(x, y + 2, z).getBlockData().getMaterial().isSolid()) {
-                            remove.set(true);
-                        }
-                    }).get();
-                } catch (InterruptedException | ExecutionException e) {
-                    e.printStackTrace();
-                }
+        Set<IrisPosition> b = getObstructedMarkers(c, check);
 
-                if (remove.get()) {
-                    b.add(pos);
-                    return;
-                }
+        found.forEach((pos, mark) -> {
+            if (b.contains(pos)) {
+                return;
             }
 
-            for (String i : mark.getSpawners()) {
-                IrisSpawner m = getData().getSpawnerLoader().load(i);
-                if (m == null) {
-                    Iris.error("Cannot load spawner: " + i + " for marker on " + getName());
-                    continue;
-                }
-                m.setReferenceMarker(mark);
-
-                // This is so fucking incorrect its a joke
-                //noinspection ConstantConditions
-                if (m != null) {
-                    p.computeIfAbsent(pos, (k) -> new KSet<>()).add(m);
-                }
+            for (IrisSpawner m : spawners.computeIfAbsent(mark.getLoadKey(), (k) -> loadSpawners(mark))) {
+                p.computeIfAbsent(pos, (k) -> new KSet<>()).add(m);
             }
         });
 
@@ -565,6 +556,70 @@ public class IrisWorldManager extends EngineAssignedWorldManager {
         return p;
     }
 
+    private KList<IrisSpawner> loadSpawners(IrisMarker mark) {
+        KList<IrisSpawner> s = new KList<>();
+
+        for (String i : mark.getSpawners()) {
+            IrisSpawner m = getData().getSpawnerLoader().load(i);
+            if (m == null) {
+                Iris.error("Cannot load spawner: " + i + " for marker on " + getName());
+                continue;
+            }
+
+            m.setReferenceMarker(mark);
+            s.add(m);
+        }
+
+        return s;
+    }
+
+    /**
+     * Check all empty above markers of a chunk in a single main thread task
+     *
+     * @param c         the chunk
+     * @param positions the marker positions, y in mantle coordinates
+     * @return the markers which have a solid block in the two blocks above them
+     */
+    private Set<IrisPosition> getObstructedMarkers(Chunk c, KList<IrisPosition> positions) {
+        Set<IrisPosition> b = new KSet<>();
+
+        if (positions.isEmpty()) {
+            return b;
+        }
+
+        int minHeight = getEngine().getWorld().minHeight();
+        Runnable r = () -> {
+            for (IrisPosition i : positions) {
+                int x = i.getX() & 15;
+                int y = i.getY() + minHeight;
+                int z = i.getZ() & 15;
+
+                if (c.getBlock(x, y + 1, z).getType().isSolid() || c.getBlock(x, y + 2, z).getType().isSolid()) {
+                    b.add(i);
+                }
+            }
+        };
+
+        if (Bukkit.isPrimaryThread()) {
+            r.run();
+            return b;
+        }
+
+        CompletableFuture<?> f = J.sfut(r);
+
+        if (f == null) {
+            return b;
+        }
+
+        try {
+            f.get();
+        } catch (InterruptedException | ExecutionException e) {
+            e.printStackTrace();
+        }
+
+        return b;
+    }
+
     @Override
     public void onBlockBreak(BlockBreakEvent e) {
         if (e.getBlock().getWorld().equals(getTarget().getWorld().realWorld())) {
@@ -32,6 +32,8 @@ import lombok.Getter;
 import org.bukkit.Material;
 import org.bukkit.block.data.BlockData;
 
+import java.util.BitSet;
+
 public class IrisTerrainNormalActuator extends EngineAssignedActuator<BlockData> {
     private static final BlockData AIR = Material.AIR.createBlockData();
     private static final BlockData BEDROCK = Material.BEDROCK.createBlockData();
@@ -77,12 +79,16 @@ public class IrisTerrainNormalActuator extends EngineAssignedActuator<BlockData>
         int zf, realX, realZ, hf, he;
         IrisBiome biome;
         IrisRegion region;
+        BitSet biomeOres, regionOres;
+        BitSet dimensionOres = getDimension().getOreHeights();
 
         for (zf = 0; zf < h.getDepth(); zf++) {
             realX = xf + x;
             realZ = zf + z;
             biome = context.getBiome().get(xf, zf);
             region = context.getRegion().get(xf, zf);
+            biomeOres = biome.getOreHeights();
+            regionOres = region.getOreHeights();
             he = (int) Math.round(Math.min(h.getHeight(), context.getHeight().get(xf, zf)));
             hf = Math.round(Math.max(Math.min(h.getHeight(), getDimension().getFluidHeight()), he));
 
@@ -138,9 +144,9 @@ public class IrisTerrainNormalActuator extends EngineAssignedActuator<BlockData>
                         continue;
                     }
 
-                    BlockData ore = biome.generateOres(realX, i, realZ, rng, getData());
-                    ore = ore == null ? region.generateOres(realX, i, realZ, rng, getData()) : ore;
-                    ore = ore == null ? getDimension().generateOres(realX, i, realZ, rng, getData()) : ore;
+                    BlockData ore = biomeOres.get(i) ? biome.generateOres(realX, i, realZ, rng, getData()) : null;
+                    ore = ore == null && regionOres.get(i) ? region.generateOres(realX, i, realZ, rng, getData()) : ore;
+                    ore = ore == null && dimensionOres.get(i) ? getDimension().generateOres(realX, i, realZ, rng, getData()) : ore;
 
                     if (ore != null) {
                         h.set(xf, i, zf, ore);
@@ -37,17 +37,17 @@ public class IrisShoreLineDecorator extends IrisEngineDecorator {
     public void decorate(int x, int z, int realX, int realX1, int realX_1, int realZ, int realZ1, int realZ_1, Hunk<BlockData> data, IrisBiome biome, int height, int max) {
 
         if (height == getDimension().getFluidHeight()) {
-            if (Math.round(getComplex().getHeightStream().get(realX1, realZ)) < getComplex().getFluidHeight() ||
-                    Math.round(getComplex().getHeightStream().get(realX_1, realZ)) < getComplex().getFluidHeight() ||
-                    Math.round(getComplex().getHeightStream().get(realX, realZ1)) < getComplex().getFluidHeight() ||
-                    Math.round(getComplex().getHeightStream().get(realX, realZ_1)) < getComplex().getFluidHeight()
+            if (Math.round(getComplex().getHeightStream().getDouble(realX1, realZ)) < getComplex().getFluidHeight() ||
+                    Math.round(getComplex().getHeightStream().getDouble(realX_1, realZ)) < getComplex().getFluidHeight() ||
+                    Math.round(getComplex().getHeightStream().getDouble(realX, realZ1)) < getComplex().getFluidHeight() ||
+                    Math.round(getComplex().getHeightStream().getDouble(realX, realZ_1)) < getComplex().getFluidHeight()
             ) {
                 RNG rng = getRNG(realX, realZ);
                 IrisDecorator decorator = getDecorator(rng, biome, realX, realZ);
 
                 if (decorator != null) {
                     if (!decorator.isForcePlace() && !decorator.getSlopeCondition().isDefault()
-                            && !decorator.getSlopeCondition().isValid(getComplex().getSlopeStream().get(realX, realZ))) {
+                            && !decorator.getSlopeCondition().isValid(getComplex().getSlopeStream().getDouble(realX, realZ))) {
                         return;
                     }
 
@@ -48,7 +48,11 @@ import com.volmit.iris.util.documentation.ChunkCoordinates;
 import com.volmit.iris.util.format.C;
 import com.volmit.iris.util.function.Function2;
 import com.volmit.iris.util.hunk.Hunk;
+import com.volmit.iris.util.hunk.view.BlockUpdateHunk;
+import com.volmit.iris.util.mantle.Mantle;
+import com.volmit.iris.util.mantle.MantleChunk;
 import com.volmit.iris.util.mantle.MantleFlag;
+import com.volmit.iris.util.mantle.MantleObjectTable;
 import com.volmit.iris.util.math.BlockPosition;
 import com.volmit.iris.util.math.M;
 import com.volmit.iris.util.math.Position2;
@@ -56,6 +60,7 @@ import com.volmit.iris.util.math.RNG;
 import com.volmit.iris.util.matter.MatterCavern;
 import com.volmit.iris.util.matter.MatterUpdate;
 import com.volmit.iris.util.matter.TileWrapper;
+import com.volmit.iris.util.matter.slices.UpdateMatter;
 import com.volmit.iris.util.matter.slices.container.JigsawPieceContainer;
 import com.volmit.iris.util.parallel.BurstExecutor;
 import com.volmit.iris.util.parallel.MultiBurst;
@@ -264,6 +269,37 @@ public interface Engine extends DataProvider, Fallible, LootProvider, BlockUpdat
         }
     }
 
+    /**
+     * Write the updatable blocks collected while generating a chunk into the mantle in one pass
+     *
+     * @param x       the chunk's block x
+     * @param z       the chunk's block z
+     * @param updates the collected updates
+     */
+    @BlockCoordinates
+    default void commitBlockUpdates(int x, int z, BlockUpdateHunk updates) {
+        Mantle mantle = getMantle().getMantle();
+
+        if (updates.hasCustom()) {
+            mantle.flag(x >> 4, z >> 4, MantleFlag.CUSTOM, true);
+        }
+
+        int minHeight = getMinHeight();
+        MantleChunk chunk = mantle.getChunk(x >> 4, z >> 4).use();
+
+        try {
+            updates.forEachUpdate((xx, yy, zz) -> {
+                int y = yy + minHeight;
+
+                if (y >= 0 && y < mantle.getWorldHeight()) {
+                    chunk.getOrCreate(y >> 4).slice(MatterUpdate.class).set(xx & 15, y & 15, zz & 15, UpdateMatter.ON);
+                }
+            });
+        } finally {
+            chunk.release();
+        }
+    }
+
     void blockUpdatedMetric();
 
     @ChunkCoordinates
@@ -305,60 +341,122 @@ public interface Engine extends DataProvider, Fallible, LootProvider, BlockUpdat
             });
         })));
 
-        chunk.raiseFlag(MantleFlag.UPDATE, run(semaphore, () -> J.s(() -> {
-            PrecisionStopwatch p = PrecisionStopwatch.start();
-            KMap<Long, Integer> updates = new KMap<>();
-            RNG r = new RNG(Cache.key(c.getX(), c.getZ()));
-            mantle.iterateChunk(c.getX(), c.getZ(), MatterCavern.class, (x, yf, z, v) -> {
-                int y = yf + getWorld().minHeight();
-                if (!B.isFluid(c.getBlock(x & 15, y, z & 15).getBlockData())) {
-                    return;
-                }
-                boolean u = false;
-                if (B.isAir(c.getBlock(x & 15, y, z & 15).getRelative(BlockFace.DOWN).getBlockData())) {
-                    u = true;
-                } else if (B.isAir(c.getBlock(x & 15, y, z & 15).getRelative(BlockFace.WEST).getBlockData())) {
-                    u = true;
-                } else if (B.isAir(c.getBlock(x & 15, y, z & 15).getRelative(BlockFace.EAST).getBlockData())) {
-                    u = true;
-                } else if (B.isAir(c.getBlock(x & 15, y, z & 15).getRelative(BlockFace.SOUTH).getBlockData())) {
-                    u = true;
-                } else if (B.isAir(c.getBlock(x & 15, y, z & 15).getRelative(BlockFace.NORTH).getBlockData())) {
-                    u = true;
+        chunk.raiseFlag(MantleFlag.UPDATE, run(semaphore, () -> {
+            int minHeight = getWorld().minHeight();
+            boolean scan = !chunk.isFlagged(MantleFlag.FLUID_UPDATES);
+            KList<IrisPosition> updates = new KList<>();
+            mantle.iterateChunk(c.getX(), c.getZ(), MatterUpdate.class, (x, yf, z, v) -> {
+                if (v != null && v.isUpdate()) {
+                    updates.add(new IrisPosition(x & 15, yf + minHeight, z & 15));
                 }
+            });
 
-                if (u) {
-                    updates.compute(Cache.key(x & 15, z & 15), (k, vv) -> {
-                        if (vv != null) {
-                            return Math.max(vv, y);
-                        }
+            J.s(() -> {
+                PrecisionStopwatch p = PrecisionStopwatch.start();
 
-                        return y;
-                    });
+                if (scan) {
+                    updateFluids(c);
                 }
-            });
 
-            updates.forEach((k, v) -> update(Cache.keyX(k), v, Cache.keyZ(k), c, r));
-            mantle.iterateChunk(c.getX(), c.getZ(), MatterUpdate.class, (x, yf, z, v) -> {
-                int y = yf + getWorld().minHeight();
-                if (v != null && v.isUpdate()) {
-                    int vx = x & 15;
-                    int vz = z & 15;
-                    update(x, y, z, c, new RNG(Cache.key(c.getX(), c.getZ())));
-                    if (vx > 0 && vx < 15 && vz > 0 && vz < 15) {
-                        updateLighting(x, y, z, c);
-                    }
-                }
-            });
-            mantle.deleteChunkSlice(c.getX(), c.getZ(), MatterUpdate.class);
-            getMetrics().getUpdates().put(p.getMilliseconds());
-        }, RNG.r.i(0, 20))));
+                PostLoadUpdateQueue.submit(this, c, updates, p.getMilliseconds(), (applied, spent) -> finishUpdates(c, updates, applied, spent));
+            }, RNG.r.i(0, 20));
+        }));
 
         try {
             semaphore.acquire(3);
         } catch (InterruptedException ignored) {}
     }
 
+    /**
+     * Scan the caves of a chunk for fluids flowing into air. Only used for chunks generated
+     * before the carve modifier stored these updates in the mantle.
+     */
+    @ChunkCoordinates
+    private void updateFluids(Chunk c) {
+        KMap<Long, Integer> updates = new KMap<>();
+        RNG r = new RNG(Cache.key(c.getX(), c.getZ()));
+        getMantle().getMantle().iterateChunk(c.getX(), c.getZ(), MatterCavern.class, (x, yf, z, v) -> {
+            int y = yf + getWorld().minHeight();
+            if (!B.isFluid(c.getBlock(x & 15, y, z & 15).getBlockData())) {
+                return;
+            }
+            boolean u = false;
+            if (B.isAir(c.getBlock(x & 15, y, z & 15).getRelative(BlockFace.DOWN).getBlockData())) {
+                u = true;
+            } else if (B.isAir(c.getBlock(x & 15, y, z & 15).getRelative(BlockFace.WEST).getBlockData())) {
+                u = true;
+            } else if (B.isAir(c.getBlock(x & 15, y, z & 15).getRelative(BlockFace.EAST).getBlockData())) {
+                u = true;
+            } else if (B.isAir(c.getBlock(x & 15, y, z & 15).getRelative(BlockFace.SOUTH).getBlockData())) {
+                u = true;
+            } else if (B.isAir(c.getBlock(x & 15, y, z & 15).getRelative(BlockFace.NORTH).getBlockData())) {
+                u = true;
+            }
+
+            if (u) {
+                updates.compute(Cache.key(x & 15, z & 15), (k, vv) -> {
+                    if (vv != null) {
+                        return Math.max(vv, y);
+                    }
+
+                    return y;
+                });
+            }
+        });
+
+        updates.forEach((k, v) -> update(Cache.keyX(k), v, Cache.keyZ(k), c, r));
+    }
+
+    /**
+     * Finish the block updates of a chunk once the update queue is done with it. The update slice is only deleted
+     * once every update was applied. If the chunk unloaded first, the applied updates are removed from the mantle
+     * and the chunk is marked for updates again, so the remaining ones are applied the next time it loads.
+     *
+     * @param c       the chunk
+     * @param updates the chunk relative positions with world y
+     * @param applied the number of updates that were applied
+     * @param spent   the main thread time spent on this chunk
+     */
+    @ChunkCoordinates
+    private void finishUpdates(Chunk c, KList<IrisPosition> updates, int applied, double spent) {
+        if (applied < updates.size()) {
+            deferUpdates(c, updates, applied);
+        } else {
+            getMantle().getMantle().deleteChunkSlice(c.getX(), c.getZ(), MatterUpdate.class);
+        }
+
+        getMetrics().getUpdates().put(spent);
+    }
+
+    /**
+     * Remove the applied updates of a chunk from the mantle and clear its update flags,
+     * so the remaining updates are picked up again the next time the chunk loads.
+     *
+     * @param c       the chunk
+     * @param updates the chunk relative positions with world y
+     * @param applied the number of updates that were applied
+     */
+    @ChunkCoordinates
+    private void deferUpdates(Chunk c, KList<IrisPosition> updates, int applied) {
+        try {
+            Mantle mantle = getMantle().getMantle();
+            int minHeight = getWorld().minHeight();
+
+            for (int i = 0; i < applied; i++) {
+                IrisPosition u = updates.get(i);
+                mantle.remove((c.getX() << 4) + u.getX(), u.getY() - minHeight, (c.getZ() << 4) + u.getZ(), MatterUpdate.class);
+            }
+
+            MantleChunk chunk = mantle.getChunk(c.getX(), c.getZ());
+            // the fluid scan of older chunks already ran, only the stored updates are left
+            chunk.flag(MantleFlag.FLUID_UPDATES, true);
+            chunk.flag(MantleFlag.UPDATE, false);
+            chunk.flag(MantleFlag.ETCHED, false);
+        } catch (Throwable e) {
+            Iris.reportError(e);
+        }
+    }
+
     private static Runnable run(Semaphore semaphore, Runnable runnable) {
         return () -> {
             if (!semaphore.tryAcquire())
@@ -484,7 +582,7 @@ public interface Engine extends DataProvider, Fallible, LootProvider, BlockUpdat
         int rx = b.getX();
         int rz = b.getZ();
         int ry = b.getY() - getWorld().minHeight();
-        double he = getComplex().getHeightStream().get(rx, rz);
+        double he = getComplex().getHeightStream().getDouble(rx, rz);
         KList<IrisLootTable> tables = new KList<>();
 
         PlacedObject po = getObjectPlacement(rx, ry, rz);
@@ -810,14 +908,24 @@ public interface Engine extends DataProvider, Fallible, LootProvider, BlockUpdat
     }
 
     default PlacedObject getObjectPlacement(int x, int y, int z) {
-        String objectAt = getMantle().getMantle().get(x, y, z, String.class);
-        if (objectAt == null || objectAt.isEmpty()) {
-            return null;
-        }
+        String object;
+        int id;
+        MantleObjectTable.Entry instance = getMantle().getMantle().getObject(x, y, z);
+
+        if (instance != null) {
+            object = instance.key();
+            id = instance.id();
+        } else {
+            // Mantles written before the object table store "key@id" per block
+            String objectAt = getMantle().getMantle().get(x, y, z, String.class);
+            if (objectAt == null || objectAt.isEmpty()) {
+                return null;
+            }
 
-        String[] v = objectAt.split("\\Q@\\E");
-        String object = v[0];
-        int id = Integer.parseInt(v[1]);
+            String[] v = objectAt.split("\\Q@\\E");
+            object = v[0];
+            id = Integer.parseInt(v[1]);
+        }
 
 
         JigsawPieceContainer container = getMantle().getMantle().get(x, y, z, JigsawPieceContainer.class);
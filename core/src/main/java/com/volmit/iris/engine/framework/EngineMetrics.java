@@ -22,6 +22,8 @@ import com.volmit.iris.util.atomics.AtomicRollingSequence;
 import com.volmit.iris.util.collection.KMap;
 import lombok.Data;
 
+import java.util.concurrent.atomic.AtomicLongArray;
+
 @Data
 public class EngineMetrics {
     private final AtomicRollingSequence total;
@@ -37,6 +39,9 @@ public class EngineMetrics {
     private final AtomicRollingSequence cave;
     private final AtomicRollingSequence ravine;
     private final AtomicRollingSequence deposit;
+    private final AtomicRollingSequence context;
+    private final AtomicRollingSequence mantleRadius;
+    private final AtomicLongArray mantleRadii;
 
     public EngineMetrics(int mem) {
         this.total = new AtomicRollingSequence(mem);
@@ -52,23 +57,83 @@ public class EngineMetrics {
         this.cave = new AtomicRollingSequence(mem);
         this.ravine = new AtomicRollingSequence(mem);
         this.deposit = new AtomicRollingSequence(mem);
+        this.context = new AtomicRollingSequence(mem);
+        this.mantleRadius = new AtomicRollingSequence(mem);
+        this.mantleRadii = new AtomicLongArray(33);
+    }
+
+    /**
+     * Record the effective mantle radius (in chunks) a chunk was generated with
+     *
+     * @param radius the radius in chunks
+     */
+    public void putMantleRadius(int radius) {
+        mantleRadius.put(radius);
+        mantleRadii.incrementAndGet(Math.min(radius, mantleRadii.length() - 1));
+    }
+
+    /**
+     * How many chunks were generated with each effective mantle radius. The last bucket holds all larger radii.
+     *
+     * @return radius in chunks to chunk count, empty radii are left out
+     */
+    public KMap<Integer, Long> pullMantleRadii() {
+        KMap<Integer, Long> v = new KMap<>();
+
+        for (int i = 0; i < mantleRadii.length(); i++) {
+            long c = mantleRadii.get(i);
+
+            if (c > 0) {
+                v.put(i, c);
+            }
+        }
+
+        return v;
     }
 
     public KMap<String, Double> pull() {
         KMap<String, Double> v = new KMap<>();
-        v.put("total", total.getAverage());
-        v.put("terrain", terrain.getAverage());
-        v.put("biome", biome.getAverage());
-        v.put("parallax", parallax.getAverage());
-        v.put("parallax.insert", parallaxInsert.getAverage());
-        v.put("post", post.getAverage());
-        v.put("perfection", perfection.getAverage());
-        v.put("decoration", decoration.getAverage());
-        v.put("api", api.getAverage());
-        v.put("updates", updates.getAverage());
-        v.put("cave", cave.getAverage());
-        v.put("ravine", ravine.getAverage());
-        v.put("deposit", deposit.getAverage());
+        sequences().forEach((k, s) -> v.put(k, s.getAverage()));
+        return v;
+    }
+
+    /**
+     * The summed time of every sample of each stage since the engine started, unlike {@link #pull()}
+     * which only averages the most recent samples
+     *
+     * @return stage name to the total milliseconds spent in it
+     */
+    public KMap<String, Double> pullTotals() {
+        KMap<String, Double> v = new KMap<>();
+        sequences().forEach((k, s) -> v.put(k, s.getTotal()));
+        return v;
+    }
+
+    /**
+     * @return stage name to the number of samples taken since the engine started
+     */
+    public KMap<String, Long> pullCounts() {
+        KMap<String, Long> v = new KMap<>();
+        sequences().forEach((k, s) -> v.put(k, s.getCount()));
+        return v;
+    }
+
+    private KMap<String, AtomicRollingSequence> sequences() {
+        KMap<String, AtomicRollingSequence> v = new KMap<>();
+        v.put("total", total);
+        v.put("terrain", terrain);
+        v.put("biome", biome);
+        v.put("parallax", parallax);
+        v.put("parallax.insert", parallaxInsert);
+        v.put("post", post);
+        v.put("perfection", perfection);
+        v.put("decoration", decoration);
+        v.put("api", api);
+        v.put("updates", updates);
+        v.put("cave", cave);
+        v.put("ravine", ravine);
+        v.put("deposit", deposit);
+        v.put("context", context);
 
         return v;
     }
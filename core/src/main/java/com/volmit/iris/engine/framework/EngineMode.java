@@ -27,6 +27,7 @@ import com.volmit.iris.util.hunk.Hunk;
 import com.volmit.iris.util.math.RollingSequence;
 import com.volmit.iris.util.parallel.BurstExecutor;
 import com.volmit.iris.util.parallel.MultiBurst;
+import com.volmit.iris.util.scheduling.PrecisionStopwatch;
 import org.bukkit.block.Biome;
 import org.bukkit.block.data.BlockData;
 
@@ -69,7 +70,9 @@ public interface EngineMode extends Staged {
 
     @BlockCoordinates
     default void generate(int x, int z, Hunk<BlockData> blocks, Hunk<Biome> biomes, boolean multicore) {
+        PrecisionStopwatch p = PrecisionStopwatch.start();
         ChunkContext ctx = new ChunkContext(x, z, getComplex());
+        getEngine().getMetrics().getContext().put(p.getMilliseconds());
         IrisContext.getOr(getEngine()).setChunkContext(ctx);
 
         for (EngineStage i : getStages()) {
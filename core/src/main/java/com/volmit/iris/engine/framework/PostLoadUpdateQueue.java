@@ -0,0 +1,123 @@
+/*
+ * Iris is a World Generator for Minecraft Bukkit Servers
+ * Copyright (c) 2022 Arcane Arts (Volmit Software)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.volmit.iris.engine.framework;
+
+import com.volmit.iris.Iris;
+import com.volmit.iris.core.IrisSettings;
+import com.volmit.iris.engine.data.cache.Cache;
+import com.volmit.iris.engine.object.IrisPosition;
+import com.volmit.iris.util.collection.KList;
+import com.volmit.iris.util.math.RNG;
+import com.volmit.iris.util.scheduling.J;
+import com.volmit.iris.util.scheduling.PrecisionStopwatch;
+import org.bukkit.Chunk;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Applies the post load block updates of every engine on the main thread. A single ticker drains the queue
+ * with one time budget per tick, chunks are applied in the order they were queued and whatever is left once
+ * the budget is used up continues on the next tick.
+ */
+final class PostLoadUpdateQueue {
+    private static final Queue<Task> queue = new ConcurrentLinkedQueue<>();
+    private static final AtomicBoolean ticking = new AtomicBoolean(false);
+
+    private PostLoadUpdateQueue() {
+    }
+
+    /**
+     * Queue the updates of a chunk
+     *
+     * @param engine  the engine of the chunk
+     * @param c       the chunk
+     * @param updates the chunk relative positions with world y
+     * @param spent   the main thread time already spent on this chunk
+     * @param done    called on the main thread with the number of applied updates and the total time spent,
+     *                fewer than all updates were applied if the chunk unloaded or the engine closed first
+     */
+    static void submit(Engine engine, Chunk c, KList<IrisPosition> updates, double spent, Done done) {
+        queue.add(new Task(engine, c, updates, done, spent));
+
+        if (ticking.compareAndSet(false, true)) {
+            J.s(PostLoadUpdateQueue::tick);
+        }
+    }
+
+    private static void tick() {
+        PrecisionStopwatch p = PrecisionStopwatch.start();
+        long budget = IrisSettings.get().getWorld().getPostLoadBlockUpdateBudgetMS();
+        boolean applied = false;
+
+        try {
+            Task t;
+            while ((t = queue.peek()) != null) {
+                if (t.next >= t.updates.size() || !t.chunk.isLoaded() || t.engine.isClosed()) {
+                    queue.poll();
+                    t.done.accept(t.next, t.spent);
+                    continue;
+                }
+
+                if (budget > 0 && applied && p.getMilliseconds() >= budget) {
+                    break;
+                }
+
+                double start = p.getMilliseconds();
+                IrisPosition u = t.updates.get(t.next++);
+                t.engine.update(u.getX(), u.getY(), u.getZ(), t.chunk, new RNG(Cache.key(t.chunk.getX(), t.chunk.getZ())));
+                if (u.getX() > 0 && u.getX() < 15 && u.getZ() > 0 && u.getZ() < 15) {
+                    t.engine.updateLighting(u.getX(), u.getY(), u.getZ(), t.chunk);
+                }
+                t.spent += p.getMilliseconds() - start;
+                applied = true;
+            }
+        } catch (Throwable e) {
+            Iris.reportError(e);
+        } finally {
+            ticking.set(false);
+            if (!queue.isEmpty() && ticking.compareAndSet(false, true)) {
+                J.s(PostLoadUpdateQueue::tick, 1);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    interface Done {
+        void accept(int applied, double spent);
+    }
+
+    private static final class Task {
+        private final Engine engine;
+        private final Chunk chunk;
+        private final KList<IrisPosition> updates;
+        private final Done done;
+        private double spent;
+        private int next;
+
+        private Task(Engine engine, Chunk chunk, KList<IrisPosition> updates, Done done, double spent) {
+            this.engine = engine;
+            this.chunk = chunk;
+            this.updates = updates;
+            this.done = done;
+            this.spent = spent;
+        }
+    }
+}
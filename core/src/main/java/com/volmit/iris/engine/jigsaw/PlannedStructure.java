@@ -152,7 +152,7 @@ public class PlannedStructure {
         JigsawPieceContainer container = JigsawPieceContainer.toContainer(i.getPiece());
         i.setRealPositions(xx, height, zz, placer);
         return v.place(xx, height, zz, placer, options, rng, (b, data) -> {
-            e.set(b.getX(), b.getY(), b.getZ(), v.getLoadKey() + "@" + id);
+            e.setObject(b.getX(), b.getY(), b.getZ(), v.getLoadKey(), id);
             e.set(b.getX(), b.getY(), b.getZ(), container);
         }, null, getData().getEngine() != null ? getData() : eng.getData()) != -1;
     }
@@ -320,7 +320,7 @@ public class PlannedStructure {
         int v = 0;
 
         for (PlannedPiece i : pieces) {
-            v += i.getObject().getBlocks().size();
+            v += i.getObject().volume();
         }
 
         return v;
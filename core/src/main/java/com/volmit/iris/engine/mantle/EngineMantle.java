@@ -41,6 +41,7 @@ import com.volmit.iris.util.hunk.Hunk;
 import com.volmit.iris.util.mantle.Mantle;
 import com.volmit.iris.util.mantle.MantleChunk;
 import com.volmit.iris.util.mantle.MantleFlag;
+import com.volmit.iris.util.math.Position2;
 import com.volmit.iris.util.matter.*;
 import com.volmit.iris.util.matter.slices.UpdateMatter;
 import com.volmit.iris.util.parallel.BurstExecutor;
@@ -198,27 +199,28 @@ public interface EngineMantle extends IObjectPlacer {
             return;
         }
 
-        try (MantleWriter writer = getMantle().write(this, x, z, getRadius() * 2)) {
-            var iterator = getComponents().iterator();
-            while (iterator.hasNext()) {
-                var pair = iterator.next();
-                int radius = pair.getB();
-                boolean last = !iterator.hasNext();
-                BurstExecutor burst = burst().burst(radius * 2 + 1);
+        var components = getComponents();
+        MantlePlan plan = MantlePlan.of(x, z, components);
+        int radius = plan.radius();
+        getEngine().getMetrics().putMantleRadius(radius);
+
+        try (MantleWriter writer = getMantle().write(this, x, z, radius)) {
+            for (int l = 0; l < components.size(); l++) {
+                var pair = components.get(l);
+                boolean last = l == components.size() - 1;
+                BurstExecutor burst = burst().burst(plan.layers().get(l).size());
                 burst.setMulticore(multicore);
 
-                for (int i = -radius; i <= radius; i++) {
-                    for (int j = -radius; j <= radius; j++) {
-                        int xx = x + i;
-                        int zz = z + j;
-                        MantleChunk mc = getMantle().getChunk(xx, zz);
-
-                        burst.queue(() -> {
-                            IrisContext.touch(getEngine().getContext());
-                            pair.getA().forEach(k -> generateMantleComponent(writer, xx, zz, k, mc, context));
-                            if (last) mc.flag(MantleFlag.PLANNED, true);
-                        });
-                    }
+                for (Position2 i : plan.layers().get(l)) {
+                    int xx = i.getX();
+                    int zz = i.getZ();
+                    MantleChunk mc = getMantle().getChunk(xx, zz);
+
+                    burst.queue(() -> {
+                        IrisContext.touch(getEngine().getContext());
+                        pair.getA().forEach(k -> generateMantleComponent(writer, xx, zz, k, mc, context));
+                        if (last) mc.flag(MantleFlag.PLANNED, true);
+                    });
                 }
 
                 burst.complete();
@@ -293,6 +295,7 @@ public interface EngineMantle extends IObjectPlacer {
             getMantle().raiseFlag(x, z, MantleFlag.CLEANED, () -> {
                 getMantle().deleteChunkSlice(x, z, BlockData.class);
                 getMantle().deleteChunkSlice(x, z, String.class);
+                getMantle().deleteChunkSlice(x, z, MatterObjectRef.class);
                 getMantle().deleteChunkSlice(x, z, MatterCavern.class);
                 getMantle().deleteChunkSlice(x, z, MatterFluidBody.class);
             });
@@ -18,6 +18,10 @@
 
 package com.volmit.iris.engine.mantle;
 
+import com.volmit.iris.engine.object.IrisBiome;
+import com.volmit.iris.engine.object.IrisRegion;
+import com.volmit.iris.util.collection.KMap;
+import com.volmit.iris.util.documentation.ChunkCoordinates;
 import com.volmit.iris.util.mantle.MantleFlag;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
@@ -30,4 +34,40 @@ public abstract class IrisMantleComponent implements MantleComponent {
     private final EngineMantle engineMantle;
     private final MantleFlag flag;
     private final int priority;
+
+    /**
+     * Looks up the radius for the region and biome at the center of the chunk.
+     * Keys missing from the tables use the worst case radius, so components only store the smaller entries.
+     *
+     * @param x       the chunk x
+     * @param z       the chunk z
+     * @param regions radius per region key
+     * @param biomes  radius per biome key
+     * @return the radius in blocks
+     */
+    @ChunkCoordinates
+    protected int getRadius(int x, int z, KMap<String, Integer> regions, KMap<String, Integer> biomes) {
+        if (regions.isEmpty() && biomes.isEmpty()) {
+            return getRadius();
+        }
+
+        int xxx = 8 + (x << 4);
+        int zzz = 8 + (z << 4);
+        IrisRegion region = getComplex().getRegionStream().get(xxx, zzz);
+        IrisBiome biome = getComplex().getTrueBiomeStream().get(xxx, zzz);
+        return Math.max(regions.getOrDefault(region.getLoadKey(), getRadius()), biomes.getOrDefault(biome.getLoadKey(), getRadius()));
+    }
+
+    /**
+     * Drops the entries which are equal to the worst case radius
+     *
+     * @param radius the worst case radius
+     * @param tables the tables to trim
+     */
+    @SafeVarargs
+    protected static void trimRadius(int radius, KMap<String, Integer>... tables) {
+        for (KMap<String, Integer> i : tables) {
+            i.values().removeIf(r -> r >= radius);
+        }
+    }
 }
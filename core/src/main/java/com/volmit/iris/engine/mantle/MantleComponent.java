@@ -33,6 +33,19 @@ public interface MantleComponent extends Comparable<MantleComponent> {
 
     int getRadius();
 
+    /**
+     * The reach in blocks of the content this component generates for the given chunk.
+     * Never larger than {@link #getRadius()}, which is the worst case over the whole dimension.
+     *
+     * @param x the chunk x
+     * @param z the chunk z
+     * @return the radius in blocks
+     */
+    @ChunkCoordinates
+    default int getRadius(int x, int z) {
+        return getRadius();
+    }
+
     default IrisData getData() {
         return getEngineMantle().getData();
     }
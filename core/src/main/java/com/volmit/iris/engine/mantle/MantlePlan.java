@@ -0,0 +1,84 @@
+/*
+ * Iris is a World Generator for Minecraft Bukkit Servers
+ * Copyright (c) 2022 Arcane Arts (Volmit Software)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.volmit.iris.engine.mantle;
+
+import com.volmit.iris.core.nms.container.Pair;
+import com.volmit.iris.util.collection.KList;
+import com.volmit.iris.util.documentation.ChunkCoordinates;
+import com.volmit.iris.util.math.Position2;
+
+/**
+ * The chunks each mantle component layer has to run on so one chunk is complete,
+ * together with the area their content can write to.
+ *
+ * @param layers    the chunks to generate for every layer, in layer order
+ * @param footprint the distance in blocks from the chunk the planned content can reach
+ */
+public record MantlePlan(KList<KList<Position2>> layers, int footprint) {
+    /**
+     * Layers are resolved from the last to the first. A chunk is only part of a layer if the content its own
+     * region and biome can generate reaches the area the later layers touch. The area an earlier layer has to cover
+     * is the footprint of every chunk planned after it, its distance plus its own reach. Each layer stays within its worst case radius.
+     *
+     * @param x          the chunk x
+     * @param z          the chunk z
+     * @param components the component layers and their worst case radius in chunks
+     * @return the plan
+     */
+    @ChunkCoordinates
+    public static MantlePlan of(int x, int z, KList<Pair<KList<MantleComponent>, Integer>> components) {
+        KList<KList<Position2>> layers = new KList<>();
+        int window = 0;
+
+        for (int l = components.size() - 1; l >= 0; l--) {
+            var pair = components.get(l);
+            int max = pair.getB();
+            int reach = window;
+            KList<Position2> layer = new KList<>();
+
+            for (int i = -max; i <= max; i++) {
+                for (int j = -max; j <= max; j++) {
+                    int d = Math.max(Math.abs(i), Math.abs(j));
+                    int r = 0;
+
+                    for (MantleComponent k : pair.getA()) {
+                        r = Math.max(r, k.getRadius(x + i, z + j));
+                    }
+
+                    if (d <= Math.ceilDiv(window + r, 16)) {
+                        layer.add(new Position2(x + i, z + j));
+                        reach = Math.max(reach, (d << 4) + r);
+                    }
+                }
+            }
+
+            layers.add(0, layer);
+            window = reach;
+        }
+
+        return new MantlePlan(layers, window);
+    }
+
+    /**
+     * @return the radius in chunks a writer needs so none of the planned content is cut off
+     */
+    public int radius() {
+        return Math.ceilDiv(footprint, 16);
+    }
+}
@@ -35,6 +35,9 @@ import com.volmit.iris.util.mantle.Mantle;
 import com.volmit.iris.util.mantle.MantleChunk;
 import com.volmit.iris.util.math.RNG;
 import com.volmit.iris.util.matter.Matter;
+import com.volmit.iris.util.matter.MatterCavern;
+import com.volmit.iris.util.matter.MatterObjectRef;
+import com.volmit.iris.util.matter.MatterSlice;
 import lombok.Data;
 import org.bukkit.block.data.BlockData;
 import org.bukkit.util.Vector;
@@ -155,6 +158,30 @@ public class MantleWriter implements IObjectPlacer, AutoCloseable {
         }
     }
 
+    /**
+     * Mark the block as part of a placed object instance, see {@link Mantle#setObject(int, int, int, String, int)}
+     */
+    public void setObject(int x, int y, int z, String key, int id) {
+        int cx = x >> 4;
+        int cz = z >> 4;
+
+        if (y < 0 || y >= mantle.getWorldHeight()) {
+            return;
+        }
+
+        if (cx >= this.x - radius && cx <= this.x + radius
+                && cz >= this.z - radius && cz <= this.z + radius) {
+            MantleChunk chunk = cachedChunks.get(Cache.key(cx, cz));
+
+            if (chunk == null) {
+                Iris.error("Mantle Writer Accessed " + cx + "," + cz + " and came up null (and yet within bounds!)");
+                return;
+            }
+
+            chunk.getOrCreate(y >> 4).slice(MatterObjectRef.class).set(x & 15, y & 15, z & 15, chunk.getObjects().ref(key, id));
+        }
+    }
+
     @Override
     public int getHighest(int x, int z, IrisData data) {
         return engineMantle.getHighest(x, z, data);
@@ -185,7 +212,24 @@ public class MantleWriter implements IObjectPlacer, AutoCloseable {
 
     @Override
     public boolean isCarved(int x, int y, int z) {
-        return getEngineMantle().isCarved(x, y, z);
+        MantleChunk chunk = cachedChunks.get(Cache.key(x >> 4, z >> 4));
+
+        if (chunk == null) {
+            return getEngineMantle().isCarved(x, y, z);
+        }
+
+        if (y < 0 || y >= mantle.getWorldHeight()) {
+            return false;
+        }
+
+        Matter matter = chunk.get(y >> 4);
+
+        if (matter == null) {
+            return false;
+        }
+
+        MatterSlice<MatterCavern> slice = matter.getSlice(MatterCavern.class);
+        return slice != null && slice.get(x & 15, y & 15, z & 15) != null;
     }
 
     @Override
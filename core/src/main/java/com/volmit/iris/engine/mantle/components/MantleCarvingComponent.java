@@ -25,20 +25,31 @@ import com.volmit.iris.engine.mantle.MantleWriter;
 import com.volmit.iris.engine.object.IrisBiome;
 import com.volmit.iris.engine.object.IrisCarving;
 import com.volmit.iris.engine.object.IrisRegion;
+import com.volmit.iris.util.collection.KMap;
 import com.volmit.iris.util.context.ChunkContext;
 import com.volmit.iris.util.documentation.ChunkCoordinates;
 import com.volmit.iris.util.mantle.MantleFlag;
 import com.volmit.iris.util.math.RNG;
+import lombok.AccessLevel;
 import lombok.Getter;
 
 @Getter
 public class MantleCarvingComponent extends IrisMantleComponent {
+    @Getter(AccessLevel.NONE)
+    private final KMap<String, Integer> regionRadius = new KMap<>();
+    @Getter(AccessLevel.NONE)
+    private final KMap<String, Integer> biomeRadius = new KMap<>();
     private final int radius = computeRadius();
 
     public MantleCarvingComponent(EngineMantle engineMantle) {
         super(engineMantle, MantleFlag.CARVED, 0);
     }
 
+    @Override
+    public int getRadius(int x, int z) {
+        return getRadius(x, z, regionRadius, biomeRadius);
+    }
+
     @Override
     public void generateLayer(MantleWriter writer, int x, int z, ChunkContext context) {
         RNG rng = new RNG(Cache.key(x, z) + seed());
@@ -63,18 +74,22 @@ public class MantleCarvingComponent extends IrisMantleComponent {
 
     private int computeRadius() {
         var dimension = getDimension();
-        int max = 0;
-
-        max = Math.max(max, dimension.getCarving().getMaxRange(getData()));
+        int base = dimension.getCarving().getMaxRange(getData());
+        int max = base;
 
         for (var i : dimension.getAllRegions(this::getData)) {
-            max = Math.max(max, i.getCarving().getMaxRange(getData()));
+            int r = Math.max(base, i.getCarving().getMaxRange(getData()));
+            regionRadius.put(i.getLoadKey(), r);
+            max = Math.max(max, r);
         }
 
         for (var i : dimension.getAllBiomes(this::getData)) {
-            max = Math.max(max, i.getCarving().getMaxRange(getData()));
+            int r = Math.max(base, i.getCarving().getMaxRange(getData()));
+            biomeRadius.put(i.getLoadKey(), r);
+            max = Math.max(max, r);
         }
 
+        trimRadius(max, regionRadius, biomeRadius);
         return max;
     }
 }
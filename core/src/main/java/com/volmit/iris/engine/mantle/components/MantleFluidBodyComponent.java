@@ -25,20 +25,31 @@ import com.volmit.iris.engine.mantle.MantleWriter;
 import com.volmit.iris.engine.object.IrisBiome;
 import com.volmit.iris.engine.object.IrisFluidBodies;
 import com.volmit.iris.engine.object.IrisRegion;
+import com.volmit.iris.util.collection.KMap;
 import com.volmit.iris.util.context.ChunkContext;
 import com.volmit.iris.util.documentation.ChunkCoordinates;
 import com.volmit.iris.util.mantle.MantleFlag;
 import com.volmit.iris.util.math.RNG;
+import lombok.AccessLevel;
 import lombok.Getter;
 
 @Getter
 public class MantleFluidBodyComponent extends IrisMantleComponent {
+    @Getter(AccessLevel.NONE)
+    private final KMap<String, Integer> regionRadius = new KMap<>();
+    @Getter(AccessLevel.NONE)
+    private final KMap<String, Integer> biomeRadius = new KMap<>();
     private final int radius = computeRadius();
 
     public MantleFluidBodyComponent(EngineMantle engineMantle) {
         super(engineMantle, MantleFlag.FLUID_BODIES, 0);
     }
 
+    @Override
+    public int getRadius(int x, int z) {
+        return getRadius(x, z, regionRadius, biomeRadius);
+    }
+
     @Override
     public void generateLayer(MantleWriter writer, int x, int z, ChunkContext context) {
         RNG rng = new RNG(Cache.key(x, z) + seed() + 405666);
@@ -62,18 +73,22 @@ public class MantleFluidBodyComponent extends IrisMantleComponent {
     }
 
     private int computeRadius() {
-        int max = 0;
-
-        max = Math.max(max, getDimension().getFluidBodies().getMaxRange(getData()));
+        int base = getDimension().getFluidBodies().getMaxRange(getData());
+        int max = base;
 
         for (IrisRegion i : getDimension().getAllRegions(this::getData)) {
-            max = Math.max(max, i.getFluidBodies().getMaxRange(getData()));
+            int r = Math.max(base, i.getFluidBodies().getMaxRange(getData()));
+            regionRadius.put(i.getLoadKey(), r);
+            max = Math.max(max, r);
         }
 
         for (IrisBiome i : getDimension().getAllBiomes(this::getData)) {
-            max = Math.max(max, i.getFluidBodies().getMaxRange(getData()));
+            int r = Math.max(base, i.getFluidBodies().getMaxRange(getData()));
+            biomeRadius.put(i.getLoadKey(), r);
+            max = Math.max(max, r);
         }
 
+        trimRadius(max, regionRadius, biomeRadius);
         return max;
     }
 }
@@ -40,6 +40,8 @@ import org.jetbrains.annotations.Nullable;
 import java.util.List;
 
 public class MantleJigsawComponent extends IrisMantleComponent {
+    private final KMap<String, Integer> regionRadius = new KMap<>();
+    private final KMap<String, Integer> biomeRadius = new KMap<>();
     @Getter
     private final int radius = computeRadius();
     private final CNG cng;
@@ -49,6 +51,11 @@ public class MantleJigsawComponent extends IrisMantleComponent {
         cng = NoiseStyle.STATIC.create(new RNG(jigsaw()));
     }
 
+    @Override
+    public int getRadius(int x, int z) {
+        return getRadius(x, z, regionRadius, biomeRadius);
+    }
+
     @Override
     public void generateLayer(MantleWriter writer, int x, int z, ChunkContext context) {
         int xxx = 8 + (x << 4);
@@ -176,25 +183,29 @@ public class MantleJigsawComponent extends IrisMantleComponent {
 
     private int computeRadius() {
         var dimension = getDimension();
+        KMap<String, Integer> sizes = new KMap<>();
+        int base = computeRadius(dimension.getJigsawStructures(), sizes);
+        int max = base;
 
-        KSet<String> structures = new KSet<>();
-        for (var placement : dimension.getJigsawStructures()) {
-            structures.add(placement.getStructure());
-        }
         for (var region : dimension.getAllRegions(this::getData)) {
-            for (var placement : region.getJigsawStructures()) {
-                structures.add(placement.getStructure());
-            }
+            int r = Math.max(base, computeRadius(region.getJigsawStructures(), sizes));
+            regionRadius.put(region.getLoadKey(), r);
+            max = Math.max(max, r);
         }
         for (var biome : dimension.getAllBiomes(this::getData)) {
-            for (var placement : biome.getJigsawStructures()) {
-                structures.add(placement.getStructure());
-            }
+            int r = Math.max(base, computeRadius(biome.getJigsawStructures(), sizes));
+            biomeRadius.put(biome.getLoadKey(), r);
+            max = Math.max(max, r);
         }
 
+        trimRadius(max, regionRadius, biomeRadius);
+        return max;
+    }
+
+    private int computeRadius(KList<IrisJigsawStructurePlacement> placements, KMap<String, Integer> sizes) {
         int max = 0;
-        for (var structure : structures) {
-            max = Math.max(max, getData().getJigsawStructureLoader().load(structure).getMaxDimension());
+        for (var placement : placements) {
+            max = Math.max(max, sizes.computeIfAbsent(placement.getStructure(), (k) -> getData().getJigsawStructureLoader().load(k).getMaxDimension()));
         }
         return max;
     }
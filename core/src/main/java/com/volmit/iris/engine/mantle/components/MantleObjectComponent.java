@@ -37,23 +37,29 @@ import com.volmit.iris.util.math.RNG;
 import com.volmit.iris.util.matter.MatterStructurePOI;
 import com.volmit.iris.util.noise.CNG;
 import com.volmit.iris.util.noise.NoiseType;
-import com.volmit.iris.util.parallel.BurstExecutor;
+import lombok.AccessLevel;
 import lombok.Getter;
 import org.bukkit.util.BlockVector;
 
-import java.io.IOException;
-import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.atomic.AtomicInteger;
 
 @Getter
 public class MantleObjectComponent extends IrisMantleComponent {
+    @Getter(AccessLevel.NONE)
+    private final KMap<String, Integer> regionRadius = new KMap<>();
+    @Getter(AccessLevel.NONE)
+    private final KMap<String, Integer> biomeRadius = new KMap<>();
     private final int radius = computeRadius();
 
     public MantleObjectComponent(EngineMantle engineMantle) {
         super(engineMantle, MantleFlag.OBJECT, 1);
     }
 
+    @Override
+    public int getRadius(int x, int z) {
+        return getRadius(x, z, regionRadius, biomeRadius);
+    }
+
     @Override
     public void generateLayer(MantleWriter writer, int x, int z, ChunkContext context) {
         RNG rng = applyNoise(x, z, Cache.key(x, z) + seed());
@@ -111,7 +117,7 @@ public class MantleObjectComponent extends IrisMantleComponent {
             int zz = rng.i(z, z + 15);
             int id = rng.i(0, Integer.MAX_VALUE);
             v.place(xx, -1, zz, writer, objectPlacement, rng, (b, data) -> {
-                writer.setData(b.getX(), b.getY(), b.getZ(), v.getLoadKey() + "@" + id);
+                writer.setObject(b.getX(), b.getY(), b.getZ(), v.getLoadKey(), id);
                 if (objectPlacement.isDolphinTarget() && objectPlacement.isUnderwater() && B.isStorageChest(data)) {
                     writer.setData(b.getX(), b.getY(), b.getZ(), MatterStructurePOI.BURIED_TREASURE);
                 }
@@ -157,109 +163,77 @@ public class MantleObjectComponent extends IrisMantleComponent {
 
     private int computeRadius() {
         var dimension = getDimension();
-
-        AtomicInteger xg = new AtomicInteger();
-        AtomicInteger zg = new AtomicInteger();
-
         KSet<String> objects = new KSet<>();
-        KMap<IrisObjectScale, KList<String>> scalars = new KMap<>();
-        for (var region : dimension.getAllRegions(this::getData)) {
+        var regions = dimension.getAllRegions(this::getData);
+        var biomes = dimension.getAllBiomes(this::getData);
+
+        for (var region : regions) {
             for (var j : region.getObjects()) {
-                if (j.getScale().canScaleBeyond()) {
-                    scalars.put(j.getScale(), j.getPlace());
-                } else {
-                    objects.addAll(j.getPlace());
-                }
+                objects.addAll(j.getPlace());
             }
         }
-        for (var biome : dimension.getAllBiomes(this::getData)) {
+        for (var biome : biomes) {
             for (var j : biome.getObjects()) {
-                if (j.getScale().canScaleBeyond()) {
-                    scalars.put(j.getScale(), j.getPlace());
-                } else {
-                    objects.addAll(j.getPlace());
-                }
+                objects.addAll(j.getPlace());
             }
         }
 
-        BurstExecutor e = getEngineMantle().getTarget().getBurster().burst(objects.size());
-        KMap<String, BlockVector> sizeCache = new KMap<>();
+        KMap<String, Integer> sizes = new KMap<>();
         for (String i : objects) {
-            e.queue(() -> {
-                try {
-                    BlockVector bv = sizeCache.computeIfAbsent(i, (k) -> {
-                        try {
-                            return IrisObject.sampleSize(getData().getObjectLoader().findFile(i));
-                        } catch (IOException ex) {
-                            Iris.reportError(ex);
-                            ex.printStackTrace();
-                        }
-
-                        return null;
-                    });
-
-                    if (bv == null) {
-                        throw new RuntimeException();
-                    }
-
-                    if (Math.max(bv.getBlockX(), bv.getBlockZ()) > 128) {
-                        Iris.warn("Object " + i + " has a large size (" + bv + ") and may increase memory usage!");
-                    }
-
-                    synchronized (xg) {
-                        xg.getAndSet(Math.max(bv.getBlockX(), xg.get()));
-                    }
-
-                    synchronized (zg) {
-                        zg.getAndSet(Math.max(bv.getBlockZ(), zg.get()));
-                    }
-                } catch (Throwable ed) {
-                    Iris.reportError(ed);
+            BlockVector bv = getData().getObjectLoader().getObjectSize(i);
 
-                }
-            });
+            if (bv == null) {
+                Iris.warn("Couldn't find Object: " + i);
+                continue;
+            }
+
+            if (Math.max(bv.getBlockX(), bv.getBlockZ()) > 128) {
+                Iris.warn("Object " + i + " has a large size (" + bv + ") and may increase memory usage!");
+            }
+
+            sizes.put(i, Math.max(bv.getBlockX(), bv.getBlockZ()));
+        }
+
+        KSet<String> warned = new KSet<>();
+        int max = 0;
+
+        for (var region : regions) {
+            int r = computeRadius(region.getObjects(), sizes, warned);
+            regionRadius.put(region.getLoadKey(), r);
+            max = Math.max(max, r);
         }
+        for (var biome : biomes) {
+            int r = computeRadius(biome.getObjects(), sizes, warned);
+            biomeRadius.put(biome.getLoadKey(), r);
+            max = Math.max(max, r);
+        }
+
+        trimRadius(max, regionRadius, biomeRadius);
+        return max;
+    }
+
+    private int computeRadius(KList<IrisObjectPlacement> placements, KMap<String, Integer> sizes, KSet<String> warned) {
+        int max = 0;
+
+        for (IrisObjectPlacement j : placements) {
+            double ms = j.getScale().canScaleBeyond() ? j.getScale().getMaximumScale() : 1;
+
+            for (String i : j.getPlace()) {
+                Integer size = sizes.get(i);
+
+                if (size == null) {
+                    continue;
+                }
+
+                int r = (int) Math.ceil(size * ms);
+                if (ms > 1 && r > 128 && warned.add(i + "@" + ms)) {
+                    Iris.warn("Object " + i + " has a large size (" + r + ") and may increase memory usage! (Object scaled up to " + Form.pc(ms, 2) + ")");
+                }
 
-        for (Map.Entry<IrisObjectScale, KList<String>> entry : scalars.entrySet()) {
-            double ms = entry.getKey().getMaximumScale();
-            for (String j : entry.getValue()) {
-                e.queue(() -> {
-                    try {
-                        BlockVector bv = sizeCache.computeIfAbsent(j, (k) -> {
-                            try {
-                                return IrisObject.sampleSize(getData().getObjectLoader().findFile(j));
-                            } catch (IOException ioException) {
-                                Iris.reportError(ioException);
-                                ioException.printStackTrace();
-                            }
-
-                            return null;
-                        });
-
-                        if (bv == null) {
-                            throw new RuntimeException();
-                        }
-
-                        if (Math.max(bv.getBlockX(), bv.getBlockZ()) > 128) {
-                            Iris.warn("Object " + j + " has a large size (" + bv + ") and may increase memory usage! (Object scaled up to " + Form.pc(ms, 2) + ")");
-                        }
-
-                        synchronized (xg) {
-                            xg.getAndSet((int) Math.max(Math.ceil(bv.getBlockX() * ms), xg.get()));
-                        }
-
-                        synchronized (zg) {
-                            zg.getAndSet((int) Math.max(Math.ceil(bv.getBlockZ() * ms), zg.get()));
-                        }
-                    } catch (Throwable ee) {
-                        Iris.reportError(ee);
-
-                    }
-                });
+                max = Math.max(max, r);
             }
         }
 
-        e.complete();
-        return Math.max(xg.get(), zg.get());
+        return max;
     }
 }
@@ -25,21 +25,27 @@ import com.volmit.iris.engine.framework.EngineAssignedModifier;
 import com.volmit.iris.engine.object.*;
 import com.volmit.iris.util.collection.KList;
 import com.volmit.iris.util.collection.KMap;
+import com.volmit.iris.util.context.ChunkCarveMask;
 import com.volmit.iris.util.context.ChunkContext;
 import com.volmit.iris.util.data.B;
 import com.volmit.iris.util.function.Consumer4;
 import com.volmit.iris.util.hunk.Hunk;
 import com.volmit.iris.util.mantle.Mantle;
 import com.volmit.iris.util.mantle.MantleChunk;
+import com.volmit.iris.util.mantle.MantleFlag;
 import com.volmit.iris.util.math.M;
 import com.volmit.iris.util.math.RNG;
 import com.volmit.iris.util.matter.MatterCavern;
+import com.volmit.iris.util.matter.MatterUpdate;
 import com.volmit.iris.util.matter.slices.MarkerMatter;
+import com.volmit.iris.util.matter.slices.UpdateMatter;
 import com.volmit.iris.util.scheduling.PrecisionStopwatch;
 import lombok.Data;
 import org.bukkit.Material;
 import org.bukkit.block.data.BlockData;
 
+import java.util.Arrays;
+
 public class IrisCarveModifier extends EngineAssignedModifier<BlockData> {
     private final RNG rng;
     private final BlockData AIR = Material.CAVE_AIR.createBlockData();
@@ -57,7 +63,8 @@ public class IrisCarveModifier extends EngineAssignedModifier<BlockData> {
     public void onModify(int x, int z, Hunk<BlockData> output, boolean multicore, ChunkContext context) {
         PrecisionStopwatch p = PrecisionStopwatch.start();
         Mantle mantle = getEngine().getMantle().getMantle();
-        MantleChunk mc = getEngine().getMantle().getMantle().getChunk(x, z).use();
+        MantleChunk mc = mantle.getChunk(x, z).use();
+        ChunkCarveMask carved = context.getCarved(mantle);
         KMap<Long, KList<Integer>> positions = new KMap<>();
         KMap<IrisPosition, MatterCavern> walls = new KMap<>();
         Consumer4<Integer, Integer, Integer, MatterCavern> iterator = (xx, yy, zz, c) -> {
@@ -82,19 +89,19 @@ public class IrisCarveModifier extends EngineAssignedModifier<BlockData> {
 
             //todo: Fix chunk decoration not working on chunk's border
 
-            if (rz < 15 && mantle.get(xx, yy, zz + 1, MatterCavern.class) == null) {
+            if (rz < 15 && !carved.isCarved(rx, yy, rz + 1)) {
                 walls.put(new IrisPosition(rx, yy, rz + 1), c);
             }
 
-            if (rx < 15 && mantle.get(xx + 1, yy, zz, MatterCavern.class) == null) {
+            if (rx < 15 && !carved.isCarved(rx + 1, yy, rz)) {
                 walls.put(new IrisPosition(rx + 1, yy, rz), c);
             }
 
-            if (rz > 0 && mantle.get(xx, yy, zz - 1, MatterCavern.class) == null) {
+            if (rz > 0 && !carved.isCarved(rx, yy, rz - 1)) {
                 walls.put(new IrisPosition(rx, yy, rz - 1), c);
             }
 
-            if (rx > 0 && mantle.get(xx - 1, yy, zz, MatterCavern.class) == null) {
+            if (rx > 0 && !carved.isCarved(rx - 1, yy, rz)) {
                 walls.put(new IrisPosition(rx - 1, yy, rz), c);
             }
 
@@ -165,10 +172,54 @@ public class IrisCarveModifier extends EngineAssignedModifier<BlockData> {
             }
         });
 
+        markFluidUpdates(output, mc, mantle, carved, x, z);
         getEngine().getMetrics().getDeposit().put(p.getMilliseconds());
         mc.release();
     }
 
+    /**
+     * Store the highest carved fluid of each column which flows into air as a block update,
+     * so the post load update does not have to scan the caves on the main thread
+     */
+    private void markFluidUpdates(Hunk<BlockData> output, MantleChunk mc, Mantle mantle, ChunkCarveMask carved, int x, int z) {
+        int[] top = new int[256];
+        Arrays.fill(top, -1);
+        carved.forEach((rx, yy, rz) -> {
+            if (!B.isFluid(output.get(rx, yy, rz))) {
+                return;
+            }
+
+            if (isOpen(output, mantle, x, z, rx, yy - 1, rz)
+                    || isOpen(output, mantle, x, z, rx - 1, yy, rz)
+                    || isOpen(output, mantle, x, z, rx + 1, yy, rz)
+                    || isOpen(output, mantle, x, z, rx, yy, rz + 1)
+                    || isOpen(output, mantle, x, z, rx, yy, rz - 1)) {
+                top[(rz << 4) | rx] = yy;
+            }
+        });
+
+        for (int i = 0; i < top.length; i++) {
+            if (top[i] >= 0) {
+                mc.getOrCreate(top[i] >> 4).slice(MatterUpdate.class).set(i & 15, top[i] & 15, i >> 4, UpdateMatter.ON);
+            }
+        }
+
+        mc.flag(MantleFlag.FLUID_UPDATES, true);
+    }
+
+    private boolean isOpen(Hunk<BlockData> output, Mantle mantle, int x, int z, int rx, int y, int rz) {
+        if (y < 0) {
+            return false;
+        }
+
+        if (rx >= 0 && rx < 16 && rz >= 0 && rz < 16) {
+            return B.isAir(output.get(rx, y, rz));
+        }
+
+        MatterCavern c = mantle.get((x << 4) + rx, y, (z << 4) + rz, MatterCavern.class);
+        return c != null && c.isAir();
+    }
+
     private void processZone(Hunk<BlockData> output, MantleChunk mc, Mantle mantle, CaveZone zone, int rx, int rz, int xx, int zz) {
         boolean decFloor = B.isSolid(output.getClosest(rx, zone.floor - 1, rz));
         boolean decCeiling = B.isSolid(output.getClosest(rx, zone.ceiling + 1, rz));
@@ -21,6 +21,7 @@ package com.volmit.iris.engine.modifier;
 import com.volmit.iris.engine.framework.Engine;
 import com.volmit.iris.engine.framework.EngineAssignedModifier;
 import com.volmit.iris.engine.object.*;
+import com.volmit.iris.util.context.ChunkCarveMask;
 import com.volmit.iris.util.context.ChunkContext;
 import com.volmit.iris.util.data.B;
 import com.volmit.iris.util.data.HeightMap;
@@ -29,7 +30,6 @@ import com.volmit.iris.util.math.RNG;
 import com.volmit.iris.util.parallel.BurstExecutor;
 import com.volmit.iris.util.scheduling.PrecisionStopwatch;
 import org.bukkit.block.data.BlockData;
-import org.bukkit.util.BlockVector;
 
 public class IrisDepositModifier extends EngineAssignedModifier<BlockData> {
     private final RNG rng;
@@ -110,17 +110,20 @@ public class IrisDepositModifier extends EngineAssignedModifier<BlockData> {
             if (y > k.getMaxHeight() || y < k.getMinHeight() || y > height - 2)
                 continue;
 
-            for (BlockVector j : clump.getBlocks().keySet()) {
-                int nx = j.getBlockX() + x;
-                int ny = j.getBlockY() + y;
-                int nz = j.getBlockZ() + z;
+            PackedObjectBlocks blocks = clump.getCompactBlocks();
+            ChunkCarveMask carved = context.getCarved(getEngine().getMantle().getMantle());
+
+            for (int j = 0; j < blocks.size(); j++) {
+                int nx = blocks.x(j) + x;
+                int ny = blocks.y(j) + y;
+                int nz = blocks.z(j) + z;
 
                 if (ny > height || nx > 15 || nx < 0 || ny > getEngine().getHeight() || ny < 0 || nz < 0 || nz > 15) {
                     continue;
                 }
 
-                if (!getEngine().getMantle().isCarved((cx << 4) + nx, ny, (cz << 4) + nz)) {
-                    data.set(nx, ny, nz, B.toDeepSlateOre(data.get(nx, ny, nz), clump.getBlocks().get(j)));
+                if (!carved.isCarved(nx, ny, nz)) {
+                    data.set(nx, ny, nz, B.toDeepSlateOre(data.get(nx, ny, nz), blocks.data(j)));
                 }
             }
         }
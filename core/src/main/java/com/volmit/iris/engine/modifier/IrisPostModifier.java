@@ -225,11 +225,7 @@ public class IrisPostModifier extends EngineAssignedModifier<BlockData> {
 
         if (B.isVineBlock(b) && b instanceof MultipleFacing f) {
             int finalH = h + 1;
-
-            f.getAllowedFaces().forEach(face -> {
-                BlockData d = getPostBlock(x + face.getModX(), finalH + face.getModY(), z + face.getModZ(), currentPostX, currentPostZ, currentData);
-                f.setFace(face, !B.isAir(d) && !B.isVineBlock(d));
-            });
+            b = B.attachFaces(f, face -> getPostBlock(x + face.getModX(), finalH + face.getModY(), z + face.getModZ(), currentPostX, currentPostZ, currentData));
             setPostBlock(x, h + 1, z, b, currentPostX, currentPostZ, currentData);
         }
 
@@ -47,6 +47,7 @@ import org.bukkit.block.Biome;
 import org.bukkit.block.data.BlockData;
 
 import java.awt.*;
+import java.util.BitSet;
 
 @Accessors(chain = true)
 @NoArgsConstructor
@@ -57,6 +58,7 @@ import java.awt.*;
 public class IrisBiome extends IrisRegistrant implements IRare {
     private static final BlockData BARRIER = Material.BARRIER.createBlockData();
     private final transient AtomicCache<KMap<String, IrisBiomeGeneratorLink>> genCache = new AtomicCache<>();
+    private final transient AtomicCache<BitSet> oreHeightsCache = new AtomicCache<>();
     private final transient AtomicCache<KMap<String, Integer>> genCacheMax = new AtomicCache<>();
     private final transient AtomicCache<KMap<String, Integer>> genCacheMin = new AtomicCache<>();
     private final transient AtomicCache<KList<IrisObjectPlacement>> surfaceObjectsCache = new AtomicCache<>();
@@ -186,6 +188,13 @@ public class IrisBiome extends IrisRegistrant implements IRare {
         return null;
     }
 
+    /**
+     * @return the heights at which {@link #generateOres(int, int, int, RNG, IrisData)} can produce anything at all
+     */
+    public BitSet getOreHeights() {
+        return oreHeightsCache.aquire(() -> IrisOreGenerator.heights(ores));
+    }
+
     public Biome getVanillaDerivative() {
         return vanillaDerivative == null ? derivative : vanillaDerivative;
     }
@@ -318,7 +327,7 @@ public class IrisBiome extends IrisRegistrant implements IRare {
             IrisSlopeClip sc = getLayers().get(i).getSlopeCondition();
 
             if (!sc.isDefault()) {
-                if (!sc.isValid(complex.getSlopeStream().get(wx, wz))) {
+                if (!sc.isValid(complex.getSlopeStream().getDouble(wx, wz))) {
                     d = 0;
                 }
             }
@@ -419,7 +428,7 @@ public class IrisBiome extends IrisRegistrant implements IRare {
             IrisSlopeClip sc = getLayers().get(i).getSlopeCondition();
 
             if (!sc.isDefault()) {
-                if (!sc.isValid(complex.getSlopeStream().get(wx, wz))) {
+                if (!sc.isValid(complex.getSlopeStream().getDouble(wx, wz))) {
                     d = 0;
                 }
             }
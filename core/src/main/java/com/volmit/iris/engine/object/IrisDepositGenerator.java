@@ -111,6 +111,7 @@ public class IrisDepositGenerator {
         if (s == 1) {
             IrisObject o = new IrisObject(1, 1, 1);
             o.getBlocks().put(o.getCenter(), nextBlock(rngv, rdata));
+            o.compact();
             return o;
         }
 
@@ -134,6 +135,7 @@ public class IrisDepositGenerator {
                     z++;
                 }
             }
+            o.compact();
             return o;
         }
 
@@ -150,6 +152,7 @@ public class IrisDepositGenerator {
             o.setUnsigned(ang.getX(), ang.getY(), ang.getZ(), nextBlock(rngv, rdata));
         }
 
+        o.compact();
         return o;
     }
 
@@ -47,6 +47,7 @@ import org.bukkit.block.data.BlockData;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.BitSet;
 
 @Accessors(chain = true)
 @AllArgsConstructor
@@ -58,6 +59,7 @@ public class IrisDimension extends IrisRegistrant {
     public static final BlockData STONE = Material.STONE.createBlockData();
     public static final BlockData WATER = Material.WATER.createBlockData();
     private final transient AtomicCache<Position2> parallaxSize = new AtomicCache<>();
+    private final transient AtomicCache<BitSet> oreHeightsCache = new AtomicCache<>();
     private final transient AtomicCache<CNG> rockLayerGenerator = new AtomicCache<>();
     private final transient AtomicCache<CNG> fluidLayerGenerator = new AtomicCache<>();
     private final transient AtomicCache<CNG> coordFracture = new AtomicCache<>();
@@ -268,6 +270,13 @@ public class IrisDimension extends IrisRegistrant {
         return null;
     }
 
+    /**
+     * @return the heights at which {@link #generateOres(int, int, int, RNG, IrisData)} can produce anything at all
+     */
+    public BitSet getOreHeights() {
+        return oreHeightsCache.aquire(() -> IrisOreGenerator.heights(ores));
+    }
+
     public KList<Position2> getStrongholds(long seed) {
         return strongholdsCache.aquire(() -> {
             KList<Position2> pos = new KList<>();
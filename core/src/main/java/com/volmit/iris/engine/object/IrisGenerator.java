@@ -33,6 +33,7 @@ import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.experimental.Accessors;
 
+import java.util.Arrays;
 import java.util.List;
 
 @Accessors(chain = true)
@@ -243,6 +244,65 @@ public class IrisGenerator extends IrisRegistrant {
         return v;
     }
 
+    /**
+     * Bulk form of {@link #getHeight(double, double, long)} over the grid spanned by xs and zs,
+     * written to out[(j * xs.length) + i]. Each composite fills the whole grid in one pass.
+     */
+    public void fill(double[] out, double[] xs, double[] zs, long superSeed) {
+        int w = xs.length;
+        int size = w * zs.length;
+
+        if (composite.isEmpty()) {
+            Arrays.fill(out, 0, size, 0D);
+            return;
+        }
+
+        int hc = (int) ((cliffHeightMin * 10) + 10 + cliffHeightMax * getSeed() + offsetX + offsetZ);
+        double[] cx = new double[w];
+        double[] cz = new double[zs.length];
+        double[] n = new double[size];
+        double tp = 0;
+
+        for (int i = 0; i < w; i++) {
+            cx[i] = (xs[i] + offsetX) / zoom;
+        }
+
+        for (int i = 0; i < zs.length; i++) {
+            cz[i] = (zs[i] + offsetZ) / zoom;
+        }
+
+        Arrays.fill(out, 0, size, multiplicitive ? 1D : 0D);
+        for (IrisNoiseGenerator i : composite) {
+            i.fill(n, getSeed() + superSeed + hc, cx, cz, getLoader());
+
+            if (multiplicitive) {
+                for (int k = 0; k < size; k++) {
+                    out[k] *= n[k];
+                }
+            } else {
+                tp += i.getOpacity();
+                for (int k = 0; k < size; k++) {
+                    out[k] += n[k];
+                }
+            }
+        }
+
+        for (int j = 0; j < zs.length; j++) {
+            for (int i = 0; i < w; i++) {
+                int k = (j * w) + i;
+                double v = multiplicitive ? out[k] * opacity : (out[k] / tp) * opacity;
+
+                if (Double.isNaN(v)) {
+                    v = 0;
+                }
+
+                v = hasCliffs() ? cliff(xs[i], zs[j], v, superSeed + 294596 + hc) : v;
+                v = hasCellCracks() ? cell(xs[i], zs[j], v, superSeed + 48622 + hc) : v;
+                out[k] = v;
+            }
+        }
+    }
+
     public double cell(double rx, double rz, double v, double superSeed) {
         getCellGenerator(getSeed() + 46222).setShuffle(getCellFractureShuffle());
         return getCellGenerator(getSeed() + 46222).getDistance(rx / getCellFractureZoom(), rz / getCellFractureZoom()) > getCellPercentSize() ? (v * getCellFractureHeight()) : v;
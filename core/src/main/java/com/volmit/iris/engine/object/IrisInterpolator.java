@@ -71,4 +71,8 @@ public class IrisInterpolator {
     public double interpolate(int x, int z, NoiseProvider provider) {
         return IrisInterpolation.getNoise(getFunction(), x, z, getHorizontalScale(), provider);
     }
+
+    public double interpolateDirect(int x, int z, NoiseProvider provider) {
+        return IrisInterpolation.getNoiseDirect(getFunction(), x, z, getHorizontalScale(), provider);
+    }
 }
@@ -20,6 +20,7 @@ package com.volmit.iris.engine.object;
 
 import com.volmit.iris.Iris;
 import com.volmit.iris.core.loader.IrisRegistrant;
+import com.volmit.iris.core.loader.ObjectMetaIndex;
 import com.volmit.iris.engine.data.cache.AtomicCache;
 import com.volmit.iris.engine.object.annotations.ArrayType;
 import com.volmit.iris.engine.object.annotations.Desc;
@@ -33,9 +34,6 @@ import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.experimental.Accessors;
-import org.bukkit.util.BlockVector;
-
-import java.io.IOException;
 
 @Accessors(chain = true)
 @NoArgsConstructor
@@ -63,29 +61,27 @@ public class IrisJigsawPiece extends IrisRegistrant {
 
     public int getMax2dDimension() {
         return max2dDim.aquire(() -> {
-            try {
-                BlockVector v = IrisObject.sampleSize(getLoader().getObjectLoader().findFile(getObject()));
-                return Math.max(v.getBlockX(), v.getBlockZ());
-            } catch (IOException e) {
-                Iris.reportError(e);
-                e.printStackTrace();
+            ObjectMetaIndex.Entry e = getLoader().getObjectLoader().getMeta(getObject());
+
+            if (e == null) {
+                Iris.warn("Couldn't find Object: " + getObject());
+                return 0;
             }
 
-            return 0;
+            return e.getMax2dDimension();
         });
     }
 
     public int getMax3dDimension() {
         return max3dDim.aquire(() -> {
-            try {
-                BlockVector v = IrisObject.sampleSize(getLoader().getObjectLoader().findFile(getObject()));
-                return Math.max(Math.max(v.getBlockX(), v.getBlockZ()), v.getBlockY());
-            } catch (IOException e) {
-                Iris.reportError(e);
-                e.printStackTrace();
+            ObjectMetaIndex.Entry e = getLoader().getObjectLoader().getMeta(getObject());
+
+            if (e == null) {
+                Iris.warn("Couldn't find Object: " + getObject());
+                return -1;
             }
 
-            return -1;
+            return e.getMax3dDimension();
         });
     }
 
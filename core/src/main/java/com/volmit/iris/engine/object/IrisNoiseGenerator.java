@@ -30,6 +30,8 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.experimental.Accessors;
 
+import java.util.Arrays;
+
 @Snippet("generator")
 @Accessors(chain = true)
 @NoArgsConstructor
@@ -106,7 +108,53 @@ public class IrisNoiseGenerator {
             g += 819;
         }
 
-        double n = getGenerator(superSeed, data).fitDouble(0, opacity, (x / zoom) + offsetX, (z / zoom) + offsetZ);
+        return shape(getGenerator(superSeed, data).fitDouble(0, opacity, (x / zoom) + offsetX, (z / zoom) + offsetZ));
+    }
+
+    /**
+     * Bulk form of {@link #getNoise(long, double, double, IrisData)} over the grid spanned by xs and zs,
+     * written to out[(j * xs.length) + i]. Generators with enabled fractures are sampled point by point.
+     */
+    public void fill(double[] out, long superSeed, double[] xs, double[] zs, IrisData data) {
+        int w = xs.length;
+        int size = w * zs.length;
+
+        if (!enabled) {
+            Arrays.fill(out, 0, size, offsetY);
+            return;
+        }
+
+        for (IrisNoiseGenerator i : fracture) {
+            if (i.isEnabled()) {
+                for (int z = 0; z < zs.length; z++) {
+                    for (int x = 0; x < w; x++) {
+                        out[(z * w) + x] = getNoise(superSeed, xs[x], zs[z], data);
+                    }
+                }
+
+                return;
+            }
+        }
+
+        double[] cx = new double[w];
+        double[] cz = new double[zs.length];
+
+        for (int i = 0; i < w; i++) {
+            cx[i] = (xs[i] / zoom) + offsetX;
+        }
+
+        for (int i = 0; i < zs.length; i++) {
+            cz[i] = (zs[i] / zoom) + offsetZ;
+        }
+
+        getGenerator(superSeed, data).fill(out, cx, cz);
+
+        for (int i = 0; i < size; i++) {
+            out[i] = shape(opacity == 0 ? 0 : IrisInterpolation.lerp(0, opacity, out[i]));
+        }
+    }
+
+    private double shape(double n) {
         n = negative ? (-n + opacity) : n;
         n = (exponent != 1 ? n < 0 ? -Math.pow(-n, exponent) : Math.pow(n, exponent) : n) + offsetY;
         n = parametric ? IrisInterpolation.parametric(n, 1) : n;
@@ -86,6 +86,8 @@ public class IrisObject extends IrisRegistrant {
     protected transient AtomicCache<AxisAlignedBB> aabb = new AtomicCache<>();
     private KMap<BlockVector, BlockData> blocks;
     private KMap<BlockVector, TileData> states;
+    private volatile PackedObjectBlocks packed;
+    private volatile PackedObjectBlocks snapshot;
     @Getter
     @Setter
     private int w;
@@ -272,6 +274,7 @@ public class IrisObject extends IrisRegistrant {
         }
 
         burst.complete();
+        compact();
         smartBored = true;
         lock.unlock();
         Iris.debug("Smart Bore: " + getLoadKey() + " in " + Form.duration(p.getMilliseconds(), 2) + " (" + Form.f(applied.get()) + ")");
@@ -283,13 +286,17 @@ public class IrisObject extends IrisRegistrant {
         o.setLoader(getLoader());
         o.setLoadFile(getLoadFile());
         o.setCenter(getCenter().clone());
+        PackedObjectBlocks view = getCompactBlocks();
 
-        for (BlockVector i : getBlocks().keySet()) {
-            o.getBlocks().put(i.clone(), Objects.requireNonNull(getBlocks().get(i)).clone());
-        }
+        for (int n = 0; n < view.size(); n++) {
+            int i = view.ordered(n);
+            BlockVector v = view.position(i);
+            o.getBlocks().put(v, view.data(i).clone());
+            TileData tile = view.tile(i);
 
-        for (BlockVector i : getStates().keySet()) {
-            o.getStates().put(i.clone(), Objects.requireNonNull(getStates().get(i)).clone());
+            if (tile != null) {
+                o.getStates().put(v.clone(), tile.clone());
+            }
         }
 
         return o;
@@ -330,16 +337,16 @@ public class IrisObject extends IrisRegistrant {
         center = new BlockVector(w / 2, h / 2, d / 2);
         int s = din.readShort();
         int i;
-        KList<String> palette = new KList<>();
+        BlockData[] palette = new BlockData[s];
 
         for (i = 0; i < s; i++) {
-            palette.add(din.readUTF());
+            palette[i] = B.get(din.readUTF());
         }
 
         s = din.readInt();
 
         for (i = 0; i < s; i++) {
-            getBlocks().put(new BlockVector(din.readShort(), din.readShort(), din.readShort()), B.get(palette.get(din.readShort())));
+            getBlocks().put(new BlockVector(din.readShort(), din.readShort(), din.readShort()), palette[din.readShort()]);
         }
 
         s = din.readInt();
@@ -355,10 +362,12 @@ public class IrisObject extends IrisRegistrant {
         dos.writeInt(h);
         dos.writeInt(d);
         dos.writeUTF("Iris V2 IOB;");
+        PackedObjectBlocks view = getCompactBlocks();
         KList<String> palette = new KList<>();
 
-        for (BlockData i : getBlocks().values()) {
-            palette.addIfMissing(i.getAsString());
+        for (int n = 0; n < view.size(); n++) {
+            int i = view.ordered(n);
+            palette.addIfMissing(view.data(i).getAsString());
         }
 
         dos.writeShort(palette.size());
@@ -367,29 +376,49 @@ public class IrisObject extends IrisRegistrant {
             dos.writeUTF(i);
         }
 
-        dos.writeInt(getBlocks().size());
+        dos.writeInt(view.size());
 
-        for (BlockVector i : getBlocks().keySet()) {
-            dos.writeShort(i.getBlockX());
-            dos.writeShort(i.getBlockY());
-            dos.writeShort(i.getBlockZ());
-            dos.writeShort(palette.indexOf(getBlocks().get(i).getAsString()));
+        for (int n = 0; n < view.size(); n++) {
+            int i = view.ordered(n);
+            dos.writeShort(view.x(i));
+            dos.writeShort(view.y(i));
+            dos.writeShort(view.z(i));
+            dos.writeShort(palette.indexOf(view.data(i).getAsString()));
         }
 
-        dos.writeInt(getStates().size());
-        for (BlockVector i : getStates().keySet()) {
-            dos.writeShort(i.getBlockX());
-            dos.writeShort(i.getBlockY());
-            dos.writeShort(i.getBlockZ());
-            getStates().get(i).toBinary(dos);
+        writeTiles(dos, view);
+    }
+
+    private void writeTiles(DataOutputStream dos, PackedObjectBlocks view) throws IOException {
+        int tiles = 0;
+
+        for (int n = 0; n < view.size(); n++) {
+            int i = view.ordered(n);
+            if (view.tile(i) != null) {
+                tiles++;
+            }
+        }
+
+        dos.writeInt(tiles);
+        for (int n = 0; n < view.size(); n++) {
+            int i = view.ordered(n);
+            TileData tile = view.tile(i);
+
+            if (tile != null) {
+                dos.writeShort(view.x(i));
+                dos.writeShort(view.y(i));
+                dos.writeShort(view.z(i));
+                tile.toBinary(dos);
+            }
         }
     }
 
     public void write(OutputStream o, VolmitSender sender) throws IOException {
         AtomicReference<IOException> ref = new AtomicReference<>();
         CountDownLatch latch = new CountDownLatch(1);
+        PackedObjectBlocks view = getCompactBlocks();
         new Job() {
-            private int total = getBlocks().size() * 3 + getStates().size();
+            private int total = view.size() * 3;
             private int c = 0;
 
             @Override
@@ -408,11 +437,12 @@ public class IrisObject extends IrisRegistrant {
 
                     KList<String> palette = new KList<>();
 
-                    for (BlockData i : getBlocks().values()) {
-                        palette.addIfMissing(i.getAsString());
+                    for (int n = 0; n < view.size(); n++) {
+                        int i = view.ordered(n);
+                        palette.addIfMissing(view.data(i).getAsString());
                         ++c;
                     }
-                    total -= getBlocks().size() - palette.size();
+                    total -= view.size() - palette.size();
 
                     dos.writeShort(palette.size());
 
@@ -421,24 +451,18 @@ public class IrisObject extends IrisRegistrant {
                         ++c;
                     }
 
-                    dos.writeInt(getBlocks().size());
+                    dos.writeInt(view.size());
 
-                    for (BlockVector i : getBlocks().keySet()) {
-                        dos.writeShort(i.getBlockX());
-                        dos.writeShort(i.getBlockY());
-                        dos.writeShort(i.getBlockZ());
-                        dos.writeShort(palette.indexOf(getBlocks().get(i).getAsString()));
+                    for (int n = 0; n < view.size(); n++) {
+                        int i = view.ordered(n);
+                        dos.writeShort(view.x(i));
+                        dos.writeShort(view.y(i));
+                        dos.writeShort(view.z(i));
+                        dos.writeShort(palette.indexOf(view.data(i).getAsString()));
                         ++c;
                     }
 
-                    dos.writeInt(getStates().size());
-                    for (BlockVector i : getStates().keySet()) {
-                        dos.writeShort(i.getBlockX());
-                        dos.writeShort(i.getBlockY());
-                        dos.writeShort(i.getBlockZ());
-                        getStates().get(i).toBinary(dos);
-                        ++c;
-                    }
+                    writeTiles(dos, view);
                 } catch (IOException e) {
                     ref.set(e);
                 } finally {
@@ -504,14 +528,15 @@ public class IrisObject extends IrisRegistrant {
     public void shrinkwrap() {
         BlockVector min = new BlockVector();
         BlockVector max = new BlockVector();
-
-        for (BlockVector i : getBlocks().keySet()) {
-            min.setX(Math.min(min.getX(), i.getX()));
-            min.setY(Math.min(min.getY(), i.getY()));
-            min.setZ(Math.min(min.getZ(), i.getZ()));
-            max.setX(Math.max(max.getX(), i.getX()));
-            max.setY(Math.max(max.getY(), i.getY()));
-            max.setZ(Math.max(max.getZ(), i.getZ()));
+        PackedObjectBlocks view = getCompactBlocks();
+
+        for (int i = 0; i < view.size(); i++) {
+            min.setX(Math.min(min.getX(), view.x(i)));
+            min.setY(Math.min(min.getY(), view.y(i)));
+            min.setZ(Math.min(min.getZ(), view.z(i)));
+            max.setX(Math.max(max.getX(), view.x(i)));
+            max.setY(Math.max(max.getY(), view.y(i)));
+            max.setZ(Math.max(max.getZ(), view.z(i)));
         }
 
         w = max.getBlockX() - min.getBlockX() + (min.getBlockX() <= 0 && max.getBlockX() >= 0 && min.getBlockX() != max.getBlockX() ? 1 : 0);
@@ -599,7 +624,7 @@ public class IrisObject extends IrisRegistrant {
         if (rdata != null) {
             // Slope condition
             if (!config.getSlopeCondition().isDefault() &&
-                    !config.getSlopeCondition().isValid(rdata.getEngine().getComplex().getSlopeStream().get(x, z)) && !config.isForcePlace()) {
+                    !config.getSlopeCondition().isValid(rdata.getEngine().getComplex().getSlopeStream().getDouble(x, z)) && !config.isForcePlace()) {
                 return -1;
             }
 
@@ -864,7 +889,8 @@ public class IrisObject extends IrisRegistrant {
         y += yrand;
         readLock.lock();
 
-        KMap<BlockVector, String> markers = null;
+        PackedObjectBlocks view = getCompactBlocks();
+        KMap<Integer, String> markers = null;
 
         try {
             if (config.getMarkers().isNotEmpty() && placer.getEngine() != null) {
@@ -878,12 +904,18 @@ public class IrisObject extends IrisRegistrant {
 
                     int max = j.getMaximumMarkers();
 
-                    for (BlockVector i : getBlocks().k().shuffle()) {
+                    KList<Integer> order = new KList<>(view.size());
+
+                    for (int i = 0; i < view.size(); i++) {
+                        order.add(view.ordered(i));
+                    }
+
+                    for (int i : order.shuffle()) {
                         if (max <= 0) {
                             break;
                         }
 
-                        BlockData data = getBlocks().get(i);
+                        BlockData data = view.data(i);
 
                         for (BlockData k : j.getMark(rdata)) {
                             if (max <= 0) {
@@ -891,8 +923,8 @@ public class IrisObject extends IrisRegistrant {
                             }
 
                             if (j.isExact() ? k.matches(data) : k.getMaterial().equals(data.getMaterial())) {
-                                boolean a = !blocks.containsKey(new BlockVector(i.clone().add(new BlockVector(0, 1, 0))));
-                                boolean fff = !blocks.containsKey(new BlockVector(i.clone().add(new BlockVector(0, 2, 0))));
+                                boolean a = !view.contains(view.x(i), view.y(i) + 1, view.z(i));
+                                boolean fff = !view.contains(view.x(i), view.y(i) + 2, view.z(i));
 
                                 if (!marker.isEmptyAbove() || (a && fff)) {
                                     markers.put(i, j.getMarker());
@@ -904,25 +936,17 @@ public class IrisObject extends IrisRegistrant {
                 }
             }
 
-            for (BlockVector g : getBlocks().keySet()) {
-                BlockData d;
-                TileData tile = null;
-
-                try {
-                    d = getBlocks().get(g);
-                    tile = getStates().get(g);
-                } catch (Throwable e) {
-                    Iris.reportError(e);
-                    Iris.warn("Failed to read block node " + g.getBlockX() + "," + g.getBlockY() + "," + g.getBlockZ() + " in object " + getLoadKey() + " (cme)");
-                    d = AIR;
-                }
+            for (int n = 0; n < view.size(); n++) {
+                int g = view.ordered(n);
+                BlockData d = view.data(g);
+                TileData tile = view.tile(g);
 
                 if (d == null) {
-                    Iris.warn("Failed to read block node " + g.getBlockX() + "," + g.getBlockY() + "," + g.getBlockZ() + " in object " + getLoadKey() + " (null)");
+                    Iris.warn("Failed to read block node " + view.x(g) + "," + view.y(g) + "," + view.z(g) + " in object " + getLoadKey() + " (null)");
                     d = AIR;
                 }
 
-                BlockVector i = g.clone();
+                BlockVector i = view.position(g);
                 BlockData data = d.clone();
                 i = config.getRotation().rotate(i.clone(), spinx, spiny, spinz).clone();
                 i = config.getTranslate().translate(i.clone(), config.getRotation(), spinx, spiny, spinz).clone();
@@ -1028,27 +1052,24 @@ public class IrisObject extends IrisRegistrant {
         if (stilting) {
             readLock.lock();
             IrisStiltSettings settings = config.getStiltSettings();
-            for (BlockVector g : getBlocks().keySet()) {
+            for (int n = 0; n < view.size(); n++) {
+                int g = view.ordered(n);
                 BlockData d;
 
                 if (settings == null || settings.getPalette() == null) {
-                    try {
-                        d = getBlocks().get(g);
-                    } catch (Throwable e) {
-                        Iris.reportError(e);
-                        Iris.warn("Failed to read block node " + g.getBlockX() + "," + g.getBlockY() + "," + g.getBlockZ() + " in object " + getLoadKey() + " (stilt cme)");
-                        d = AIR;
-                    }
+                    d = view.data(g);
 
                     if (d == null) {
-                        Iris.warn("Failed to read block node " + g.getBlockX() + "," + g.getBlockY() + "," + g.getBlockZ() + " in object " + getLoadKey() + " (stilt null)");
+                        Iris.warn("Failed to read block node " + view.x(g) + "," + view.y(g) + "," + view.z(g) + " in object " + getLoadKey() + " (stilt null)");
                         d = AIR;
                     }
+
+                    d = d.clone();
                 } else
                     d = config.getStiltSettings().getPalette().get(rng, x, y, z, rdata);
 
 
-                BlockVector i = g.clone();
+                BlockVector i = view.position(g);
                 i = config.getRotation().rotate(i.clone(), spinx, spiny, spinz).clone();
                 i = config.getTranslate().translate(i.clone(), config.getRotation(), spinx, spiny, spinz).clone();
                 d = config.getRotation().rotate(d, spinx, spiny, spinz);
@@ -1159,39 +1180,114 @@ public class IrisObject extends IrisRegistrant {
     }
 
     public void place(Location at) {
-        for (BlockVector i : getBlocks().keySet()) {
-            Block b = at.clone().add(0, getCenter().getY(), 0).add(i).getBlock();
-            b.setBlockData(Objects.requireNonNull(getBlocks().get(i)), false);
+        PackedObjectBlocks view = getCompactBlocks();
+
+        for (int n = 0; n < view.size(); n++) {
+            int i = view.ordered(n);
+            Block b = at.clone().add(0, getCenter().getY(), 0).add(view.position(i)).getBlock();
+            b.setBlockData(view.data(i), false);
+            TileData tile = view.tile(i);
 
-            if (getStates().containsKey(i)) {
-                Iris.info(Objects.requireNonNull(states.get(i)).toString());
-                Objects.requireNonNull(getStates().get(i)).toBukkitTry(b);
+            if (tile != null) {
+                Iris.info(tile.toString());
+                tile.toBukkitTry(b);
             }
         }
     }
 
     public void placeCenterY(Location at) {
-        for (BlockVector i : getBlocks().keySet()) {
-            Block b = at.clone().add(getCenter().getX(), getCenter().getY(), getCenter().getZ()).add(i).getBlock();
-            b.setBlockData(Objects.requireNonNull(getBlocks().get(i)), false);
+        PackedObjectBlocks view = getCompactBlocks();
+
+        for (int n = 0; n < view.size(); n++) {
+            int i = view.ordered(n);
+            Block b = at.clone().add(getCenter().getX(), getCenter().getY(), getCenter().getZ()).add(view.position(i)).getBlock();
+            b.setBlockData(view.data(i), false);
+            TileData tile = view.tile(i);
 
-            if (getStates().containsKey(i)) {
-                Objects.requireNonNull(getStates().get(i)).toBukkitTry(b);
+            if (tile != null) {
+                tile.toBukkitTry(b);
             }
         }
     }
 
+    /**
+     * Editable block map. A compacted object is expanded back into maps on first access and stays that way
+     * until {@link #compact()} is called again. Handing out the maps drops the cached read only snapshot.
+     */
     public synchronized KMap<BlockVector, BlockData> getBlocks() {
+        inflate();
+        snapshot = null;
         return blocks;
     }
 
     public synchronized KMap<BlockVector, TileData> getStates() {
+        inflate();
+        snapshot = null;
         return states;
     }
 
+    /**
+     * Read only view of the blocks and tiles which never expands a compacted object.
+     * For an object in edit mode this is a snapshot of the current maps, kept until the maps are requested again.
+     */
+    public PackedObjectBlocks getCompactBlocks() {
+        PackedObjectBlocks p = packed;
+
+        if (p == null) {
+            p = snapshot;
+        }
+
+        if (p != null) {
+            return p;
+        }
+
+        synchronized (this) {
+            if (packed != null) {
+                return packed;
+            }
+
+            if (snapshot == null) {
+                snapshot = PackedObjectBlocks.of(blocks, states);
+            }
+
+            return snapshot;
+        }
+    }
+
+    /**
+     * Moves the blocks and tiles into packed storage and drops the maps. Used for loaded objects which are only placed.
+     */
+    public synchronized void compact() {
+        if (packed != null) {
+            return;
+        }
+
+        packed = snapshot != null ? snapshot : PackedObjectBlocks.of(blocks, states);
+        snapshot = null;
+        blocks = null;
+        states = null;
+    }
+
+    public boolean isCompact() {
+        return packed != null;
+    }
+
+    private void inflate() {
+        PackedObjectBlocks p = packed;
+
+        if (p != null) {
+            blocks = p.toBlocks();
+            states = p.toStates();
+            packed = null;
+        }
+    }
+
     public void unplaceCenterY(Location at) {
-        for (BlockVector i : getBlocks().keySet()) {
-            at.clone().add(getCenter().getX(), getCenter().getY(), getCenter().getZ()).add(i).getBlock().setBlockData(AIR, false);
+        PackedObjectBlocks view = getCompactBlocks();
+
+        for (int n = 0; n < view.size(); n++) {
+            int i = view.ordered(n);
+            at.clone().add(getCenter().getX(), getCenter().getY(), getCenter().getZ()).add(view.position(i)).getBlock().setBlockData(AIR, false);
         }
     }
 
@@ -1219,10 +1315,12 @@ public class IrisObject extends IrisRegistrant {
 
         IrisObject oo = new IrisObject((int) Math.ceil((w * scale) + (scale * 2)), (int) Math.ceil((h * scale) + (scale * 2)), (int) Math.ceil((d * scale) + (scale * 2)));
 
-        for (Map.Entry<BlockVector, BlockData> entry : blocks.entrySet()) {
-            BlockData bd = entry.getValue();
-            placeBlock.put(entry.getKey().clone().add(HALF).subtract(center)
-                    .multiply(scale).add(sm1).toBlockVector(), bd);
+        PackedObjectBlocks view = getCompactBlocks();
+
+        for (int n = 0; n < view.size(); n++) {
+            int i = view.ordered(n);
+            placeBlock.put(view.position(i).add(HALF).subtract(center)
+                    .multiply(scale).add(sm1).toBlockVector(), view.data(i));
         }
 
         for (Map.Entry<BlockVector, BlockData> entry : placeBlock.entrySet()) {
@@ -1244,6 +1342,7 @@ public class IrisObject extends IrisRegistrant {
             }
         }
 
+        oo.compact();
         return oo;
     }
 
@@ -1348,7 +1447,7 @@ public class IrisObject extends IrisRegistrant {
 
         double d = Double.MAX_VALUE;
 
-        for (Map.Entry<BlockVector, BlockData> entry : blocks.entrySet()) {
+        for (Map.Entry<BlockVector, BlockData> entry : getBlocks().entrySet()) {
             BlockData dat = entry.getValue();
 
             if (dat.getMaterial().isAir()) {
@@ -1367,7 +1466,8 @@ public class IrisObject extends IrisRegistrant {
     }
 
     public int volume() {
-        return blocks.size();
+        PackedObjectBlocks p = packed;
+        return p != null ? p.size() : getBlocks().size();
     }
 
     @Override
@@ -21,6 +21,7 @@ package com.volmit.iris.engine.object;
 import com.volmit.iris.core.loader.IrisData;
 import com.volmit.iris.engine.data.cache.AtomicCache;
 import com.volmit.iris.engine.object.annotations.Desc;
+import com.volmit.iris.util.collection.KList;
 import com.volmit.iris.util.math.RNG;
 import com.volmit.iris.util.noise.CNG;
 import lombok.AllArgsConstructor;
@@ -29,12 +30,15 @@ import lombok.NoArgsConstructor;
 import lombok.experimental.Accessors;
 import org.bukkit.block.data.BlockData;
 
+import java.util.BitSet;
+
 @Accessors(chain = true)
 @NoArgsConstructor
 @AllArgsConstructor
 @Desc("Ore Layer")
 @Data
 public class IrisOreGenerator {
+    private static final int MAX_HEIGHT = 65535;
     @Desc("The palette of 'ore' generated")
     private IrisMaterialPalette palette = new IrisMaterialPalette().qclear();
     @Desc("The generator style for the 'ore'")
@@ -48,6 +52,29 @@ public class IrisOreGenerator {
 
     private transient AtomicCache<CNG> chanceCache = new AtomicCache<>();
 
+    /**
+     * Computes every height at which at least one of the given ores could generate.
+     * Heights outside of this set always yield null without touching noise or rng.
+     */
+    public static BitSet heights(KList<IrisOreGenerator> ores) {
+        BitSet heights = new BitSet();
+
+        for (IrisOreGenerator i : ores) {
+            if (i.getPalette().getPalette().isEmpty()) {
+                continue;
+            }
+
+            int min = (int) Math.max(0, Math.ceil(i.getRange().getMin()));
+            int max = (int) Math.min(MAX_HEIGHT, Math.floor(i.getRange().getMax()));
+
+            if (max >= min) {
+                heights.set(min, max + 1);
+            }
+        }
+
+        return heights;
+    }
+
     public BlockData generate(int x, int y, int z, RNG rng, IrisData data) {
         if (palette.getPalette().isEmpty()) {
             return null;
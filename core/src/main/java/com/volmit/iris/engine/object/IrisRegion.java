@@ -42,6 +42,7 @@ import lombok.experimental.Accessors;
 import org.bukkit.block.data.BlockData;
 
 import java.awt.*;
+import java.util.BitSet;
 import java.util.Random;
 
 
@@ -53,6 +54,7 @@ import java.util.Random;
 @EqualsAndHashCode(callSuper = false)
 public class IrisRegion extends IrisRegistrant implements IRare {
     private final transient AtomicCache<KList<IrisObjectPlacement>> surfaceObjectsCache = new AtomicCache<>();
+    private final transient AtomicCache<BitSet> oreHeightsCache = new AtomicCache<>();
     private final transient AtomicCache<KList<IrisObjectPlacement>> carveObjectsCache = new AtomicCache<>();
     private final transient AtomicCache<KList<String>> cacheRidge = new AtomicCache<>();
     private final transient AtomicCache<KList<String>> cacheSpot = new AtomicCache<>();
@@ -166,6 +168,13 @@ public class IrisRegion extends IrisRegistrant implements IRare {
         return null;
     }
 
+    /**
+     * @return the heights at which {@link #generateOres(int, int, int, RNG, IrisData)} can produce anything at all
+     */
+    public BitSet getOreHeights() {
+        return oreHeightsCache.aquire(() -> IrisOreGenerator.heights(ores));
+    }
+
     public String getName() {
         return name;
     }
@@ -0,0 +1,305 @@
+/*
+ * Iris is a World Generator for Minecraft Bukkit Servers
+ * Copyright (c) 2022 Arcane Arts (Volmit Software)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.volmit.iris.engine.object;
+
+import com.volmit.iris.util.collection.KMap;
+import com.volmit.iris.util.data.BlockStates;
+import org.bukkit.block.data.BlockData;
+import org.bukkit.util.BlockVector;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Immutable compact block storage for loaded objects.
+ * Positions are packed into ints relative to the minimum corner (y, then z, then x) and kept sorted,
+ * block states are short indices into a palette of interned {@link BlockStates} instances shared by all objects.
+ * Objects which do not fit into 32 position bits or 65536 palette entries keep plain arrays behind the same api.
+ * The order of the source map is kept in {@link #ordered(int)}, placing in that order keeps the rng sequence
+ * and therefore the output of existing worlds unchanged.
+ * Tile entries without a block at their position are dropped, they could never be placed.
+ */
+public final class PackedObjectBlocks {
+    private final int size;
+    private final int minX;
+    private final int minY;
+    private final int minZ;
+    private final int xBits;
+    private final int zBits;
+    private final int spanX;
+    private final int spanY;
+    private final int spanZ;
+    private final int[] keys;
+    private final short[] ids;
+    private final BlockData[] palette;
+    private final int[] placement;
+    private final BlockVector[] vectors;
+    private final BlockData[] data;
+    private final Map<BlockVector, Integer> index;
+    private final int[] tileSlots;
+    private final TileData[] tiles;
+
+    private PackedObjectBlocks(Map<BlockVector, BlockData> blocks, Map<BlockVector, TileData> states) {
+        size = blocks.size();
+        BlockVector[] v = new BlockVector[size];
+        BlockData[] b = new BlockData[size];
+        int maxX = Integer.MIN_VALUE, maxY = Integer.MIN_VALUE, maxZ = Integer.MIN_VALUE;
+        int mx = Integer.MAX_VALUE, my = Integer.MAX_VALUE, mz = Integer.MAX_VALUE;
+        int k = 0;
+
+        for (Map.Entry<BlockVector, BlockData> i : blocks.entrySet()) {
+            if (k >= size) {
+                break;
+            }
+
+            v[k] = i.getKey();
+            b[k++] = i.getValue();
+            mx = Math.min(mx, i.getKey().getBlockX());
+            my = Math.min(my, i.getKey().getBlockY());
+            mz = Math.min(mz, i.getKey().getBlockZ());
+            maxX = Math.max(maxX, i.getKey().getBlockX());
+            maxY = Math.max(maxY, i.getKey().getBlockY());
+            maxZ = Math.max(maxZ, i.getKey().getBlockZ());
+        }
+
+        minX = size == 0 ? 0 : mx;
+        minY = size == 0 ? 0 : my;
+        minZ = size == 0 ? 0 : mz;
+        spanX = size == 0 ? 0 : maxX - mx;
+        spanY = size == 0 ? 0 : maxY - my;
+        spanZ = size == 0 ? 0 : maxZ - mz;
+        xBits = bits(spanX);
+        zBits = bits(spanZ);
+
+        Map<BlockData, Integer> paletteIds = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            paletteIds.putIfAbsent(b[i], paletteIds.size());
+        }
+
+        if (xBits + zBits + bits(spanY) > 32 || paletteIds.size() > 65536) {
+            keys = null;
+            ids = null;
+            palette = null;
+            placement = null;
+            vectors = v;
+            data = b;
+            index = new HashMap<>();
+            for (int i = 0; i < size; i++) {
+                index.put(v[i], i);
+            }
+        } else {
+            long[] order = new long[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = (Integer.toUnsignedLong(pack(v[i].getBlockX(), v[i].getBlockY(), v[i].getBlockZ())) << 31) | i;
+            }
+
+            Arrays.sort(order);
+            keys = new int[size];
+            ids = new short[size];
+            palette = new BlockData[paletteIds.size()];
+            placement = new int[size];
+            paletteIds.forEach((data, id) -> palette[id] = BlockStates.canonical(data));
+
+            for (int i = 0; i < size; i++) {
+                int from = (int) (order[i] & Integer.MAX_VALUE);
+                placement[from] = i;
+                keys[i] = (int) (order[i] >>> 31);
+                ids[i] = (short) paletteIds.get(b[from]).intValue();
+            }
+
+            vectors = null;
+            data = null;
+            index = null;
+        }
+
+        int[] slots = new int[states.size()];
+        TileData[] t = new TileData[states.size()];
+        int c = 0;
+
+        for (Map.Entry<BlockVector, TileData> i : states.entrySet()) {
+            int slot = indexOf(i.getKey().getBlockX(), i.getKey().getBlockY(), i.getKey().getBlockZ());
+
+            if (slot >= 0 && c < slots.length) {
+                slots[c] = slot;
+                t[c++] = i.getValue();
+            }
+        }
+
+        long[] order = new long[c];
+        for (int i = 0; i < c; i++) {
+            order[i] = ((long) slots[i] << 31) | i;
+        }
+
+        Arrays.sort(order);
+        tileSlots = new int[c];
+        tiles = new TileData[c];
+
+        for (int i = 0; i < c; i++) {
+            tileSlots[i] = (int) (order[i] >>> 31);
+            tiles[i] = t[(int) (order[i] & Integer.MAX_VALUE)];
+        }
+    }
+
+    public static PackedObjectBlocks of(Map<BlockVector, BlockData> blocks, Map<BlockVector, TileData> states) {
+        return new PackedObjectBlocks(blocks, states);
+    }
+
+    private static int bits(int span) {
+        return 32 - Integer.numberOfLeadingZeros(span);
+    }
+
+    private int pack(int x, int y, int z) {
+        return ((y - minY) << (zBits + xBits)) | ((z - minZ) << xBits) | (x - minX);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @param i the position of a block in the iteration order of the map it was read from
+     * @return the index of that block
+     */
+    public int ordered(int i) {
+        return placement == null ? i : placement[i];
+    }
+
+    public int x(int i) {
+        return keys == null ? vectors[i].getBlockX() : minX + (keys[i] & ((1 << xBits) - 1));
+    }
+
+    public int y(int i) {
+        return keys == null ? vectors[i].getBlockY() : minY + (int) (Integer.toUnsignedLong(keys[i]) >>> (zBits + xBits));
+    }
+
+    public int z(int i) {
+        return keys == null ? vectors[i].getBlockZ() : minZ + ((keys[i] >>> xBits) & ((1 << zBits) - 1));
+    }
+
+    public BlockVector position(int i) {
+        return keys == null ? vectors[i].clone() : new BlockVector(x(i), y(i), z(i));
+    }
+
+    public BlockData data(int i) {
+        return keys == null ? data[i] : palette[ids[i] & 0xFFFF];
+    }
+
+    public TileData tile(int i) {
+        int t = Arrays.binarySearch(tileSlots, i);
+        return t >= 0 ? tiles[t] : null;
+    }
+
+    public int indexOf(int x, int y, int z) {
+        if (keys == null) {
+            Integer i = index.get(new BlockVector(x, y, z));
+            return i == null ? -1 : i;
+        }
+
+        if (x < minX || y < minY || z < minZ || x - minX > spanX || y - minY > spanY || z - minZ > spanZ) {
+            return -1;
+        }
+
+        int key = pack(x, y, z);
+        int lo = 0;
+        int hi = size - 1;
+
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            int c = Integer.compareUnsigned(keys[mid], key);
+
+            if (c < 0) {
+                lo = mid + 1;
+            } else if (c > 0) {
+                hi = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+
+        return -1;
+    }
+
+    public boolean contains(int x, int y, int z) {
+        return indexOf(x, y, z) >= 0;
+    }
+
+    public BlockData get(int x, int y, int z) {
+        int i = indexOf(x, y, z);
+        return i >= 0 ? data(i) : null;
+    }
+
+    public KMap<BlockVector, BlockData> toBlocks() {
+        KMap<BlockVector, BlockData> m = new KMap<>();
+
+        for (int i = 0; i < size; i++) {
+            int j = ordered(i);
+            m.put(position(j), data(j));
+        }
+
+        return m;
+    }
+
+    public KMap<BlockVector, TileData> toStates() {
+        KMap<BlockVector, TileData> m = new KMap<>();
+
+        for (int i = 0; i < tileSlots.length; i++) {
+            m.put(position(tileSlots[i]), tiles[i]);
+        }
+
+        return m;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+
+        if (!(o instanceof PackedObjectBlocks p) || p.size != size || p.tileSlots.length != tileSlots.length) {
+            return false;
+        }
+
+        for (int i = 0; i < size; i++) {
+            int j = p.indexOf(x(i), y(i), z(i));
+
+            if (j < 0 || !data(i).equals(p.data(j)) || !Objects.equals(tile(i), p.tile(j))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int h = size;
+
+        for (int i = 0; i < size; i++) {
+            h += (x(i) * 31 + y(i)) * 31 + z(i) ^ data(i).hashCode();
+        }
+
+        return h;
+    }
+}
@@ -104,7 +104,10 @@ public class BukkitChunkGenerator extends ChunkGenerator implements PlatformChun
         this.studio = studio;
         this.dataLocation = dataLocation;
         this.dimensionKey = dimensionKey;
-        this.folder = new ReactiveFolder(dataLocation, (_a, _b, _c) -> hotload());
+        this.folder = new ReactiveFolder(dataLocation, (created, changed, deleted) -> {
+            IrisData.get(dataLocation).updateIndexes(created, changed, deleted);
+            hotload();
+        });
         Bukkit.getServer().getPluginManager().registerEvents(this, Iris.instance);
     }
 
@@ -168,6 +171,7 @@ public class BukkitChunkGenerator extends ChunkGenerator implements PlatformChun
                 Iris.warn("Attempted to install into " + data.getDataFolder().getPath());
                 data.dump();
                 data.clearLists();
+                data.clearIndexes();
                 test = data.getDimensionLoader().load(dimensionKey);
 
                 if (test != null) {
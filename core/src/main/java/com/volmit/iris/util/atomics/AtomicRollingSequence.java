@@ -21,7 +21,12 @@ package com.volmit.iris.util.atomics;
 import com.volmit.iris.util.collection.KList;
 import com.volmit.iris.util.math.M;
 
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
 public class AtomicRollingSequence extends AtomicAverage {
+    private final DoubleAdder total = new DoubleAdder();
+    private final LongAdder count = new LongAdder();
     private double median;
     private double max;
     private double min;
@@ -97,8 +102,24 @@ public class AtomicRollingSequence extends AtomicAverage {
         dirtyExtremes = 0;
     }
 
+    /**
+     * @return the sum of every value ever put, not only the ones still in the sequence
+     */
+    public double getTotal() {
+        return total.sum();
+    }
+
+    /**
+     * @return the number of values ever put
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
     public void put(double i) {
         super.put(i);
+        total.add(i);
+        count.increment();
         dirtyMedian = true;
         dirtyExtremes++;
         max = M.max(max, i);
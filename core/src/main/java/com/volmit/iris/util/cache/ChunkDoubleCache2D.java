@@ -0,0 +1,63 @@
+package com.volmit.iris.util.cache;
+
+import com.volmit.iris.util.function.NoiseProvider;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+
+/**
+ * Primitive counterpart of {@link ChunkCache2D}. Values are stored as raw long bits,
+ * an unset slot holds a non-canonical NaN that {@link Double#doubleToLongBits(double)} never produces.
+ */
+public class ChunkDoubleCache2D {
+    private static final long EMPTY = 0x7ff8_dead_beef_0001L;
+    private final AtomicLongArray cache;
+
+    public ChunkDoubleCache2D() {
+        this.cache = new AtomicLongArray(256);
+
+        for (int i = 0; i < 256; i++) {
+            cache.setPlain(i, EMPTY);
+        }
+    }
+
+    public double get(int x, int z, NoiseProvider resolver) {
+        int key = ((z & 15) * 16) + (x & 15);
+        long t = cache.get(key);
+
+        if (t == EMPTY) {
+            double v = resolver.noise(x, z);
+            cache.set(key, Double.doubleToLongBits(v));
+            return v;
+        }
+
+        return Double.longBitsToDouble(t);
+    }
+
+    /**
+     * Copies the whole chunk into out[(z * 16) + x]. If any column is missing, the chunk is resolved in one pass.
+     */
+    public void fill(double[] out, Consumer<double[]> resolver) {
+        boolean missing = false;
+
+        for (int i = 0; i < 256; i++) {
+            long t = cache.get(i);
+
+            if (t == EMPTY) {
+                missing = true;
+                break;
+            }
+
+            out[i] = Double.longBitsToDouble(t);
+        }
+
+        if (!missing) {
+            return;
+        }
+
+        resolver.accept(out);
+        for (int i = 0; i < 256; i++) {
+            cache.set(i, Double.doubleToLongBits(out[i]));
+        }
+    }
+}
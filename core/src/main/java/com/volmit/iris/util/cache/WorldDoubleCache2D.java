@@ -0,0 +1,33 @@
+package com.volmit.iris.util.cache;
+
+import com.volmit.iris.engine.data.cache.Cache;
+import com.volmit.iris.util.data.KCache;
+import com.volmit.iris.util.function.NoiseProvider;
+
+import java.util.function.Consumer;
+
+public class WorldDoubleCache2D {
+    private final KCache<Long, ChunkDoubleCache2D> chunks;
+    private final NoiseProvider resolver;
+
+    public WorldDoubleCache2D(NoiseProvider resolver) {
+        this.resolver = resolver;
+        chunks = new KCache<>((x) -> new ChunkDoubleCache2D(), 1024);
+    }
+
+    public double get(int x, int z) {
+        ChunkDoubleCache2D chunk = chunks.get(Cache.key(x >> 4, z >> 4));
+        return chunk.get(x, z, resolver);
+    }
+
+    /**
+     * Fills the chunk aligned 16x16 block at x, z into out[(z * 16) + x]
+     */
+    public void fill(double[] out, int x, int z, Consumer<double[]> resolver) {
+        chunks.get(Cache.key(x >> 4, z >> 4)).fill(out, resolver);
+    }
+
+    public long getSize() {
+        return chunks.getSize() * 256L;
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Iris is a World Generator for Minecraft Bukkit Servers
+ * Copyright (c) 2022 Arcane Arts (Volmit Software)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.volmit.iris.util.context;
+
+import com.volmit.iris.util.documentation.ChunkCoordinates;
+import com.volmit.iris.util.documentation.ChunkRelativeBlockCoordinates;
+import com.volmit.iris.util.function.Consumer3;
+import com.volmit.iris.util.mantle.Mantle;
+import com.volmit.iris.util.matter.MatterCavern;
+
+/**
+ * Bitset of every carved voxel in a chunk, read once from the mantle's cavern slice.
+ * Lookups are plain array reads, no plate or section walk.
+ */
+public class ChunkCarveMask {
+    private final int height;
+    private final long[] bits;
+
+    @ChunkCoordinates
+    public ChunkCarveMask(Mantle mantle, int x, int z) {
+        this.height = mantle.getWorldHeight();
+        this.bits = new long[Math.ceilDiv(height << 8, 64)];
+        mantle.iterateChunk(x, z, MatterCavern.class, (xx, yy, zz, c) -> {
+            if (yy >= 0 && yy < height) {
+                int i = index(xx & 15, yy, zz & 15);
+                bits[i >> 6] |= 1L << i;
+            }
+        });
+    }
+
+    private static int index(int x, int y, int z) {
+        return (y << 8) | (z << 4) | x;
+    }
+
+    /**
+     * @param x the chunk relative x
+     * @param y the mantle y
+     * @param z the chunk relative z
+     * @return true if the voxel is carved
+     */
+    @ChunkRelativeBlockCoordinates
+    public boolean isCarved(int x, int y, int z) {
+        if (y < 0 || y >= height) {
+            return false;
+        }
+
+        int i = index(x & 15, y, z & 15);
+        return (bits[i >> 6] & (1L << i)) != 0;
+    }
+
+    /**
+     * Iterate every carved voxel in y, z, x order
+     *
+     * @param c the consumer of the chunk relative x, mantle y and chunk relative z
+     */
+    public void forEach(Consumer3<Integer, Integer, Integer> c) {
+        for (int i = 0; i < bits.length; i++) {
+            long v = bits[i];
+
+            while (v != 0) {
+                int b = (i << 6) + Long.numberOfTrailingZeros(v);
+                v &= v - 1;
+                c.accept(b & 15, b >> 8, (b >> 4) & 15);
+            }
+        }
+    }
+}
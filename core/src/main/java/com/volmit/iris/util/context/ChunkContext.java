@@ -1,12 +1,16 @@
 package com.volmit.iris.util.context;
 
 import com.volmit.iris.engine.IrisComplex;
+import com.volmit.iris.engine.data.cache.AtomicCache;
 import com.volmit.iris.engine.object.IrisBiome;
 import com.volmit.iris.engine.object.IrisRegion;
 import com.volmit.iris.util.documentation.BlockCoordinates;
+import com.volmit.iris.util.mantle.Mantle;
 import com.volmit.iris.util.parallel.BurstExecutor;
 import com.volmit.iris.util.parallel.MultiBurst;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.Getter;
 import org.bukkit.block.data.BlockData;
 
 @Data
@@ -19,6 +23,8 @@ public class ChunkContext {
     private ChunkedDataCache<BlockData> rock;
     private ChunkedDataCache<BlockData> fluid;
     private ChunkedDataCache<IrisRegion> region;
+    @Getter(AccessLevel.NONE)
+    private final AtomicCache<ChunkCarveMask> carved = new AtomicCache<>();
 
     @BlockCoordinates
     public ChunkContext(int x, int z, IrisComplex c) {
@@ -31,7 +37,7 @@ public class ChunkContext {
         this.z = z;
 
         if (cache) {
-            BurstExecutor b = MultiBurst.burst.burst();
+            BurstExecutor b = MultiBurst.burst.burst(6);
             height = new ChunkedDataCache<>(b, c.getHeightStream(), x, z);
             biome = new ChunkedDataCache<>(b, c.getTrueBiomeStream(), x, z);
             cave = new ChunkedDataCache<>(b, c.getCaveBiomeStream(), x, z);
@@ -48,4 +54,15 @@ public class ChunkContext {
             region = new ChunkedDataCache<>(null, c.getRegionStream(), x, z, false);
         }
     }
+
+    /**
+     * Get the carved voxels of this chunk. The mask is read from the mantle on first use,
+     * so it has to be requested after the mantle of this chunk was generated.
+     *
+     * @param mantle the mantle to read from
+     * @return the carve mask
+     */
+    public ChunkCarveMask getCarved(Mantle mantle) {
+        return carved.aquire(() -> new ChunkCarveMask(mantle, x >> 4, z >> 4));
+    }
 }
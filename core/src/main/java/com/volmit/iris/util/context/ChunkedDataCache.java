@@ -3,6 +3,7 @@ package com.volmit.iris.util.context;
 import com.volmit.iris.util.collection.KSet;
 import com.volmit.iris.util.documentation.BlockCoordinates;
 import com.volmit.iris.util.parallel.BurstExecutor;
+import com.volmit.iris.util.stream.DoubleStream2D;
 import com.volmit.iris.util.stream.ProceduralStream;
 import lombok.Data;
 
@@ -29,24 +30,52 @@ public class ChunkedDataCache<T> {
         this.uniques = cache ? new KSet<>() : null;
         if (cache) {
             data = new Object[256];
-            int i, j;
 
-            for (i = 0; i < 16; i++) {
-                int finalI = i;
-                for (j = 0; j < 16; j++) {
-                    int finalJ = j;
-                    burst.queue(() -> {
-                        T t = stream.get(x + finalI, z + finalJ);
-                        data[(finalJ * 16) + finalI] = t;
-                        uniques.add(t);
-                    });
-                }
+            if (burst == null) {
+                fill();
+            } else {
+                burst.queue(this::fill);
             }
         } else {
             data = new Object[0];
         }
     }
 
+    /**
+     * Fills the whole 16x16 plane in one pass. The plane is owned by a single task,
+     * so the uniques set is never written concurrently.
+     */
+    @SuppressWarnings("unchecked")
+    private void fill() {
+        T last = null;
+        int i, j;
+
+        if (stream instanceof DoubleStream2D d) {
+            double[] v = new double[256];
+            d.fill(v, x, z, 16, 16);
+
+            for (i = 0; i < 256; i++) {
+                T t = (T) (Double) v[i];
+                data[i] = t;
+                uniques.add(t);
+            }
+
+            return;
+        }
+
+        for (j = 0; j < 16; j++) {
+            for (i = 0; i < 16; i++) {
+                T t = stream.get(x + i, z + j);
+                data[(j * 16) + i] = t;
+
+                if (t != last) {
+                    uniques.add(t);
+                    last = t;
+                }
+            }
+        }
+    }
+
     @SuppressWarnings("unchecked")
     @BlockCoordinates
     public T get(int x, int z) {
@@ -29,7 +29,9 @@ import com.volmit.iris.util.scheduling.ChronoLatch;
 import it.unimi.dsi.fastutil.ints.*;
 import org.bukkit.Bukkit;
 import org.bukkit.Material;
+import org.bukkit.block.BlockFace;
 import org.bukkit.block.data.BlockData;
+import org.bukkit.block.data.MultipleFacing;
 import org.bukkit.block.data.Waterlogged;
 import org.bukkit.block.data.type.Leaves;
 import org.bukkit.block.data.type.PointedDripstone;
@@ -38,6 +40,7 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static org.bukkit.Material.*;
@@ -45,6 +48,7 @@ import static org.bukkit.Material.*;
 public class B {
     private static final KMap<String, BlockData> custom = new KMap<>();
 
+    private static final Material[] MATERIALS = Material.values();
     private static final Material AIR_MATERIAL = Material.AIR;
     private static final Material SHORT_GRASS = Materials.GRASS;
     private static final BlockData AIR = AIR_MATERIAL.createBlockData();
@@ -282,11 +286,11 @@ public class B {
 
         if (isDeepSlate(block)) {
             if (normal2DeepslateCache.containsKey(key)) {
-                return Material.values()[normal2DeepslateCache.get(key)].createBlockData();
+                return BlockStates.of(MATERIALS[normal2DeepslateCache.get(key)]);
             }
         } else {
             if (deepslate2NormalCache.containsKey(key)) {
-                return Material.values()[deepslate2NormalCache.get(key)].createBlockData();
+                return BlockStates.of(MATERIALS[deepslate2NormalCache.get(key)]);
             }
         }
 
@@ -417,6 +421,14 @@ public class B {
                 return custom.get(bd);
             }
 
+            BlockData cached = BlockStates.cached(bd);
+
+            if (cached != null) {
+                return cached.clone();
+            }
+
+            String key = bd;
+
             if (bd.startsWith("minecraft:cauldron[level=")) {
                 bd = bd.replaceAll("\\Q:cauldron[\\E", ":water_cauldron[");
             }
@@ -434,6 +446,10 @@ public class B {
                 return AIR;
             }
 
+            if (bdx != null) {
+                BlockStates.cache(key, bdx);
+            }
+
             return bdx;
         } catch (Throwable e) {
             Iris.reportError(e);
@@ -700,4 +716,23 @@ public class B {
             default -> false;
         };
     }
+
+    /**
+     * Attach a vine like block to every face with a neighbour that is neither air nor another vine.
+     * The faces are set on a copy, block data read from a hunk or the mantle can be a shared canonical state.
+     *
+     * @param vine      the vine block
+     * @param neighbour the block next to the vine on the given face
+     * @return a copy of the vine with its faces set
+     */
+    public static MultipleFacing attachFaces(MultipleFacing vine, Function<BlockFace, BlockData> neighbour) {
+        MultipleFacing f = (MultipleFacing) vine.clone();
+
+        for (BlockFace face : f.getAllowedFaces()) {
+            BlockData d = neighbour.apply(face);
+            f.setFace(face, !isAir(d) && !isVineBlock(d));
+        }
+
+        return f;
+    }
 }
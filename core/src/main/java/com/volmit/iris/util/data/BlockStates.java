@@ -0,0 +1,191 @@
+/*
+ * Iris is a World Generator for Minecraft Bukkit Servers
+ * Copyright (c) 2022 Arcane Arts (Volmit Software)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.volmit.iris.util.data;
+
+import com.volmit.iris.util.collection.KMap;
+import org.bukkit.Material;
+import org.bukkit.block.data.BlockData;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Global registry of interned vanilla block states. Every distinct state gets a stable int id for the lifetime
+ * of the server and a single canonical {@link BlockData} instance, parsed strings are cached by their raw form.
+ * <p>
+ * Canonical instances are shared, never mutate them. Use {@link B#get(String)} for a private copy.
+ * Custom and external block data is never interned, it can change when its provider reloads.
+ */
+public class BlockStates {
+    private static final KMap<String, Integer> parsed = new KMap<>();
+    private static final KMap<BlockData, Integer> ids = new KMap<>();
+    private static final AtomicReferenceArray<BlockData> materials = new AtomicReferenceArray<>(Material.values().length);
+    private static volatile BlockData[] states = new BlockData[256];
+    private static volatile String[] keys = new String[256];
+    private static volatile int size = 0;
+
+    /**
+     * Get the canonical state of a block data string, parsing it only the first time it is seen
+     *
+     * @param raw the block data string
+     * @return the canonical state or null if it can't be parsed or isn't a vanilla state
+     */
+    public static BlockData parse(String raw) {
+        int id = id(raw);
+        return id < 0 ? null : states[id];
+    }
+
+    /**
+     * Get the id of a block data string, parsing it only the first time it is seen
+     *
+     * @param raw the block data string
+     * @return the id or -1 if it can't be parsed or isn't a vanilla state
+     */
+    public static int id(String raw) {
+        Integer id = parsed.get(raw);
+
+        if (id == null && isVanilla(raw) && B.getOrNull(raw, false) != null) {
+            id = parsed.get(raw.trim());
+        }
+
+        return id == null ? -1 : id;
+    }
+
+    static BlockData cached(String raw) {
+        Integer id = parsed.get(raw);
+        return id == null ? null : states[id];
+    }
+
+    static void cache(String raw, BlockData data) {
+        if (isVanilla(raw)) {
+            int id = id(data);
+
+            if (id >= 0) {
+                parsed.put(raw, id);
+            }
+        }
+    }
+
+    /**
+     * Get the id of a block state, registering it if it wasn't seen before
+     *
+     * @param data the block state
+     * @return the id or -1 for custom block data
+     */
+    public static int id(BlockData data) {
+        if (data == null || data instanceof IrisCustomData) {
+            return -1;
+        }
+
+        Integer id = ids.get(data);
+        return id != null ? id : register(data);
+    }
+
+    private static synchronized int register(BlockData data) {
+        Integer id = ids.get(data);
+
+        if (id != null) {
+            return id;
+        }
+
+        int i = size;
+
+        if (i >= states.length) {
+            keys = Arrays.copyOf(keys, i << 1);
+            states = Arrays.copyOf(states, i << 1);
+        }
+
+        BlockData c = data.clone();
+        keys[i] = c.getAsString(true);
+        states[i] = c;
+        size = i + 1;
+        ids.put(c, i);
+        return i;
+    }
+
+    /**
+     * Get the canonical instance of a block state
+     *
+     * @param data the block state
+     * @return the canonical instance, or the given data itself if it is custom block data
+     */
+    public static BlockData canonical(BlockData data) {
+        int id = id(data);
+        return id < 0 ? data : states[id];
+    }
+
+    /**
+     * Get the canonical default state of a material
+     *
+     * @param material the block material
+     * @return the canonical default state
+     */
+    public static BlockData of(Material material) {
+        BlockData d = materials.get(material.ordinal());
+
+        if (d == null) {
+            d = canonical(material.createBlockData());
+            materials.set(material.ordinal(), d);
+        }
+
+        return d;
+    }
+
+    /**
+     * @param id the id
+     * @return the canonical state of the id or null if no such id was registered
+     */
+    public static BlockData get(int id) {
+        BlockData[] s = states;
+        return id < 0 || id >= s.length ? null : s[id];
+    }
+
+    /**
+     * @param id the id
+     * @return the full block data string of the id or null if no such id was registered
+     */
+    public static String key(int id) {
+        String[] k = keys;
+        return id < 0 || id >= k.length ? null : k[id];
+    }
+
+    /**
+     * Get the full block data string of a block state, computed only once per distinct state
+     *
+     * @param data the block state
+     * @return the block data string
+     */
+    public static String key(BlockData data) {
+        int id = id(data);
+        return id < 0 ? data.getAsString(true) : keys[id];
+    }
+
+    /**
+     * @return the number of registered states
+     */
+    public static int size() {
+        return size;
+    }
+
+    static boolean isVanilla(String raw) {
+        int i = raw.indexOf(':');
+        int b = raw.indexOf('[');
+        return i < 0 || (b >= 0 && i > b) || raw.startsWith("minecraft:");
+    }
+}
@@ -18,7 +18,37 @@
 
 package com.volmit.iris.util.function;
 
+import java.util.function.DoubleBinaryOperator;
+
 @FunctionalInterface
 public interface NoiseInjector {
+    static Primitive of(double weight, DoubleBinaryOperator injector) {
+        return new Primitive() {
+            @Override
+            public double inject(double src, double value) {
+                return injector.applyAsDouble(src, value);
+            }
+
+            @Override
+            public double weight() {
+                return weight;
+            }
+        };
+    }
+
     double[] combine(double src, double value);
+
+    /**
+     * An injector with a constant weight, which can be combined without allocating a result array
+     */
+    interface Primitive extends NoiseInjector {
+        double inject(double src, double value);
+
+        double weight();
+
+        @Override
+        default double[] combine(double src, double value) {
+            return new double[]{inject(src, value), weight()};
+        }
+    }
 }
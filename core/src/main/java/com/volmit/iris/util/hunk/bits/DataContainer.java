@@ -21,34 +21,34 @@ package com.volmit.iris.util.hunk.bits;
 import com.volmit.iris.util.data.Varint;
 
 import java.io.*;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.Arrays;
 
+/**
+ * A paletted container. Reads are lock free: they go through a single volatile {@link State}
+ * holding the bit storage and an immutable id -> value snapshot of the palette.
+ * Writes are serialized on the container and only republish the state when the palette grows.
+ */
 public class DataContainer<T> {
     protected static final int INITIAL_BITS = 3;
     protected static final int LINEAR_BITS_LIMIT = 4;
     protected static final int LINEAR_INITIAL_LENGTH = (int) Math.pow(2, LINEAR_BITS_LIMIT) + 1;
     protected static final int[] BIT = computeBitLimits();
-    private final AtomicReference<Palette<T>> palette;
-    private final AtomicReference<DataBits> data;
-    private final AtomicInteger bits;
     private final int length;
     private final Writable<T> writer;
+    private volatile State<T> state;
 
     public DataContainer(Writable<T> writer, int length) {
         this.writer = writer;
         this.length = length;
-        this.bits = new AtomicInteger(INITIAL_BITS);
-        this.data = new AtomicReference<>(new DataBits(INITIAL_BITS, length));
-        this.palette = new AtomicReference<>(newPalette(INITIAL_BITS));
+        Palette<T> palette = newPalette(INITIAL_BITS);
+        this.state = new State<>(palette, new DataBits(INITIAL_BITS, length), INITIAL_BITS, values(palette));
     }
 
     public DataContainer(DataInputStream din, Writable<T> writer) throws IOException {
         this.writer = writer;
         this.length = Varint.readUnsignedVarInt(din);
-        this.palette = new AtomicReference<>(newPalette(din));
-        this.data = new AtomicReference<>(new DataBits(palette.get().bits(), length, din));
-        this.bits = new AtomicInteger(palette.get().bits());
+        Palette<T> palette = newPalette(din);
+        this.state = new State<>(palette, new DataBits(palette.bits(), length, din), palette.bits(), values(palette));
     }
 
     public static String readBitString(DataInputStream din) throws IOException {
@@ -117,17 +117,24 @@ public class DataContainer<T> {
         return DataContainer.BIT.length - 1;
     }
 
+    private static <T> Object[] values(Palette<T> palette) {
+        Object[] values = new Object[palette.size() + 1];
+        palette.iterate((t, id) -> values[id] = t);
+        return values;
+    }
+
     public DataBits getData() {
-        return data.get();
+        return state.data;
     }
 
     public Palette<T> getPalette() {
-        return palette.get();
+        return state.palette;
     }
 
     public String toString() {
-        return "DataContainer <" + length + " x " + bits + " bits> -> Palette<" + palette.get().getClass().getSimpleName().replaceAll("\\QPalette\\E", "") + ">: " + palette.get().size() +
-                " " + data.get().toString() + " PalBit: " + palette.get().bits();
+        State<T> s = state;
+        return "DataContainer <" + length + " x " + s.bits + " bits> -> Palette<" + s.palette.getClass().getSimpleName().replaceAll("\\QPalette\\E", "") + ">: " + s.palette.size() +
+                " " + s.data.toString() + " PalBit: " + s.palette.bits();
     }
 
     public byte[] write() throws IOException {
@@ -140,11 +147,12 @@ public class DataContainer<T> {
         writeDos(new DataOutputStream(out));
     }
 
-    public void writeDos(DataOutputStream dos) throws IOException {
+    public synchronized void writeDos(DataOutputStream dos) throws IOException {
+        State<T> s = state;
         Varint.writeUnsignedVarInt(length, dos);
-        Varint.writeUnsignedVarInt(palette.get().size(), dos);
-        palette.get().iterateIO((data, __) -> writer.writeNodeData(dos, data));
-        data.get().write(dos);
+        Varint.writeUnsignedVarInt(s.palette.size(), dos);
+        s.palette.iterateIO((data, __) -> writer.writeNodeData(dos, data));
+        s.data.write(dos);
         dos.flush();
     }
 
@@ -163,55 +171,76 @@ public class DataContainer<T> {
         return new HashPalette<>();
     }
 
-    public void ensurePaletted(T t) {
-        if (palette.get().id(t) == -1) {
-            expandOne();
+    public synchronized void ensurePaletted(T t) {
+        State<T> s = state;
+        if (s.palette.id(t) == -1) {
+            state = expandOne(s);
         }
     }
 
     public void set(int position, T t) {
         synchronized (this) {
-            int id = palette.get().id(t);
+            State<T> s = state;
+            int id = s.palette.id(t);
 
             if (id == -1) {
-                expandOne();
-                id = palette.get().add(t);
+                s = expandOne(s);
+                id = s.palette.add(t);
+                Object[] values = Arrays.copyOf(s.values, Math.max(s.values.length, id + 1));
+                values[id] = t;
+                s = new State<>(s.palette, s.data, s.bits, values);
+                state = s;
             }
 
-            data.get().set(position, id);
+            s.data.set(position, id);
         }
     }
 
-    private void expandOne() {
-        if (palette.get().size() + 1 >= BIT[bits.get()]) {
-            setBits(bits.get() + 1);
+    private State<T> expandOne(State<T> s) {
+        if (s.palette.size() + 1 >= BIT[s.bits]) {
+            return resize(s, s.bits + 1);
         }
+
+        return s;
     }
 
+    @SuppressWarnings("unchecked")
     public T get(int position) {
-        synchronized (this) {
-            int id = data.get().get(position) + 1;
-
-            if (id <= 0) {
-                return null;
-            }
+        State<T> s = state;
+        int id = s.data.get(position);
+        Object[] values = s.values;
 
-            return palette.get().get(id - 1);
+        if (id >= values.length) {
+            // The id was written after we read the state, the newer state is guaranteed to be visible now
+            values = state.values;
         }
+
+        return (T) values[id];
     }
 
-    public void setBits(int bits) {
-        if (this.bits.get() != bits) {
-            if (this.bits.get() <= LINEAR_BITS_LIMIT != bits <= LINEAR_BITS_LIMIT) {
-                palette.set(newPalette(bits).from(palette.get()));
-            }
+    public synchronized void setBits(int bits) {
+        state = resize(state, bits);
+    }
+
+    private State<T> resize(State<T> s, int bits) {
+        if (s.bits == bits) {
+            return s;
+        }
 
-            this.bits.set(bits);
-            data.set(data.get().setBits(bits));
+        Palette<T> palette = s.palette;
+        if (s.bits <= LINEAR_BITS_LIMIT != bits <= LINEAR_BITS_LIMIT) {
+            palette = newPalette(bits).from(palette);
         }
+
+        State<T> n = new State<>(palette, s.data.setBits(bits), bits, s.values);
+        state = n;
+        return n;
     }
 
     public int size() {
         return getData().getSize();
     }
+
+    private record State<T>(Palette<T> palette, DataBits data, int bits, Object[] values) {
+    }
 }
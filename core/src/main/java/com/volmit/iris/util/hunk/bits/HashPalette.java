@@ -18,9 +18,9 @@
 
 package com.volmit.iris.util.hunk.bits;
 
-import com.volmit.iris.util.collection.KMap;
 import com.volmit.iris.util.function.Consumer2;
 
+import java.util.Arrays;
 import java.util.LinkedHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.ReentrantLock;
@@ -28,23 +28,25 @@ import java.util.concurrent.locks.ReentrantLock;
 public class HashPalette<T> implements Palette<T> {
     private final ReentrantLock lock = new ReentrantLock();
     private final LinkedHashMap<T, Integer> palette;
-    private final KMap<Integer, T> lookup;
+    private volatile Object[] lookup;
     private final AtomicInteger size;
 
     public HashPalette() {
         this.size = new AtomicInteger(0);
         this.palette = new LinkedHashMap<>();
-        this.lookup = new KMap<>();
+        this.lookup = new Object[16];
         add(null);
     }
 
+    @SuppressWarnings("unchecked")
     @Override
     public T get(int id) {
-        if (id < 0 || id >= size.get()) {
+        Object[] l = lookup;
+        if (id < 0 || id >= l.length) {
             return null;
         }
 
-        return lookup.get(id);
+        return (T) l[id];
     }
 
     @Override
@@ -55,7 +57,13 @@ public class HashPalette<T> implements Palette<T> {
             palette.put(t, index);
 
             if (t != null) {
-                lookup.put(index, t);
+                Object[] l = lookup;
+                if (index >= l.length) {
+                    l = Arrays.copyOf(l, l.length << 1);
+                }
+
+                l[index] = t;
+                lookup = l;
             }
             return index;
         } finally {
@@ -69,8 +69,12 @@ public class LinearPalette<T> implements Palette<T> {
             return 0;
         }
 
+        AtomicReferenceArray<T> p = palette.get();
+
         for (int i = 1; i < size() + 1; i++) {
-            if (t.equals(palette.get().get(i))) {
+            T v = p.get(i);
+
+            if (t == v || t.equals(v)) {
                 return i;
             }
         }
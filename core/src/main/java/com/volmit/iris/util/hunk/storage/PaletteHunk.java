@@ -32,7 +32,7 @@ import java.io.IOException;
 @Data
 @EqualsAndHashCode(callSuper = false)
 public class PaletteHunk<T> extends StorageHunk<T> implements Hunk<T> {
-    private DataContainer<T> data;
+    private volatile DataContainer<T> data;
 
     public PaletteHunk(int w, int h, int d, Writable<T> writer) {
         super(w, h, d);
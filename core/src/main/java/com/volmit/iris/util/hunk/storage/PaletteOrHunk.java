@@ -29,6 +29,7 @@ import java.util.function.Supplier;
 
 public abstract class PaletteOrHunk<T> extends StorageHunk<T> implements Hunk<T>, Writable<T> {
     private final Hunk<T> hunk;
+    private volatile boolean dirty;
 
     public PaletteOrHunk(int width, int height, int depth, boolean allow, Supplier<Hunk<T>> factory) {
         super(width, height, depth);
@@ -46,11 +47,27 @@ public abstract class PaletteOrHunk<T> extends StorageHunk<T> implements Hunk<T>
     public void setPalette(DataContainer<T> c) {
         if (isPalette()) {
             ((PaletteHunk<T>) hunk).setPalette(c);
+            dirty = true;
         }
     }
 
+    /**
+     * @return true if this hunk was written to since it was last marked clean
+     */
+    public boolean isDirty() {
+        return dirty;
+    }
+
+    public void clean() {
+        dirty = false;
+    }
+
     @Override
     public void setRaw(int x, int y, int z, T t) {
+        if (!dirty) {
+            dirty = true;
+        }
+
         hunk.setRaw(x, y, z, t);
     }
 
@@ -85,6 +102,7 @@ public abstract class PaletteOrHunk<T> extends StorageHunk<T> implements Hunk<T>
 
     @Override
     public void empty(T b) {
+        dirty = true;
         hunk.empty(b);
     }
 }
@@ -0,0 +1,120 @@
+/*
+ * Iris is a World Generator for Minecraft Bukkit Servers
+ * Copyright (c) 2022 Arcane Arts (Volmit Software)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.volmit.iris.util.hunk.view;
+
+import com.volmit.iris.util.data.B;
+import com.volmit.iris.util.data.IrisCustomData;
+import com.volmit.iris.util.function.Consumer3;
+import com.volmit.iris.util.hunk.Hunk;
+import org.bukkit.block.data.BlockData;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Passes writes through to the source hunk and remembers the positions of updatable blocks in a bitset,
+ * so they can be committed to the mantle in one pass once the chunk is done.
+ */
+public class BlockUpdateHunk implements Hunk<BlockData> {
+    private final Hunk<BlockData> src;
+    private final AtomicLongArray updates;
+    private volatile boolean custom;
+
+    public BlockUpdateHunk(Hunk<BlockData> src) {
+        this.src = src;
+        this.updates = new AtomicLongArray(Math.ceilDiv(src.getWidth() * src.getHeight() * src.getDepth(), 64));
+        this.custom = false;
+    }
+
+    @Override
+    public void setRaw(int x, int y, int z, BlockData t) {
+        if (t != null) {
+            if (B.isUpdatable(t)) {
+                mark((((y * src.getDepth()) + z) * src.getWidth()) + x);
+            }
+
+            if (t instanceof IrisCustomData) {
+                custom = true;
+            }
+        }
+
+        src.setRaw(x, y, z, t);
+    }
+
+    private void mark(int i) {
+        int w = i >> 6;
+        long m = 1L << i;
+        long v;
+
+        do {
+            v = updates.get(w);
+        } while ((v & m) == 0 && !updates.compareAndSet(w, v, v | m));
+    }
+
+    /**
+     * @return true if any custom block was written
+     */
+    public boolean hasCustom() {
+        return custom;
+    }
+
+    /**
+     * Iterate the positions of all updatable blocks written so far, in y, z, x order
+     *
+     * @param c the consumer of x, y, z
+     */
+    public void forEachUpdate(Consumer3<Integer, Integer, Integer> c) {
+        int w = src.getWidth();
+        int d = src.getDepth();
+
+        for (int i = 0; i < updates.length(); i++) {
+            long v = updates.get(i);
+
+            while (v != 0) {
+                int b = (i << 6) + Long.numberOfTrailingZeros(v);
+                v &= v - 1;
+                c.accept(b % w, b / (w * d), (b / w) % d);
+            }
+        }
+    }
+
+    @Override
+    public BlockData getRaw(int x, int y, int z) {
+        return src.getRaw(x, y, z);
+    }
+
+    @Override
+    public int getWidth() {
+        return src.getWidth();
+    }
+
+    @Override
+    public int getHeight() {
+        return src.getHeight();
+    }
+
+    @Override
+    public int getDepth() {
+        return src.getDepth();
+    }
+
+    @Override
+    public Hunk<BlockData> getSource() {
+        return src;
+    }
+}
@@ -999,8 +999,14 @@ public class IrisInterpolation {
 
     public static double getNoise(InterpolationMethod method, int x, int z, double h, NoiseProvider noise) {
         HashMap<NoiseKey, Double> cache = new HashMap<>(64);
-        NoiseProvider n = (x1, z1) -> cache.computeIfAbsent(new NoiseKey(x1, z1), k -> noise.noise(k.x, k.z));
+        return getNoiseDirect(method, x, z, h, (x1, z1) -> cache.computeIfAbsent(new NoiseKey(x1, z1), k -> noise.noise(k.x, k.z)));
+    }
 
+    /**
+     * Same as {@link #getNoise(InterpolationMethod, int, int, double, NoiseProvider)} without the per call sample memo.
+     * Only use this with providers which already cache their samples.
+     */
+    public static double getNoiseDirect(InterpolationMethod method, int x, int z, double h, NoiseProvider n) {
         if (method.equals(InterpolationMethod.BILINEAR)) {
             return getBilinearNoise(x, z, h, n);
         } else if (method.equals(InterpolationMethod.STARCAST_3)) {
@@ -24,6 +24,9 @@ import com.volmit.iris.util.collection.KSet;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 
@@ -44,38 +47,57 @@ public class JarScanner {
     }
 
     /**
-     * Scan the jar
+     * Scan the jar, or the class folder when running from an unpacked build
      *
      * @throws IOException bad things happen
      */
     public void scan() throws IOException {
         classes.clear();
-        FileInputStream fin = new FileInputStream(jar);
-        ZipInputStream zip = new ZipInputStream(fin);
-
-        for (ZipEntry entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
-            if (!entry.isDirectory() && entry.getName().endsWith(".class")) {
-                if (entry.getName().contains("$")) {
-                    continue;
-                }
 
-                String c = entry.getName().replaceAll("/", ".").replace(".class", "");
+        if (jar.isDirectory()) {
+            Path root = jar.toPath();
 
-                if (c.startsWith(superPackage)) {
-                    try {
-                        Class<?> clazz = Class.forName(c);
-                        classes.add(clazz);
-                    } catch (ClassNotFoundException e) {
-                        Iris.reportError(e);
-                        e.printStackTrace();
+            try (Stream<Path> files = Files.walk(root)) {
+                for (Path i : (Iterable<Path>) files::iterator) {
+                    if (Files.isRegularFile(i)) {
+                        add(root.relativize(i).toString().replace(File.separatorChar, '/'));
                     }
                 }
             }
+
+            return;
+        }
+
+        FileInputStream fin = new FileInputStream(jar);
+        ZipInputStream zip = new ZipInputStream(fin);
+
+        for (ZipEntry entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+            if (!entry.isDirectory()) {
+                add(entry.getName());
+            }
         }
 
         zip.close();
     }
 
+    private void add(String name) {
+        if (!name.endsWith(".class") || name.contains("$")) {
+            return;
+        }
+
+        String c = name.replaceAll("/", ".").replace(".class", "");
+
+        if (c.startsWith(superPackage)) {
+            try {
+                Class<?> clazz = Class.forName(c, false, JarScanner.class.getClassLoader());
+                classes.add(clazz);
+            } catch (ClassNotFoundException e) {
+                Iris.reportError(e);
+                e.printStackTrace();
+            }
+        }
+    }
+
     /**
      * Get the scanned clases
      *
@@ -37,6 +37,7 @@ import com.volmit.iris.util.format.Form;
 import com.volmit.iris.util.function.Consumer4;
 import com.volmit.iris.util.math.M;
 import com.volmit.iris.util.matter.Matter;
+import com.volmit.iris.util.matter.MatterObjectRef;
 import com.volmit.iris.util.matter.MatterSlice;
 import com.volmit.iris.util.parallel.BurstExecutor;
 import com.volmit.iris.util.parallel.HyperLock;
@@ -245,7 +246,7 @@ public class Mantle {
             return false;
         }
 
-        return get(x >> 5, z >> 5).getOrCreate(x & 31, z & 31).isFlagged(flag);
+        return get(x >> 5, z >> 5).isFlagged(x & 31, z & 31, flag);
     }
 
     /**
@@ -332,6 +333,51 @@ public class Mantle {
                 .get(x & 15, y & 15, z & 15);
     }
 
+    /**
+     * Mark the block as part of a placed object instance. The instance is stored once in the
+     * object table of the chunk, the block only keeps a reference to it.
+     *
+     * @param x   the block's x coordinate
+     * @param y   the block's y coordinate
+     * @param z   the block's z coordinate
+     * @param key the object load key
+     * @param id  the placement id
+     */
+    @BlockCoordinates
+    public void setObject(int x, int y, int z, String key, int id) {
+        if (closed.get()) {
+            throw new RuntimeException("The Mantle is closed");
+        }
+
+        if (y < 0 || y >= worldHeight) {
+            return;
+        }
+
+        MantleChunk chunk = get((x >> 4) >> 5, (z >> 4) >> 5)
+                .getOrCreate((x >> 4) & 31, (z >> 4) & 31);
+        chunk.getOrCreate(y >> 4).slice(MatterObjectRef.class)
+                .set(x & 15, y & 15, z & 15, chunk.getObjects().ref(key, id));
+    }
+
+    /**
+     * Get the placed object instance at the given block position
+     *
+     * @param x the block's x coordinate
+     * @param y the block's y coordinate
+     * @param z the block's z coordinate
+     * @return the instance or null if no object was placed here
+     */
+    @BlockCoordinates
+    public MantleObjectTable.Entry getObject(int x, int y, int z) {
+        MatterObjectRef ref = get(x, y, z, MatterObjectRef.class);
+
+        if (ref == null) {
+            return null;
+        }
+
+        return getChunk(x >> 4, z >> 4).getObjects().get(ref);
+    }
+
     /**
      * Is this mantle closed
      *
@@ -363,7 +409,10 @@ public class Mantle {
         for (Long i : loadedRegions.keySet()) {
             b.queue(() -> {
                 try {
-                    loadedRegions.get(i).write(fileForRegion(dataFolder, i));
+                    TectonicPlate plate = loadedRegions.get(i);
+                    if (plate.isDirty()) {
+                        plate.write(fileForRegion(dataFolder, i));
+                    }
                 } catch (IOException e) {
                     e.printStackTrace();
                 }
@@ -478,7 +527,9 @@ public class Mantle {
                                         return;
                                     }
                                     try {
-                                        m.write(fileForRegion(dataFolder, id));
+                                        if (m.isDirty()) {
+                                            m.write(fileForRegion(dataFolder, id));
+                                        }
                                         loadedRegions.remove(id);
                                         lastUse.remove(id);
                                         if (disableClear) toUnload.remove(id);
@@ -24,12 +24,14 @@ import com.volmit.iris.util.function.Consumer4;
 import com.volmit.iris.util.io.CountingDataInputStream;
 import com.volmit.iris.util.matter.IrisMatter;
 import com.volmit.iris.util.matter.Matter;
+import com.volmit.iris.util.matter.MatterObjectRef;
 import com.volmit.iris.util.matter.MatterSlice;
 import lombok.Getter;
 
 import java.io.ByteArrayOutputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicIntegerArray;
 import java.util.concurrent.atomic.AtomicReferenceArray;
@@ -39,13 +41,20 @@ import java.util.concurrent.atomic.AtomicReferenceArray;
  * Mantle Chunks are fully atomic & thread safe
  */
 public class MantleChunk {
+    /**
+     * Chunks written before the flag count was stored have one flag per constant that existed back then
+     */
+    static final int LEGACY_FLAG_COUNT = 16;
     @Getter
     private final int x;
     @Getter
     private final int z;
     private final AtomicIntegerArray flags;
     private final AtomicReferenceArray<Matter> sections;
+    @Getter
+    private final MantleObjectTable objects = new MantleObjectTable();
     private final AtomicInteger ref = new AtomicInteger();
+    private final AtomicBoolean dirty = new AtomicBoolean(true);
 
     /**
      * Create a mantle chunk
@@ -69,15 +78,24 @@ public class MantleChunk {
      *
      * @param sectionHeight the height of the world in sections (blocks >> 4)
      * @param din           the data input
+     * @param end           the stream position this chunk ends at. The object table is only read if the
+     *                      sections end before it, chunks written before the table existed have none
+     * @param flagCount     true if the number of flags is stored in front of them, otherwise
+     *                      {@link #LEGACY_FLAG_COUNT} flags are read
      * @throws IOException            shit happens
      * @throws ClassNotFoundException shit happens
      */
-    public MantleChunk(int sectionHeight, CountingDataInputStream din) throws IOException {
+    public MantleChunk(int sectionHeight, CountingDataInputStream din, long end, boolean flagCount) throws IOException {
         this(sectionHeight, din.readByte(), din.readByte());
         int s = din.readByte();
+        int f = flagCount ? din.readUnsignedByte() : LEGACY_FLAG_COUNT;
 
-        for (int i = 0; i < flags.length(); i++) {
-            flags.set(i, din.readBoolean() ? 1 : 0);
+        for (int i = 0; i < f; i++) {
+            boolean flagged = din.readBoolean();
+
+            if (i < flags.length()) {
+                flags.set(i, flagged ? 1 : 0);
+            }
         }
 
         for (int i = 0; i < s; i++) {
@@ -89,18 +107,24 @@ public class MantleChunk {
             try {
                 sections.set(i, Matter.readDin(din));
             } catch (IOException e) {
-                long end = start + size;
+                long sectionEnd = start + size;
                 Iris.error("Failed to read chunk section, skipping it.");
-                Iris.addPanic("read.byte.range", start + " " + end);
+                Iris.addPanic("read.byte.range", start + " " + sectionEnd);
                 Iris.addPanic("read.byte.current", din.count() + "");
                 Iris.reportError(e);
                 e.printStackTrace();
                 Iris.panic();
 
-                din.skipTo(end);
+                din.skipTo(sectionEnd);
                 TectonicPlate.addError();
             }
         }
+
+        if (din.count() < end) {
+            objects.read(din);
+        }
+
+        clean();
     }
 
     public boolean inUse() {
@@ -117,7 +141,43 @@ public class MantleChunk {
     }
 
     public void flag(MantleFlag flag, boolean f) {
-        flags.set(flag.ordinal(), f ? 1 : 0);
+        if (flags.getAndSet(flag.ordinal(), f ? 1 : 0) != (f ? 1 : 0)) {
+            dirty.set(true);
+        }
+    }
+
+    /**
+     * Check if this chunk or any of its sections changed since it was last written
+     *
+     * @return true if the chunk has unsaved changes
+     */
+    public boolean isDirty() {
+        if (dirty.get()) {
+            return true;
+        }
+
+        for (int i = 0; i < sections.length(); i++) {
+            Matter matter = sections.get(i);
+            if (matter != null && matter.isDirty()) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Mark this chunk and all of its sections as saved
+     */
+    public void clean() {
+        dirty.set(false);
+
+        for (int i = 0; i < sections.length(); i++) {
+            Matter matter = sections.get(i);
+            if (matter != null) {
+                matter.clean();
+            }
+        }
     }
 
     public void raiseFlag(MantleFlag flag, Runnable r) {
@@ -132,6 +192,16 @@ public class MantleChunk {
         return flags.get(flag.ordinal()) == 1;
     }
 
+    int getFlagMask() {
+        int mask = 0;
+        for (int i = 0; i < flags.length(); i++) {
+            if (flags.get(i) == 1) {
+                mask |= 1 << i;
+            }
+        }
+        return mask;
+    }
+
     /**
      * Check if a section exists (same as get(section) != null)
      *
@@ -161,6 +231,8 @@ public class MantleChunk {
         for (int i = 0; i < sections.length(); i++) {
             delete(i);
         }
+
+        objects.clear();
     }
 
     /**
@@ -170,7 +242,9 @@ public class MantleChunk {
      */
     @ChunkCoordinates
     public void delete(int section) {
-        sections.set(section, null);
+        if (sections.getAndSet(section, null) != null) {
+            dirty.set(true);
+        }
     }
 
     /**
@@ -186,6 +260,7 @@ public class MantleChunk {
         if (matter == null) {
             matter = new IrisMatter(16, 16, 16);
             sections.set(section, matter);
+            dirty.set(true);
         }
 
         return matter;
@@ -201,6 +276,7 @@ public class MantleChunk {
         dos.writeByte(x);
         dos.writeByte(z);
         dos.writeByte(sections.length());
+        dos.writeByte(flags.length());
 
         for (int i = 0; i < flags.length(); i++) {
             dos.writeBoolean(flags.get(i) == 1);
@@ -224,6 +300,8 @@ public class MantleChunk {
                 dos.writeInt(0);
             }
         }
+
+        objects.write(dos);
     }
 
     private void trimSlice(int i) {
@@ -261,8 +339,14 @@ public class MantleChunk {
             Matter m = sections.get(i);
             if (m != null && m.hasSlice(c)) {
                 m.deleteSlice(c);
+                dirty.set(true);
             }
         }
+
+        if (c == MatterObjectRef.class && !objects.isEmpty()) {
+            objects.clear();
+            dirty.set(true);
+        }
     }
 
     public void trimSlices() {
@@ -36,7 +36,8 @@ public enum MantleFlag {
     TILE,
     CUSTOM,
     DISCOVERED,
-    CUSTOM_ACTIVE;
+    CUSTOM_ACTIVE,
+    FLUID_UPDATES;
 
     static StateList getStateList() {
         return new StateList(MantleFlag.values());
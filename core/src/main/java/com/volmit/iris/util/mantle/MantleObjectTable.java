@@ -0,0 +1,97 @@
+/*
+ * Iris is a World Generator for Minecraft Bukkit Servers
+ * Copyright (c) 2022 Arcane Arts (Volmit Software)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.volmit.iris.util.mantle;
+
+import com.volmit.iris.util.collection.KList;
+import com.volmit.iris.util.collection.KMap;
+import com.volmit.iris.util.data.Varint;
+import com.volmit.iris.util.matter.MatterObjectRef;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * The placed object instances of a mantle chunk. Blocks only store a {@link MatterObjectRef}
+ * into this table instead of their own "key@id" string.
+ */
+public class MantleObjectTable {
+    private final KList<Entry> entries = new KList<>();
+    private final KMap<Entry, MatterObjectRef> refs = new KMap<>();
+
+    /**
+     * Get the reference for an object instance, adding it to the table if needed
+     *
+     * @param key the object load key
+     * @param id  the placement id
+     * @return the reference to store in the blocks of this chunk
+     */
+    public synchronized MatterObjectRef ref(String key, int id) {
+        return refs.computeIfAbsent(new Entry(key, id), (e) -> {
+            entries.add(e);
+            return new MatterObjectRef(entries.size() - 1);
+        });
+    }
+
+    /**
+     * Resolve a reference stored in this chunk
+     *
+     * @param ref the reference
+     * @return the instance or null if the reference is unknown
+     */
+    public synchronized Entry get(MatterObjectRef ref) {
+        return ref.getIndex() < entries.size() ? entries.get(ref.getIndex()) : null;
+    }
+
+    public synchronized boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        refs.clear();
+    }
+
+    public synchronized void write(DataOutputStream dos) throws IOException {
+        Varint.writeUnsignedVarInt(entries.size(), dos);
+
+        for (Entry i : entries) {
+            dos.writeUTF(i.key());
+            dos.writeInt(i.id());
+        }
+    }
+
+    public synchronized void read(DataInputStream din) throws IOException {
+        clear();
+        int s = Varint.readUnsignedVarInt(din);
+
+        for (int i = 0; i < s; i++) {
+            Entry e = new Entry(din.readUTF(), din.readInt());
+            entries.add(e);
+            refs.put(e, new MatterObjectRef(i));
+        }
+    }
+
+    public record Entry(String key, int id) {
+        @Override
+        public String toString() {
+            return key + "@" + id;
+        }
+    }
+}
@@ -32,22 +32,38 @@ import net.jpountz.lz4.LZ4BlockInputStream;
 import net.jpountz.lz4.LZ4BlockOutputStream;
 
 import java.io.*;
+import java.nio.ByteBuffer;
 import java.nio.channels.Channels;
 import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.StandardCopyOption;
 import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
  * Tectonic Plates are essentially representations of regions in minecraft.
  * Tectonic Plates are fully atomic & thread safe
+ * <p>
+ * Plates are stored in an indexed format: a header with an offset table followed by
+ * one independently LZ4 compressed blob per chunk. Chunks are only decoded when they are
+ * first touched. Untouched and clean chunks are written back as-is, so only chunks that
+ * changed since the plate was read are re-encoded. Plates written in the legacy
+ * format (one LZ4 stream over the whole plate) are still read and migrate on their next write.
+ * Since version 2 every chunk carries its placed object table and since version 3 the number of flags it stores,
+ * older chunks are re-encoded on the next write.
  */
 public class TectonicPlate {
     private static final KSet<Thread> errors = new KSet<>();
+    private static final int MAGIC = 0x54545032;
+    private static final int STREAM_MAGIC = 0x54545053;
+    private static final int VERSION = 3;
+    private static final int HEADER_SIZE = 4 + 1 + 4 + 4 + (1024 * 12);
 
     private final int sectionHeight;
     private final AtomicReferenceArray<MantleChunk> chunks;
+    private final AtomicReferenceArray<Blob> blobs;
+    private final AtomicBoolean dirty;
 
     @Getter
     private final int x;
@@ -63,19 +79,33 @@ public class TectonicPlate {
     public TectonicPlate(int worldHeight, int x, int z) {
         this.sectionHeight = worldHeight >> 4;
         this.chunks = new AtomicReferenceArray<>(1024);
+        this.blobs = new AtomicReferenceArray<>(1024);
+        this.dirty = new AtomicBoolean(false);
         this.x = x;
         this.z = z;
     }
 
     /**
-     * Load a tectonic plate from a data stream
+     * Load a tectonic plate from a data stream written by {@link #write(DataOutputStream)}.
+     * Streams without a header are read in the legacy layout.
      *
      * @param worldHeight the height of the world
      * @param din         the data input
      * @throws IOException            shit happens yo
      */
     public TectonicPlate(int worldHeight, CountingDataInputStream din) throws IOException {
-        this(worldHeight, din.readInt(), din.readInt());
+        this(worldHeight, din, din.readInt());
+    }
+
+    private TectonicPlate(int worldHeight, CountingDataInputStream din, int head) throws IOException {
+        this(worldHeight, din, head == STREAM_MAGIC ? din.readUnsignedByte() : 0, head == STREAM_MAGIC ? din.readInt() : head, din.readInt());
+    }
+
+    private TectonicPlate(int worldHeight, CountingDataInputStream din, int version, int x, int z) throws IOException {
+        this(worldHeight, x, z);
+        if (version > VERSION) {
+            throw new IOException("Unsupported Tectonic Plate stream version " + version);
+        }
         if (!din.markSupported())
             throw new IOException("Mark not supported!");
 
@@ -86,7 +116,7 @@ public class TectonicPlate {
 
             try {
                 Iris.addPanic("read-chunk", "Chunk[" + i + "]");
-                chunks.set(i, new MantleChunk(sectionHeight, din));
+                chunks.set(i, new MantleChunk(sectionHeight, din, start + size, version > 2));
                 EnginePanic.saveLast();
             } catch (Throwable e) {
                 long end = start + size;
@@ -104,17 +134,29 @@ public class TectonicPlate {
     }
 
     public static TectonicPlate read(int worldHeight, File file) throws IOException {
+        boolean legacy = false;
         try (FileChannel fc = FileChannel.open(file.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.SYNC)) {
             fc.lock();
 
-            InputStream fin = Channels.newInputStream(fc);
-            LZ4BlockInputStream lz4 = new LZ4BlockInputStream(fin);
+            ByteBuffer buffer = ByteBuffer.allocate((int) fc.size());
+            while (buffer.hasRemaining()) {
+                if (fc.read(buffer) < 0) break;
+            }
+            buffer.flip();
+
+            if (buffer.remaining() >= HEADER_SIZE && buffer.getInt(0) == MAGIC) {
+                return new TectonicPlate(worldHeight, buffer);
+            }
+
+            legacy = true;
+            LZ4BlockInputStream lz4 = new LZ4BlockInputStream(new ByteArrayInputStream(buffer.array(), 0, buffer.limit()));
             BufferedInputStream bis = new BufferedInputStream(lz4);
             try (CountingDataInputStream din = CountingDataInputStream.wrap(bis)) {
+                Iris.debug("Migrating legacy Tectonic Plate " + C.DARK_GREEN + file.getName());
                 return new TectonicPlate(worldHeight, din);
             }
         } finally {
-            if (errors.remove(Thread.currentThread())) {
+            if (errors.remove(Thread.currentThread()) && legacy && Iris.instance != null) {
                 File dump = Iris.instance.getDataFolder("dump", file.getName() + ".bin");
                 try (FileChannel fc = FileChannel.open(file.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.SYNC)) {
                     fc.lock();
@@ -127,6 +169,58 @@ public class TectonicPlate {
         }
     }
 
+    /**
+     * Load a tectonic plate from an indexed plate file. Only the offset table is parsed,
+     * chunk blobs stay compressed until they are accessed.
+     *
+     * @param worldHeight the height of the world
+     * @param buffer      the whole plate file
+     * @throws IOException if the header is malformed
+     */
+    private TectonicPlate(int worldHeight, ByteBuffer buffer) throws IOException {
+        this(worldHeight, buffer.getInt(5), buffer.getInt(9));
+        int version = buffer.get(4);
+        if (version < 1 || version > VERSION) {
+            throw new IOException("Unsupported Tectonic Plate version " + version);
+        }
+
+        buffer.position(13);
+        for (int i = 0; i < chunks.length(); i++) {
+            int offset = buffer.getInt();
+            int length = buffer.getInt();
+            int flags = buffer.getInt();
+            if (length == 0) continue;
+
+            if (offset < HEADER_SIZE || offset + length > buffer.limit()) {
+                Iris.error("Invalid Tectonic Plate index entry for chunk " + i + ", creating a new chunk instead.");
+                continue;
+            }
+
+            byte[] data = new byte[length];
+            buffer.get(offset, data);
+            blobs.set(i, new Blob(data, flags, version));
+        }
+    }
+
+    /**
+     * Migrate a plate file to the indexed format if it still uses the legacy format
+     *
+     * @param worldHeight the height of the world
+     * @param file        the plate file
+     * @return true if the file was rewritten
+     * @throws IOException shit happens
+     */
+    public static boolean migrate(int worldHeight, File file) throws IOException {
+        try (DataInputStream din = new DataInputStream(new FileInputStream(file))) {
+            if (file.length() >= HEADER_SIZE && din.readInt() == MAGIC) {
+                return false;
+            }
+        }
+
+        read(worldHeight, file).write(file);
+        return true;
+    }
+
     public boolean inUse() {
         for (int i = 0; i < chunks.length(); i++) {
             MantleChunk chunk = chunks.get(i);
@@ -157,15 +251,102 @@ public class TectonicPlate {
      */
     @ChunkCoordinates
     public MantleChunk get(int x, int z) {
-        return chunks.get(index(x, z));
+        return get(index(x, z));
+    }
+
+    private MantleChunk get(int index) {
+        MantleChunk chunk = chunks.get(index);
+        if (chunk != null) {
+            return chunk;
+        }
+
+        Blob blob = blobs.get(index);
+        if (blob == null) {
+            return chunks.get(index);
+        }
+
+        synchronized (blob) {
+            chunk = chunks.get(index);
+            if (chunk == null && blobs.get(index) == blob) {
+                chunk = decode(index, blob);
+                chunks.set(index, chunk);
+
+                if (chunk == null) {
+                    blobs.set(index, null);
+                    dirty.set(true);
+                }
+            }
+        }
+
+        return chunk;
+    }
+
+    private MantleChunk decode(int index, Blob blob) {
+        try (CountingDataInputStream din = CountingDataInputStream.wrap(new BufferedInputStream(new LZ4BlockInputStream(new ByteArrayInputStream(blob.data))))) {
+            Iris.addPanic("read-chunk", "Chunk[" + index + "]");
+            MantleChunk chunk = new MantleChunk(sectionHeight, din, blob.version > 1 ? Long.MAX_VALUE : 0, blob.version > 2);
+            EnginePanic.saveLast();
+            return chunk;
+        } catch (Throwable e) {
+            Iris.error("Failed to read chunk, creating a new chunk instead.");
+            Iris.reportError(e);
+            e.printStackTrace();
+            errors.add(Thread.currentThread());
+            return null;
+        } finally {
+            if (errors.remove(Thread.currentThread())) {
+                dump(index, blob);
+            }
+        }
+    }
+
+    /**
+     * Dump the decompressed data of a chunk that failed to read, the rest of the plate is left alone
+     *
+     * @param index the chunk index
+     * @param blob  the chunk blob
+     */
+    private void dump(int index, Blob blob) {
+        if (Iris.instance == null) {
+            return;
+        }
+
+        File dump = Iris.instance.getDataFolder("dump", "p." + x + "." + z + ".c" + index + ".bin");
+        try (InputStream in = new LZ4BlockInputStream(new ByteArrayInputStream(blob.data))) {
+            Files.copy(in, dump.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (Throwable e) {
+            Iris.reportError(e);
+        }
+    }
+
+    /**
+     * Check if a chunk is flagged without decoding it
+     *
+     * @param x    the chunk relative x (0-31)
+     * @param z    the chunk relative z (0-31)
+     * @param flag the flag to test
+     * @return true if the chunk exists and is flagged
+     */
+    @ChunkCoordinates
+    public boolean isFlagged(int x, int z, MantleFlag flag) {
+        int index = index(x, z);
+        MantleChunk chunk = chunks.get(index);
+        if (chunk != null) {
+            return chunk.isFlagged(flag);
+        }
+
+        Blob blob = blobs.get(index);
+        return blob != null && (blob.flags & (1 << flag.ordinal())) != 0;
     }
 
     /**
      * Clear all chunks from this tectonic plate
      */
     public void clear() {
+        dirty.set(true);
         for (int i = 0; i < chunks.length(); i++) {
             chunks.set(i, null);
+            blobs.set(i, null);
         }
     }
 
@@ -177,7 +358,10 @@ public class TectonicPlate {
      */
     @ChunkCoordinates
     public void delete(int x, int z) {
-        chunks.set(index(x, z), null);
+        int index = index(x, z);
+        blobs.set(index, null);
+        chunks.set(index, null);
+        dirty.set(true);
     }
 
     /**
@@ -189,12 +373,37 @@ public class TectonicPlate {
      */
     @ChunkCoordinates
     public MantleChunk getOrCreate(int x, int z) {
+        MantleChunk existing = get(x, z);
+        if (existing != null) {
+            return existing;
+        }
+
         return chunks.updateAndGet(index(x, z), chunk -> {
             if (chunk != null) return chunk;
             return new MantleChunk(sectionHeight, x & 31, z & 31);
         });
     }
 
+    /**
+     * Check if anything in this plate changed since it was read or last written
+     *
+     * @return true if the plate needs to be written
+     */
+    public boolean isDirty() {
+        if (dirty.get()) {
+            return true;
+        }
+
+        for (int i = 0; i < chunks.length(); i++) {
+            MantleChunk chunk = chunks.get(i);
+            if (chunk != null && (chunk.isDirty() || blobs.get(i) == null)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
     @ChunkCoordinates
     private int index(int x, int z) {
         return Cache.to1D(x, z, 0, 32, 32);
@@ -208,31 +417,90 @@ public class TectonicPlate {
      */
     public void write(File file) throws IOException {
         PrecisionStopwatch p = PrecisionStopwatch.start();
-        try (FileChannel fc = FileChannel.open(file.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.SYNC)) {
+        byte[][] data = new byte[chunks.length()][];
+        int[] flags = new int[chunks.length()];
+        var bytes = new ByteArrayOutputStream(8192);
+        int encoded = 0;
+        dirty.set(false);
+
+        for (int i = 0; i < chunks.length(); i++) {
+            MantleChunk chunk = chunks.get(i);
+            Blob blob = blobs.get(i);
+
+            if (chunk == null && blob != null && blob.version != VERSION) {
+                chunk = get(i);
+                blob = blobs.get(i);
+            }
+
+            if (chunk != null && (blob == null || blob.version != VERSION || chunk.isDirty())) {
+                chunk.clean();
+                try (DataOutputStream dos = new DataOutputStream(new LZ4BlockOutputStream(bytes))) {
+                    chunk.write(dos);
+                }
+                blob = new Blob(bytes.toByteArray(), chunk.getFlagMask(), VERSION);
+                blobs.set(i, blob);
+                bytes.reset();
+                encoded++;
+            }
+
+            if (blob != null) {
+                data[i] = blob.data;
+                flags[i] = blob.flags;
+            }
+        }
+
+        try (FileChannel fc = FileChannel.open(file.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
             fc.lock();
 
             OutputStream fos = Channels.newOutputStream(fc);
-            try (DataOutputStream dos = new DataOutputStream(new LZ4BlockOutputStream(fos))) {
-                write(dos);
-                Iris.debug("Saved Tectonic Plate " + C.DARK_GREEN + file.getName().split("\\Q.\\E")[0] + C.RED + " in " + Form.duration(p.getMilliseconds(), 2));
+            try (DataOutputStream dos = new DataOutputStream(new BufferedOutputStream(fos, 65536))) {
+                dos.writeInt(MAGIC);
+                dos.writeByte(VERSION);
+                dos.writeInt(x);
+                dos.writeInt(z);
+
+                int offset = HEADER_SIZE;
+                for (int i = 0; i < data.length; i++) {
+                    int length = data[i] == null ? 0 : data[i].length;
+                    dos.writeInt(length == 0 ? 0 : offset);
+                    dos.writeInt(length);
+                    dos.writeInt(flags[i]);
+                    offset += length;
+                }
+
+                for (byte[] i : data) {
+                    if (i != null) {
+                        dos.write(i);
+                    }
+                }
+
+                dos.flush();
+                fc.force(true);
+                Iris.debug("Saved Tectonic Plate " + C.DARK_GREEN + file.getName().split("\\Q.\\E")[0] + C.RED + " (" + encoded + " chunks encoded) in " + Form.duration(p.getMilliseconds(), 2));
             }
+        } catch (IOException e) {
+            dirty.set(true);
+            throw e;
         }
     }
 
     /**
-     * Write this tectonic plate to a data stream
+     * Write this tectonic plate to a data stream. The stream starts with a header carrying the format version,
+     * so chunks keep their flag count and object table when they are read back.
      *
      * @param dos the data output
      * @throws IOException shit happens
      */
     public void write(DataOutputStream dos) throws IOException {
+        dos.writeInt(STREAM_MAGIC);
+        dos.writeByte(VERSION);
         dos.writeInt(x);
         dos.writeInt(z);
 
         var bytes = new ByteArrayOutputStream(8192);
         var sub = new DataOutputStream(bytes);
         for (int i = 0; i < chunks.length(); i++) {
-            MantleChunk chunk = chunks.get(i);
+            MantleChunk chunk = get(i);
 
             if (chunk != null) {
                 try {
@@ -251,4 +519,7 @@ public class TectonicPlate {
     public static void addError() {
         errors.add(Thread.currentThread());
     }
+
+    private record Blob(byte[] data, int flags, int version) {
+    }
 }
@@ -381,6 +381,30 @@ public interface Matter {
      */
     Map<Class<?>, MatterSlice<?>> getSliceMap();
 
+    /**
+     * Check if any slice was written to since the last {@link #clean()}
+     *
+     * @return true if this matter has unsaved changes
+     */
+    default boolean isDirty() {
+        for (MatterSlice<?> i : getSliceMap().values()) {
+            if (i.isDirty()) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Mark all slices as clean (saved)
+     */
+    default void clean() {
+        for (MatterSlice<?> i : getSliceMap().values()) {
+            i.clean();
+        }
+    }
+
     default void write(File f) throws IOException {
         OutputStream out = new FileOutputStream(f);
         write(out);
@@ -61,6 +61,14 @@ public interface MatterSlice<T> extends Hunk<T>, PaletteType<T>, Writable<T> {
         return readNode(din);
     }
 
+    default boolean isDirty() {
+        return true;
+    }
+
+    default void clean() {
+
+    }
+
     default void applyFilter(MatterFilter<T> filter) {
         updateSync(filter::update);
     }
@@ -18,6 +18,7 @@
 
 package com.volmit.iris.util.matter.slices;
 
+import com.volmit.iris.util.data.BlockStates;
 import com.volmit.iris.util.data.IrisCustomData;
 import com.volmit.iris.util.data.palette.Palette;
 import com.volmit.iris.util.matter.Sliced;
@@ -58,11 +59,13 @@ public class BlockMatter extends RawMatter<BlockData> {
 
     @Override
     public void writeNode(BlockData b, DataOutputStream dos) throws IOException {
-        dos.writeUTF(b.getAsString(true));
+        dos.writeUTF(BlockStates.key(b));
     }
 
     @Override
     public BlockData readNode(DataInputStream din) throws IOException {
-        return Bukkit.createBlockData(din.readUTF());
+        String raw = din.readUTF();
+        BlockData b = BlockStates.parse(raw);
+        return b != null ? b : Bukkit.createBlockData(raw);
     }
 }
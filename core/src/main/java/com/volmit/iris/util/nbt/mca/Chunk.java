@@ -75,10 +75,14 @@ public class Chunk {
 
     public static Chunk newChunk() {
         World mainWorld = getServer().getWorlds().get(0);
+        return newChunk(mainWorld.getMinHeight(), mainWorld.getMaxHeight());
+    }
+
+    public static Chunk newChunk(int minHeight, int maxHeight) {
         Chunk c = new Chunk(0);
         c.dataVersion = DEFAULT_DATA_VERSION;
         c.data = new CompoundTag();
-        c.biomes = INMS.get().newBiomeContainer(mainWorld.getMinHeight(), mainWorld.getMaxHeight());
+        c.biomes = INMS.get().newBiomeContainer(minHeight, maxHeight);
         c.data.put("Level", defaultLevel());
         c.status = "full";
         return c;
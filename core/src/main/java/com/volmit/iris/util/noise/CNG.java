@@ -24,12 +24,13 @@ import com.volmit.iris.engine.object.NoiseStyle;
 import com.volmit.iris.util.cache.FloatCache;
 import com.volmit.iris.util.collection.KList;
 import com.volmit.iris.util.format.Form;
+import com.volmit.iris.util.function.Consumer2;
 import com.volmit.iris.util.function.NoiseInjector;
 import com.volmit.iris.util.interpolation.IrisInterpolation;
 import com.volmit.iris.util.math.RNG;
 import com.volmit.iris.util.scheduling.PrecisionStopwatch;
+import com.volmit.iris.util.stream.DoubleStream2D;
 import com.volmit.iris.util.stream.ProceduralStream;
-import com.volmit.iris.util.stream.arithmetic.FittedStream;
 import com.volmit.iris.util.stream.sources.CNGStream;
 import lombok.Data;
 
@@ -37,21 +38,24 @@ import java.io.DataOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
 
 @Data
 public class CNG {
-    public static final NoiseInjector ADD = (s, v) -> new double[]{s + v, 1};
-    public static final NoiseInjector SRC_SUBTRACT = (s, v) -> new double[]{s - v < 0 ? 0 : s - v, -1};
-    public static final NoiseInjector DST_SUBTRACT = (s, v) -> new double[]{v - s < 0 ? 0 : s - v, -1};
-    public static final NoiseInjector MULTIPLY = (s, v) -> new double[]{s * v, 0};
-    public static final NoiseInjector MAX = (s, v) -> new double[]{Math.max(s, v), 0};
-    public static final NoiseInjector MIN = (s, v) -> new double[]{Math.min(s, v), 0};
-    public static final NoiseInjector SRC_MOD = (s, v) -> new double[]{s % v, 0};
-    public static final NoiseInjector SRC_POW = (s, v) -> new double[]{Math.pow(s, v), 0};
-    public static final NoiseInjector DST_MOD = (s, v) -> new double[]{v % s, 0};
-    public static final NoiseInjector DST_POW = (s, v) -> new double[]{Math.pow(v, s), 0};
-    public static long hits = 0;
+    public static final NoiseInjector ADD = NoiseInjector.of(1, (s, v) -> s + v);
+    public static final NoiseInjector SRC_SUBTRACT = NoiseInjector.of(-1, (s, v) -> s - v < 0 ? 0 : s - v);
+    public static final NoiseInjector DST_SUBTRACT = NoiseInjector.of(-1, (s, v) -> v - s < 0 ? 0 : s - v);
+    public static final NoiseInjector MULTIPLY = NoiseInjector.of(0, (s, v) -> s * v);
+    public static final NoiseInjector MAX = NoiseInjector.of(0, Math::max);
+    public static final NoiseInjector MIN = NoiseInjector.of(0, Math::min);
+    public static final NoiseInjector SRC_MOD = NoiseInjector.of(0, (s, v) -> s % v);
+    public static final NoiseInjector SRC_POW = NoiseInjector.of(0, Math::pow);
+    public static final NoiseInjector DST_MOD = NoiseInjector.of(0, (s, v) -> v % s);
+    public static final NoiseInjector DST_POW = NoiseInjector.of(0, (s, v) -> Math.pow(v, s));
+    private static final LongAdder hits = new LongAdder();
+    private static final double[] ORIGIN = {0D};
     public static long creates = 0;
     private final double opacity;
     private double scale;
@@ -112,6 +116,13 @@ public class CNG {
         }
     }
 
+    /**
+     * @return the number of octaves sampled across all CNGs since startup
+     */
+    public static long getHits() {
+        return hits.sum();
+    }
+
     public static CNG signature(RNG rng) {
         return signature(rng, NoiseType.SIMPLEX);
     }
@@ -285,12 +296,12 @@ public class CNG {
         return generator;
     }
 
-    public ProceduralStream<Double> stream() {
+    public DoubleStream2D stream() {
         return new CNGStream(this);
     }
 
-    public ProceduralStream<Double> stream(double min, double max) {
-        return new FittedStream<>(stream(), min, max);
+    public DoubleStream2D stream(double min, double max) {
+        return stream().fit(min, max);
     }
 
     public CNG bake() {
@@ -385,6 +396,18 @@ public class CNG {
         return fit(rarityMapped, dim);
     }
 
+    public <T> T fit(T[] v, double x, double z) {
+        if (v.length == 0) {
+            return null;
+        }
+
+        if (v.length == 1) {
+            return v[0];
+        }
+
+        return v[fit(0, v.length - 1, x, z)];
+    }
+
     public <T> T fit(T[] v, double... dim) {
         if (v.length == 0) {
             return null;
@@ -397,6 +420,24 @@ public class CNG {
         return v[fit(0, v.length - 1, dim)];
     }
 
+    public <T> T fit(List<T> v, double x, double z) {
+        if (v.size() == 0) {
+            return null;
+        }
+
+        if (v.size() == 1) {
+            return v.get(0);
+        }
+
+        try {
+            return v.get(fit(0, v.size() - 1, x, z));
+        } catch (Throwable e) {
+            Iris.reportError(e);
+        }
+
+        return v.get(0);
+    }
+
     public <T> T fit(List<T> v, double... dim) {
         if (v.size() == 0) {
             return null;
@@ -415,6 +456,22 @@ public class CNG {
         return v.get(0);
     }
 
+    public int fit(int min, int max, double x, double z) {
+        if (min == max) {
+            return min;
+        }
+
+        return (int) Math.round(IrisInterpolation.lerp(min, max, noise2(x, z)));
+    }
+
+    public int fit(int min, int max, double x, double y, double z) {
+        if (min == max) {
+            return min;
+        }
+
+        return (int) Math.round(IrisInterpolation.lerp(min, max, noise3(x, y, z)));
+    }
+
     public int fit(int min, int max, double... dim) {
         if (min == max) {
             return min;
@@ -425,6 +482,22 @@ public class CNG {
         return (int) Math.round(IrisInterpolation.lerp(min, max, noise));
     }
 
+    public int fit(double min, double max, double x, double z) {
+        if (min == max) {
+            return (int) Math.round(min);
+        }
+
+        return (int) Math.round(IrisInterpolation.lerp(min, max, noise2(x, z)));
+    }
+
+    public int fit(double min, double max, double x, double y, double z) {
+        if (min == max) {
+            return (int) Math.round(min);
+        }
+
+        return (int) Math.round(IrisInterpolation.lerp(min, max, noise3(x, y, z)));
+    }
+
     public int fit(double min, double max, double... dim) {
         if (min == max) {
             return (int) Math.round(min);
@@ -435,6 +508,22 @@ public class CNG {
         return (int) Math.round(IrisInterpolation.lerp(min, max, noise));
     }
 
+    public double fitDouble(double min, double max, double x, double z) {
+        if (min == max) {
+            return min;
+        }
+
+        return IrisInterpolation.lerp(min, max, noise2(x, z));
+    }
+
+    public double fitDouble(double min, double max, double x, double y, double z) {
+        if (min == max) {
+            return min;
+        }
+
+        return IrisInterpolation.lerp(min, max, noise3(x, y, z));
+    }
+
     public double fitDouble(double min, double max, double... dim) {
         if (min == max) {
             return min;
@@ -445,6 +534,41 @@ public class CNG {
         return IrisInterpolation.lerp(min, max, noise);
     }
 
+    private double getNoise2(double x, double z) {
+        double scale = noscale ? 1 : this.bakedScale * this.scale;
+
+        if (fracture == null || noscale) {
+            return generator.noise(x * scale, z * scale, 0D) * opacity;
+        }
+
+        if (fracture.isTrueFracturing()) {
+            double fx = x + ((fracture.noise2(x, z) - 0.5) * fscale);
+            double fz = z + ((fracture.noise2(z, x) - 0.5) * fscale);
+            return generator.noise(fx * scale, fz * scale, 0D) * opacity;
+        }
+
+        double f = fracture.noise2(x, z) * fscale;
+        return generator.noise((x + f) * scale, (z - f) * scale, 0D) * opacity;
+    }
+
+    private double getNoise3(double x, double y, double z) {
+        double scale = noscale ? 1 : this.bakedScale * this.scale;
+
+        if (fracture == null || noscale) {
+            return generator.noise(x * scale, y * scale, z * scale) * opacity;
+        }
+
+        if (fracture.isTrueFracturing()) {
+            double fx = x + ((fracture.noise3(x, y, z) - 0.5) * fscale);
+            double fy = y + ((fracture.noise2(y, x) - 0.5) * fscale);
+            double fz = z + ((fracture.noise3(z, x, y) - 0.5) * fscale);
+            return generator.noise(fx * scale, fy * scale, fz * scale) * opacity;
+        }
+
+        double f = fracture.noise3(x, y, z) * fscale;
+        return generator.noise((x + f) * scale, (y - f) * scale, (z - f) * scale) * opacity;
+    }
+
     private double getNoise(double... dim) {
         double scale = noscale ? 1 : this.bakedScale * this.scale;
 
@@ -485,15 +609,185 @@ public class CNG {
         return (noise(dim) * 2) - 1;
     }
 
+    public double noise(double x, double z) {
+        return noise2(x, z);
+    }
+
+    public double noise(double x, double y, double z) {
+        return noise3(x, y, z);
+    }
+
+    public double noise2(double x, double z) {
+        if (cache != null) {
+            return cache.get((int) x, (int) z);
+        }
+
+        double n = power(getNoise2(x, z));
+        hits.add(oct);
+
+        if (children == null) {
+            return (n - down + up) * patch;
+        }
+
+        double m = 1;
+        if (injector instanceof NoiseInjector.Primitive p) {
+            for (int i = 0; i < children.size(); i++) {
+                n = p.inject(n, children.get(i).noise2(x, z));
+            }
+
+            m += children.size() * p.weight();
+        } else {
+            for (int i = 0; i < children.size(); i++) {
+                double[] r = injector.combine(n, children.get(i).noise2(x, z));
+                n = r[0];
+                m += r[1];
+            }
+        }
+
+        return ((n / m) - down + up) * patch;
+    }
+
+    public double noise3(double x, double y, double z) {
+        double n = power(getNoise3(x, y, z));
+        hits.add(oct);
+
+        if (children == null) {
+            return (n - down + up) * patch;
+        }
+
+        double m = 1;
+        if (injector instanceof NoiseInjector.Primitive p) {
+            for (int i = 0; i < children.size(); i++) {
+                n = p.inject(n, children.get(i).noise3(x, y, z));
+            }
+
+            m += children.size() * p.weight();
+        } else {
+            for (int i = 0; i < children.size(); i++) {
+                double[] r = injector.combine(n, children.get(i).noise3(x, y, z));
+                n = r[0];
+                m += r[1];
+            }
+        }
+
+        return ((n / m) - down + up) * patch;
+    }
+
+    /**
+     * Bulk form of {@link #noise2(double, double)} over the grid spanned by xs and zs, written to out[(j * xs.length) + i].
+     * Unfractured generators are sampled through {@link NoiseGenerator#fill(double[], double[], double[], double[])}.
+     */
+    public void fill(double[] out, double[] xs, double[] zs) {
+        int w = xs.length;
+
+        if (cache != null || (fracture != null && !noscale)) {
+            for (int j = 0; j < zs.length; j++) {
+                for (int i = 0; i < w; i++) {
+                    out[(j * w) + i] = noise2(xs[i], zs[j]);
+                }
+            }
+
+            return;
+        }
+
+        double scale = noscale ? 1 : this.bakedScale * this.scale;
+        generator.fill(out, scaled(xs, scale), scaled(zs, scale), ORIGIN);
+        post(out, w * zs.length, (c, v) -> c.fill(v, xs, zs));
+    }
+
+    /**
+     * Bulk form of {@link #noise3(double, double, double)}, written to out[(((k * zs.length) + j) * xs.length) + i]
+     */
+    public void fill(double[] out, double[] xs, double[] ys, double[] zs) {
+        int w = xs.length;
+        int d = zs.length;
+
+        if (fracture != null && !noscale) {
+            for (int k = 0; k < ys.length; k++) {
+                for (int j = 0; j < d; j++) {
+                    for (int i = 0; i < w; i++) {
+                        out[(((k * d) + j) * w) + i] = noise3(xs[i], ys[k], zs[j]);
+                    }
+                }
+            }
+
+            return;
+        }
+
+        double scale = noscale ? 1 : this.bakedScale * this.scale;
+        generator.fill(out, scaled(xs, scale), scaled(ys, scale), scaled(zs, scale));
+        post(out, w * d * ys.length, (c, v) -> c.fill(v, xs, ys, zs));
+    }
+
+    private void post(double[] out, int size, Consumer2<CNG, double[]> children) {
+        hits.add((long) oct * size);
+
+        for (int i = 0; i < size; i++) {
+            out[i] = power(out[i] * opacity);
+        }
+
+        if (this.children == null) {
+            for (int i = 0; i < size; i++) {
+                out[i] = (out[i] - down + up) * patch;
+            }
+
+            return;
+        }
+
+        double[] v = new double[size];
+        if (injector instanceof NoiseInjector.Primitive p) {
+            for (int c = 0; c < this.children.size(); c++) {
+                children.accept(this.children.get(c), v);
+                for (int i = 0; i < size; i++) {
+                    out[i] = p.inject(out[i], v[i]);
+                }
+            }
+
+            double m = 1 + this.children.size() * p.weight();
+            for (int i = 0; i < size; i++) {
+                out[i] = ((out[i] / m) - down + up) * patch;
+            }
+
+            return;
+        }
+
+        double[] m = new double[size];
+        Arrays.fill(m, 0, size, 1D);
+        for (int c = 0; c < this.children.size(); c++) {
+            children.accept(this.children.get(c), v);
+            for (int i = 0; i < size; i++) {
+                double[] r = injector.combine(out[i], v[i]);
+                out[i] = r[0];
+                m[i] += r[1];
+            }
+        }
+
+        for (int i = 0; i < size; i++) {
+            out[i] = ((out[i] / m[i]) - down + up) * patch;
+        }
+    }
+
+    private static double[] scaled(double[] v, double scale) {
+        double[] s = new double[v.length];
+        for (int i = 0; i < v.length; i++) {
+            s[i] = v[i] * scale;
+        }
+
+        return s;
+    }
+
     public double noise(double... dim) {
-        if (cache != null && dim.length == 2) {
-            return cache.get((int) dim[0], (int) dim[1]);
+        if (dim.length == 2) {
+            return noise2(dim[0], dim[1]);
+        }
+
+        if (dim.length == 3) {
+            return noise3(dim[0], dim[1], dim[2]);
         }
 
-        double n = getNoise(dim);
-        n = power != 1D ? (n < 0 ? -Math.pow(Math.abs(n), power) : Math.pow(n, power)) : n;
+        double n = power(getNoise(dim));
         double m = 1;
-        hits += oct;
+        hits.add(oct);
         if (children == null) {
             return (n - down + up) * patch;
         }
@@ -507,6 +801,10 @@ public class CNG {
         return ((n / m) - down + up) * patch;
     }
 
+    private double power(double n) {
+        return power != 1D ? (n < 0 ? -Math.pow(Math.abs(n), power) : Math.pow(n, power)) : n;
+    }
+
     public CNG pow(double power) {
         this.power = power;
         return this;
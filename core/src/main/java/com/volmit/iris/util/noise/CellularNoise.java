@@ -44,4 +44,46 @@ public class CellularNoise implements NoiseGenerator {
     public double noise(double x, double y, double z) {
         return (n.GetCellular((float) x, (float) y, (float) z) / 2D) + 0.5D;
     }
+
+    @Override
+    public void fill(double[] out, double[] xs, double[] zs) {
+        int w = xs.length;
+        float[] fx = floats(xs);
+
+        for (int j = 0; j < zs.length; j++) {
+            float z = (float) zs[j];
+            int o = j * w;
+            for (int i = 0; i < w; i++) {
+                out[o + i] = (n.GetCellular(fx[i], z) / 2D) + 0.5D;
+            }
+        }
+    }
+
+    @Override
+    public void fill(double[] out, double[] xs, double[] ys, double[] zs) {
+        int w = xs.length;
+        int d = zs.length;
+        float[] fx = floats(xs);
+        float[] fz = floats(zs);
+
+        for (int k = 0; k < ys.length; k++) {
+            float y = (float) ys[k];
+            for (int j = 0; j < d; j++) {
+                float z = fz[j];
+                int o = ((k * d) + j) * w;
+                for (int i = 0; i < w; i++) {
+                    out[o + i] = (n.GetCellular(fx[i], y, z) / 2D) + 0.5D;
+                }
+            }
+        }
+    }
+
+    private static float[] floats(double[] v) {
+        float[] f = new float[v.length];
+        for (int i = 0; i < v.length; i++) {
+            f[i] = (float) v[i];
+        }
+
+        return f;
+    }
 }
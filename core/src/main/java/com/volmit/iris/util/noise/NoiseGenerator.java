@@ -28,6 +28,61 @@ public interface NoiseGenerator {
 
     double noise(double x, double y, double z);
 
+    /**
+     * Samples a w x d grid at ((x0 + i) * scale, (z0 + j) * scale) into out[(j * w) + i]
+     */
+    default void fill(double[] out, int x0, int z0, int w, int d, double scale) {
+        fill(out, lattice(x0, w, scale), lattice(z0, d, scale));
+    }
+
+    /**
+     * Samples a w x h x d grid at ((x0 + i) * scale, (y0 + k) * scale, (z0 + j) * scale) into out[(((k * d) + j) * w) + i]
+     */
+    default void fill(double[] out, int x0, int y0, int z0, int w, int h, int d, double scale) {
+        fill(out, lattice(x0, w, scale), lattice(y0, h, scale), lattice(z0, d, scale));
+    }
+
+    /**
+     * Samples the grid spanned by the given axis coordinates into out[(j * xs.length) + i]
+     */
+    default void fill(double[] out, double[] xs, double[] zs) {
+        int w = xs.length;
+        for (int j = 0; j < zs.length; j++) {
+            double z = zs[j];
+            int o = j * w;
+            for (int i = 0; i < w; i++) {
+                out[o + i] = noise(xs[i], z);
+            }
+        }
+    }
+
+    /**
+     * Samples the grid spanned by the given axis coordinates into out[(((k * zs.length) + j) * xs.length) + i]
+     */
+    default void fill(double[] out, double[] xs, double[] ys, double[] zs) {
+        int w = xs.length;
+        int d = zs.length;
+        for (int k = 0; k < ys.length; k++) {
+            double y = ys[k];
+            for (int j = 0; j < d; j++) {
+                double z = zs[j];
+                int o = ((k * d) + j) * w;
+                for (int i = 0; i < w; i++) {
+                    out[o + i] = noise(xs[i], y, z);
+                }
+            }
+        }
+    }
+
+    static double[] lattice(int start, int length, double scale) {
+        double[] v = new double[length];
+        for (int i = 0; i < length; i++) {
+            v[i] = (start + i) * scale;
+        }
+
+        return v;
+    }
+
     default boolean isStatic() {
         return false;
     }
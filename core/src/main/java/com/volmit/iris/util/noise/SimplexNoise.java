@@ -20,6 +20,8 @@ package com.volmit.iris.util.noise;
 
 import com.volmit.iris.util.math.RNG;
 
+import java.util.Arrays;
+
 public class SimplexNoise implements NoiseGenerator, OctaveNoise {
     private final FastNoiseDouble n;
     private int octaves;
@@ -87,6 +89,77 @@ public class SimplexNoise implements NoiseGenerator, OctaveNoise {
         return f(v / m);
     }
 
+    @Override
+    public void fill(double[] out, double[] xs, double[] zs) {
+        int w = xs.length;
+        int d = zs.length;
+
+        if (octaves <= 1) {
+            for (int j = 0; j < d; j++) {
+                double z = zs[j];
+                int o = j * w;
+                for (int i = 0; i < w; i++) {
+                    out[o + i] = f(n.GetSimplex(xs[i], z));
+                }
+            }
+
+            return;
+        }
+
+        Arrays.fill(out, 0, w * d, 0D);
+        double f = 1;
+        double m = 0;
+
+        for (int oc = 0; oc < octaves; oc++) {
+            f = f == 1 ? f + 1 : f * 2;
+            for (int j = 0; j < d; j++) {
+                double z = zs[j] * f;
+                int o = j * w;
+                for (int i = 0; i < w; i++) {
+                    out[o + i] += n.GetSimplex(xs[i] * f, z) * f;
+                }
+            }
+            m += f;
+        }
+
+        for (int i = 0; i < w * d; i++) {
+            out[i] = f(out[i] / m);
+        }
+    }
+
+    @Override
+    public void fill(double[] out, double[] xs, double[] ys, double[] zs) {
+        int w = xs.length;
+        int d = zs.length;
+        int size = w * d * ys.length;
+        double f = 1;
+        double m = 0;
+        int oct = Math.max(octaves, 1);
+
+        Arrays.fill(out, 0, size, 0D);
+        for (int oc = 0; oc < oct; oc++) {
+            if (octaves > 1) {
+                f = f == 1 ? f + 1 : f * 2;
+            }
+
+            for (int k = 0; k < ys.length; k++) {
+                double y = ys[k] * f;
+                for (int j = 0; j < d; j++) {
+                    double z = zs[j] * f;
+                    int o = ((k * d) + j) * w;
+                    for (int i = 0; i < w; i++) {
+                        out[o + i] += n.GetSimplex(xs[i] * f, y, z) * f;
+                    }
+                }
+            }
+            m += f;
+        }
+
+        for (int i = 0; i < size; i++) {
+            out[i] = f(out[i] / m);
+        }
+    }
+
     @Override
     public void setOctaves(int o) {
         octaves = o;
@@ -0,0 +1,285 @@
+/*
+ * Iris is a World Generator for Minecraft Bukkit Servers
+ * Copyright (c) 2022 Arcane Arts (Volmit Software)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package com.volmit.iris.util.stream;
+
+import com.volmit.iris.engine.framework.Engine;
+import com.volmit.iris.util.function.Function2;
+import com.volmit.iris.util.function.NoiseProvider;
+import com.volmit.iris.util.function.NoiseProvider3;
+import com.volmit.iris.util.interpolation.InterpolationMethod;
+import com.volmit.iris.util.stream.arithmetic.DoubleMappedStream;
+import com.volmit.iris.util.stream.arithmetic.DoubleOperatorStream;
+import com.volmit.iris.util.stream.arithmetic.DoubleSlopeStream;
+import com.volmit.iris.util.stream.arithmetic.DoubleTransformStream;
+import com.volmit.iris.util.stream.convert.DoubleAdapterStream;
+import com.volmit.iris.util.stream.interpolation.DoubleInterpolatingStream;
+import com.volmit.iris.util.stream.sources.DoubleFunctionStream;
+import com.volmit.iris.util.stream.utility.CachedDoubleStream2D;
+
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * A primitive specialization of {@link ProceduralStream} for double valued streams.
+ * {@link #getDouble(double, double)} is the real sampling path, the boxed {@link #get(double, double)}
+ * is only kept as an adapter so these streams can still be used anywhere a ProceduralStream&lt;Double&gt; is expected.
+ * Chained operations on a double stream stay primitive as long as both sides are double streams.
+ */
+public interface DoubleStream2D extends ProceduralStream<Double> {
+    static DoubleStream2D of(NoiseProvider f) {
+        return of(f, (x, y, z) -> f.noise(x, z));
+    }
+
+    static DoubleStream2D of(NoiseProvider f, NoiseProvider3 f3) {
+        return new DoubleFunctionStream(f, f3);
+    }
+
+    /**
+     * @param chunkFill computes a whole chunk aligned 16x16 block at once, it must give the same values as f
+     */
+    static DoubleStream2D of(NoiseProvider f, NoiseProvider3 f3, ChunkFill chunkFill) {
+        return new DoubleFunctionStream(f, f3, chunkFill);
+    }
+
+    static DoubleStream2D of(double v) {
+        return of((x, z) -> v, (x, y, z) -> v);
+    }
+
+    static DoubleStream2D wrap(ProceduralStream<?> stream) {
+        if (stream instanceof DoubleStream2D d) {
+            return d;
+        }
+
+        return new DoubleAdapterStream(stream);
+    }
+
+    @Override
+    double getDouble(double x, double z);
+
+    @Override
+    double getDouble(double x, double y, double z);
+
+    default double getDouble(int x, int z) {
+        return getDouble((double) x, (double) z);
+    }
+
+    /**
+     * Samples a w x d block of integer coordinates starting at x, z into out[(j * w) + i].
+     * Sources which can evaluate a whole grid at once override this.
+     */
+    default void fill(double[] out, int x, int z, int w, int d) {
+        for (int j = 0; j < d; j++) {
+            for (int i = 0; i < w; i++) {
+                out[(j * w) + i] = getDouble(x + i, z + j);
+            }
+        }
+    }
+
+    @Override
+    default Double get(double x, double z) {
+        return getDouble(x, z);
+    }
+
+    @Override
+    default Double get(double x, double y, double z) {
+        return getDouble(x, y, z);
+    }
+
+    @Override
+    default double toDouble(Double t) {
+        return t;
+    }
+
+    @Override
+    default Double fromDouble(double d) {
+        return d;
+    }
+
+    default DoubleStream2D map(DoubleUnaryOperator f) {
+        return new DoubleMappedStream(this, f);
+    }
+
+    default DoubleStream2D add(DoubleStream2D a) {
+        return new DoubleOperatorStream(this, DoubleOperatorStream.Operator.ADD, a);
+    }
+
+    default DoubleStream2D subtract(DoubleStream2D a) {
+        return new DoubleOperatorStream(this, DoubleOperatorStream.Operator.SUBTRACT, a);
+    }
+
+    default DoubleStream2D multiply(DoubleStream2D a) {
+        return new DoubleOperatorStream(this, DoubleOperatorStream.Operator.MULTIPLY, a);
+    }
+
+    default DoubleStream2D divide(DoubleStream2D a) {
+        return new DoubleOperatorStream(this, DoubleOperatorStream.Operator.DIVIDE, a);
+    }
+
+    default DoubleStream2D max(DoubleStream2D a) {
+        return new DoubleOperatorStream(this, DoubleOperatorStream.Operator.MAX, a);
+    }
+
+    default DoubleStream2D min(DoubleStream2D a) {
+        return new DoubleOperatorStream(this, DoubleOperatorStream.Operator.MIN, a);
+    }
+
+    @Override
+    default DoubleStream2D add(ProceduralStream<Double> a) {
+        return add(wrap(a));
+    }
+
+    @Override
+    default DoubleStream2D subtract(ProceduralStream<Double> a) {
+        return subtract(wrap(a));
+    }
+
+    @Override
+    default DoubleStream2D add(Function2<Double, Double, Double> a) {
+        return add(of((x, z) -> a.apply(x, z)));
+    }
+
+    @Override
+    default DoubleStream2D subtract(Function2<Double, Double, Double> a) {
+        return subtract(of((x, z) -> a.apply(x, z)));
+    }
+
+    @Override
+    default DoubleStream2D multiply(Function2<Double, Double, Double> a) {
+        return multiply(of((x, z) -> a.apply(x, z)));
+    }
+
+    @Override
+    default DoubleStream2D divide(Function2<Double, Double, Double> a) {
+        return divide(of((x, z) -> a.apply(x, z)));
+    }
+
+    @Override
+    default DoubleStream2D max(Function2<Double, Double, Double> a) {
+        return max(of((x, z) -> a.apply(x, z)));
+    }
+
+    @Override
+    default DoubleStream2D min(Function2<Double, Double, Double> a) {
+        return min(of((x, z) -> a.apply(x, z)));
+    }
+
+    @Override
+    default DoubleStream2D add(double a) {
+        return map((v) -> v + a);
+    }
+
+    @Override
+    default DoubleStream2D subtract(double a) {
+        return map((v) -> v - a);
+    }
+
+    @Override
+    default DoubleStream2D multiply(double a) {
+        return map((v) -> v * a);
+    }
+
+    @Override
+    default DoubleStream2D divide(double a) {
+        return map((v) -> v / a);
+    }
+
+    @Override
+    default DoubleStream2D modulo(double a) {
+        return map((v) -> v % a);
+    }
+
+    @Override
+    default DoubleStream2D max(double a) {
+        return map((v) -> Math.max(a, v));
+    }
+
+    @Override
+    default DoubleStream2D min(double a) {
+        return map((v) -> Math.min(a, v));
+    }
+
+    @Override
+    default DoubleStream2D clamp(double min, double max) {
+        return map((v) -> Math.max(Math.min(v, max), min));
+    }
+
+    @Override
+    default DoubleStream2D fit(double min, double max) {
+        return fit(0, 1, min, max);
+    }
+
+    @Override
+    default DoubleStream2D fit(double inMin, double inMax, double min, double max) {
+        return map((v) -> min + ((max - min) * ((v - inMin) / (inMax - inMin))));
+    }
+
+    @Override
+    default DoubleStream2D slope() {
+        return slope(1);
+    }
+
+    @Override
+    default DoubleStream2D slope(int range) {
+        return new DoubleSlopeStream(this, range);
+    }
+
+    @Override
+    default DoubleStream2D offset(double x, double y, double z) {
+        return DoubleTransformStream.offset(this, x, y, z);
+    }
+
+    @Override
+    default DoubleStream2D offset(double x, double z) {
+        return offset(x, 0, z);
+    }
+
+    @Override
+    default DoubleStream2D zoom(double x, double y, double z) {
+        return DoubleTransformStream.zoom(this, x, y, z);
+    }
+
+    @Override
+    default DoubleStream2D zoom(double x, double z) {
+        return zoom(x, 1, z);
+    }
+
+    @Override
+    default DoubleStream2D zoom(double all) {
+        return zoom(all, all, all);
+    }
+
+    @Override
+    default DoubleStream2D waste(String name) {
+        return this;
+    }
+
+    default DoubleStream2D interpolate(InterpolationMethod method, int radius) {
+        return new DoubleInterpolatingStream(this, radius, method);
+    }
+
+    @Override
+    default CachedDoubleStream2D cache2D(String name, Engine engine, int size) {
+        return new CachedDoubleStream2D(name, engine, this, size);
+    }
+
+    @FunctionalInterface
+    interface ChunkFill {
+        void fill(double[] out, int x, int z);
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Iris is a World Generator for Minecraft Bukkit Servers
+ * Copyright (c) 2022 Arcane Arts (Volmit Software)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package com.volmit.iris.util.stream.arithmetic;
+
+import com.volmit.iris.util.stream.BasicDoubleStream;
+import com.volmit.iris.util.stream.DoubleStream2D;
+
+public class DoubleOperatorStream extends BasicDoubleStream {
+    private final Operator operator;
+    private final DoubleStream2D operand;
+
+    public DoubleOperatorStream(DoubleStream2D stream, Operator operator, DoubleStream2D operand) {
+        super(stream);
+        this.operator = operator;
+        this.operand = operand;
+    }
+
+    @Override
+    public double getDouble(double x, double z) {
+        return operator.apply(getTypedSource().getDouble(x, z), operand.getDouble(x, z));
+    }
+
+    @Override
+    public double getDouble(double x, double y, double z) {
+        return operator.apply(getTypedSource().getDouble(x, y, z), operand.getDouble(x, y, z));
+    }
+
+    public enum Operator {
+        ADD,
+        SUBTRACT,
+        MULTIPLY,
+        DIVIDE,
+        MAX,
+        MIN;
+
+        public double apply(double v, double a) {
+            return switch (this) {
+                case ADD -> a + v;
+                case SUBTRACT -> v - a;
+                case MULTIPLY -> v * a;
+                case DIVIDE -> v / a;
+                case MAX -> Math.max(a, v);
+                case MIN -> Math.min(a, v);
+            };
+        }
+    }
+}
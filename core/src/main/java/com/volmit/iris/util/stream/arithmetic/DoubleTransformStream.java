@@ -0,0 +1,63 @@
+/*
+ * Iris is a World Generator for Minecraft Bukkit Servers
+ * Copyright (c) 2022 Arcane Arts (Volmit Software)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package com.volmit.iris.util.stream.arithmetic;
+
+import com.volmit.iris.util.stream.BasicDoubleStream;
+import com.volmit.iris.util.stream.DoubleStream2D;
+
+/**
+ * Coordinate transform for double streams. Samples the source at (x / zoom) + offset.
+ */
+public class DoubleTransformStream extends BasicDoubleStream {
+    private final double zx;
+    private final double zy;
+    private final double zz;
+    private final double ox;
+    private final double oy;
+    private final double oz;
+
+    public DoubleTransformStream(DoubleStream2D stream, double zx, double zy, double zz, double ox, double oy, double oz) {
+        super(stream);
+        this.zx = zx;
+        this.zy = zy;
+        this.zz = zz;
+        this.ox = ox;
+        this.oy = oy;
+        this.oz = oz;
+    }
+
+    public static DoubleTransformStream zoom(DoubleStream2D stream, double x, double y, double z) {
+        return new DoubleTransformStream(stream, x, y, z, 0, 0, 0);
+    }
+
+    public static DoubleTransformStream offset(DoubleStream2D stream, double x, double y, double z) {
+        return new DoubleTransformStream(stream, 1, 1, 1, x, y, z);
+    }
+
+    @Override
+    public double getDouble(double x, double z) {
+        return getTypedSource().getDouble((x / zx) + ox, (z / zz) + oz);
+    }
+
+    @Override
+    public double getDouble(double x, double y, double z) {
+        return getTypedSource().getDouble((x / zx) + ox, (y / zy) + oy, (z / zz) + oz);
+    }
+}
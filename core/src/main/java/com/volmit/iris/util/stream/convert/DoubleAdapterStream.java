@@ -0,0 +1,56 @@
+/*
+ * Iris is a World Generator for Minecraft Bukkit Servers
+ * Copyright (c) 2022 Arcane Arts (Volmit Software)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package com.volmit.iris.util.stream.convert;
+
+import com.volmit.iris.util.stream.BasicLayer;
+import com.volmit.iris.util.stream.DoubleStream2D;
+import com.volmit.iris.util.stream.ProceduralStream;
+
+/**
+ * Exposes any stream as a double stream through its {@link ProceduralStream#getDouble(double, double)} view.
+ */
+public class DoubleAdapterStream extends BasicLayer implements DoubleStream2D {
+    private final ProceduralStream<?> stream;
+
+    public DoubleAdapterStream(ProceduralStream<?> stream) {
+        super();
+        this.stream = stream;
+    }
+
+    @Override
+    public double getDouble(double x, double z) {
+        return stream.getDouble(x, z);
+    }
+
+    @Override
+    public double getDouble(double x, double y, double z) {
+        return stream.getDouble(x, y, z);
+    }
+
+    @Override
+    public ProceduralStream<Double> getTypedSource() {
+        return null;
+    }
+
+    @Override
+    public ProceduralStream<?> getSource() {
+        return stream;
+    }
+}
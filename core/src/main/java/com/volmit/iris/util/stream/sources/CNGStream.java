@@ -20,9 +20,10 @@ package com.volmit.iris.util.stream.sources;
 
 import com.volmit.iris.util.noise.CNG;
 import com.volmit.iris.util.stream.BasicLayer;
+import com.volmit.iris.util.stream.DoubleStream2D;
 import com.volmit.iris.util.stream.ProceduralStream;
 
-public class CNGStream extends BasicLayer implements ProceduralStream<Double> {
+public class CNGStream extends BasicLayer implements DoubleStream2D {
     private final CNG cng;
 
     public CNGStream(CNG cng) {
@@ -39,16 +40,6 @@ public class CNGStream extends BasicLayer implements ProceduralStream<Double> {
         this.cng = cng;
     }
 
-    @Override
-    public double toDouble(Double t) {
-        return t;
-    }
-
-    @Override
-    public Double fromDouble(double d) {
-        return d;
-    }
-
     @Override
     public ProceduralStream<Double> getTypedSource() {
         return null;
@@ -60,13 +51,29 @@ public class CNGStream extends BasicLayer implements ProceduralStream<Double> {
     }
 
     @Override
-    public Double get(double x, double z) {
-        return cng.noise((x + getOffsetX()) / getZoom(), (z + getOffsetZ()) / getZoom());
+    public double getDouble(double x, double z) {
+        return cng.noise2((x + getOffsetX()) / getZoom(), (z + getOffsetZ()) / getZoom());
     }
 
     @Override
-    public Double get(double x, double y, double z) {
-        return cng.noise((x + getOffsetX()) / getZoom(), (y + getOffsetY()) / getZoom(), (z + getOffsetZ()) * getZoom());
+    public double getDouble(double x, double y, double z) {
+        return cng.noise3((x + getOffsetX()) / getZoom(), (y + getOffsetY()) / getZoom(), (z + getOffsetZ()) * getZoom());
+    }
+
+    @Override
+    public void fill(double[] out, int x, int z, int w, int d) {
+        double[] xs = new double[w];
+        double[] zs = new double[d];
+
+        for (int i = 0; i < w; i++) {
+            xs[i] = ((double) (x + i) + getOffsetX()) / getZoom();
+        }
+
+        for (int j = 0; j < d; j++) {
+            zs[j] = ((double) (z + j) + getOffsetZ()) / getZoom();
+        }
+
+        cng.fill(out, xs, zs);
     }
 
 }
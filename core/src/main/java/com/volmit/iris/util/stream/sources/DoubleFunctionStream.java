@@ -0,0 +1,61 @@
+/*
+ * Iris is a World Generator for Minecraft Bukkit Servers
+ * Copyright (c) 2022 Arcane Arts (Volmit Software)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package com.volmit.iris.util.stream.sources;
+
+import com.volmit.iris.util.function.NoiseProvider;
+import com.volmit.iris.util.function.NoiseProvider3;
+import com.volmit.iris.util.stream.BasicDoubleStream;
+
+public class DoubleFunctionStream extends BasicDoubleStream {
+    private final NoiseProvider f2;
+    private final NoiseProvider3 f3;
+    private final ChunkFill chunkFill;
+
+    public DoubleFunctionStream(NoiseProvider f2, NoiseProvider3 f3) {
+        this(f2, f3, null);
+    }
+
+    public DoubleFunctionStream(NoiseProvider f2, NoiseProvider3 f3, ChunkFill chunkFill) {
+        super();
+        this.f2 = f2;
+        this.f3 = f3;
+        this.chunkFill = chunkFill;
+    }
+
+    @Override
+    public double getDouble(double x, double z) {
+        return f2.noise(x, z);
+    }
+
+    @Override
+    public double getDouble(double x, double y, double z) {
+        return f3.noise(x, y, z);
+    }
+
+    @Override
+    public void fill(double[] out, int x, int z, int w, int d) {
+        if (chunkFill != null && w == 16 && d == 16 && (x & 15) == 0 && (z & 15) == 0) {
+            chunkFill.fill(out, x, z);
+            return;
+        }
+
+        super.fill(out, x, z, w, d);
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Iris is a World Generator for Minecraft Bukkit Servers
+ * Copyright (c) 2022 Arcane Arts (Volmit Software)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package com.volmit.iris.util.stream.utility;
+
+import com.volmit.iris.Iris;
+import com.volmit.iris.core.service.PreservationSVC;
+import com.volmit.iris.engine.framework.Engine;
+import com.volmit.iris.engine.framework.MeteredCache;
+import com.volmit.iris.util.cache.WorldDoubleCache2D;
+import com.volmit.iris.util.data.KCache;
+import com.volmit.iris.util.stream.BasicDoubleStream;
+import com.volmit.iris.util.stream.DoubleStream2D;
+
+public class CachedDoubleStream2D extends BasicDoubleStream implements MeteredCache {
+    private final WorldDoubleCache2D cache;
+    private final Engine engine;
+
+    public CachedDoubleStream2D(String name, Engine engine, DoubleStream2D stream, int size) {
+        super(stream);
+        this.engine = engine;
+        cache = new WorldDoubleCache2D(stream::getDouble);
+        PreservationSVC preservation = Iris.service(PreservationSVC.class);
+
+        if (preservation != null) {
+            preservation.registerCache(this);
+        }
+    }
+
+    @Override
+    public double getDouble(int x, int z) {
+        return cache.get(x, z);
+    }
+
+    @Override
+    public double getDouble(double x, double z) {
+        return cache.get((int) x, (int) z);
+    }
+
+    @Override
+    public double getDouble(double x, double y, double z) {
+        return getTypedSource().getDouble(x, y, z);
+    }
+
+    @Override
+    public void fill(double[] out, int x, int z, int w, int d) {
+        if (w == 16 && d == 16 && (x & 15) == 0 && (z & 15) == 0) {
+            cache.fill(out, x, z, (v) -> getTypedSource().fill(v, x, z, 16, 16));
+            return;
+        }
+
+        super.fill(out, x, z, w, d);
+    }
+
+    @Override
+    public long getSize() {
+        return cache.getSize();
+    }
+
+    @Override
+    public KCache<?, ?> getRawCache() {
+        return null;
+    }
+
+    @Override
+    public long getMaxSize() {
+        return 256 * 32;
+    }
+
+    @Override
+    public boolean isClosed() {
+        return engine != null && engine.isClosed();
+    }
+}
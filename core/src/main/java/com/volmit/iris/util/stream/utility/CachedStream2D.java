@@ -38,7 +38,11 @@ public class CachedStream2D<T> extends BasicStream<T> implements ProceduralStrea
         this.stream = stream;
         this.engine = engine;
         cache = new WorldCache2D<>(stream::get);
-        Iris.service(PreservationSVC.class).registerCache(this);
+        PreservationSVC preservation = Iris.service(PreservationSVC.class);
+
+        if (preservation != null) {
+            preservation.registerCache(this);
+        }
     }
 
     @Override
@@ -79,6 +83,6 @@ public class CachedStream2D<T> extends BasicStream<T> implements ProceduralStrea
 
     @Override
     public boolean isClosed() {
-        return engine.isClosed();
+        return engine != null && engine.isClosed();
     }
 }
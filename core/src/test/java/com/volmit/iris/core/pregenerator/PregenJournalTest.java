@@ -0,0 +1,140 @@
+/*
+ * Iris is a World Generator for Minecraft Bukkit Servers
+ * Copyright (c) 2022 Arcane Arts (Volmit Software)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.volmit.iris.core.pregenerator;
+
+import com.volmit.iris.util.math.Position2;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PregenJournalTest {
+    private static final PregenTask TASK = PregenTask.builder()
+            .center(new Position2(0, 0))
+            .width(4)
+            .height(4)
+            .build();
+
+    @TempDir
+    File world;
+
+    @Test
+    void resumeSkipsOnlySyncedChunks() {
+        PregenJournal journal = open();
+        journal.chunk(1, 2);
+        journal.chunk(3, 4);
+        journal.sync(() -> {
+        });
+        journal.chunk(5, 6);
+
+        // the process dies here, the last chunk was never part of a save
+        PregenJournal resumed = open();
+        assertTrue(resumed.isChunkDone(1, 2));
+        assertTrue(resumed.isChunkDone(3, 4));
+        assertFalse(resumed.isChunkDone(5, 6));
+        resumed.close(false);
+    }
+
+    @Test
+    void recordsWaitForTheSave() {
+        PregenJournal journal = open();
+        long empty = file().length();
+        AtomicLong during = new AtomicLong();
+        journal.chunk(1, 2);
+        journal.sync(() -> during.set(file().length()));
+
+        assertEquals(empty, during.get());
+        assertTrue(file().length() > empty);
+        journal.close(false);
+        assertTrue(open().isChunkDone(1, 2));
+    }
+
+    @Test
+    void failedSaveDoesNotRecordAnything() {
+        PregenJournal journal = open();
+        journal.chunk(1, 2);
+        assertThrows(IllegalStateException.class, () -> journal.sync(() -> {
+            throw new IllegalStateException("save failed");
+        }));
+
+        assertFalse(open().isChunkDone(1, 2));
+    }
+
+    @Test
+    void tornRecordIsCutOff() throws IOException {
+        PregenJournal journal = open();
+        journal.chunk(1, 2);
+        journal.sync(() -> {
+        });
+        journal.close(false);
+
+        try (FileOutputStream out = new FileOutputStream(file(), true)) {
+            out.write(new byte[]{0, 0, 0, 0, 7});
+        }
+
+        PregenJournal resumed = open();
+        assertTrue(resumed.isChunkDone(1, 2));
+        resumed.chunk(3, 4);
+        resumed.sync(() -> {
+        });
+        resumed.close(false);
+
+        PregenJournal again = open();
+        assertTrue(again.isChunkDone(1, 2));
+        assertTrue(again.isChunkDone(3, 4));
+    }
+
+    @Test
+    void finishedRegionIsRecorded() {
+        PregenJournal journal = open();
+        PregenTask.iterateRegion(0, 0, journal::chunk);
+        journal.sync(() -> {
+        });
+
+        PregenJournal resumed = open();
+        assertTrue(resumed.isRegionDone(0, 0));
+        assertFalse(resumed.isRegionDone(1, 0));
+        assertTrue(resumed.isChunkDone(31, 31));
+    }
+
+    @Test
+    void completedTaskDeletesTheJournal() {
+        PregenJournal journal = open();
+        journal.chunk(1, 2);
+        journal.close(true);
+
+        assertFalse(file().exists());
+        assertFalse(open().isChunkDone(1, 2));
+    }
+
+    private PregenJournal open() {
+        PregenJournal journal = new PregenJournal(TASK, world);
+        journal.open();
+        return journal;
+    }
+
+    private File file() {
+        return new File(world, "iris/pregen/0_0_4x4.journal");
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Iris is a World Generator for Minecraft Bukkit Servers
+ * Copyright (c) 2022 Arcane Arts (Volmit Software)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.volmit.iris.engine.mantle;
+
+import com.volmit.iris.core.nms.container.Pair;
+import com.volmit.iris.util.collection.KList;
+import com.volmit.iris.util.context.ChunkContext;
+import com.volmit.iris.util.mantle.MantleFlag;
+import com.volmit.iris.util.math.Position2;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.function.IntBinaryOperator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MantlePlanTest {
+    @Test
+    void earlierLayersCoverTheReachOfLaterOnes() {
+        KList<Pair<KList<MantleComponent>, Integer>> components = new KList<>();
+        components.add(layer(4, (x, z) -> 20));
+        components.add(layer(4, (x, z) -> x == 0 && z == 0 ? 40 : 0));
+        MantlePlan plan = MantlePlan.of(0, 0, components);
+
+        assertEquals(new KList<>(new Position2(0, 0)), plan.layers().get(1));
+        assertEquals(81, plan.layers().get(0).size());
+        assertEquals((4 << 4) + 20, plan.footprint());
+        assertEquals(6, plan.radius());
+    }
+
+    @Test
+    void chunksOutOfReachAreNotPlanned() {
+        KList<Pair<KList<MantleComponent>, Integer>> components = new KList<>();
+        components.add(layer(4, (x, z) -> 0));
+        components.add(layer(4, (x, z) -> x == 0 && z == 0 ? 40 : 0));
+        MantlePlan plan = MantlePlan.of(0, 0, components);
+
+        assertEquals(49, plan.layers().get(0).size());
+        assertEquals(48, plan.footprint());
+        assertEquals(3, plan.radius());
+    }
+
+    @Test
+    void everyChunkTouchingTheFootprintIsPlanned() {
+        for (int seed = 0; seed < 32; seed++) {
+            int s = seed;
+            KList<Pair<KList<MantleComponent>, Integer>> components = new KList<>();
+
+            for (int l = 0; l < 4; l++) {
+                int max = 1 + new Random(s * 31L + l).nextInt(4);
+                int salt = l;
+                components.add(layer(max, (x, z) -> new Random(((long) x * 341873128712L + (long) z * 132897987541L) ^ (s * 7L + salt)).nextInt(max * 16 + 1)));
+            }
+
+            int cx = seed * 3 - 40;
+            int cz = 17 - seed;
+            MantlePlan plan = MantlePlan.of(cx, cz, components);
+            int window = 0;
+
+            for (int l = components.size() - 1; l >= 0; l--) {
+                Pair<KList<MantleComponent>, Integer> layer = components.get(l);
+                KList<Position2> planned = plan.layers().get(l);
+                int reach = window;
+
+                for (int i = -layer.getB(); i <= layer.getB(); i++) {
+                    for (int j = -layer.getB(); j <= layer.getB(); j++) {
+                        int d = Math.max(Math.abs(i), Math.abs(j));
+                        int r = layer.getA().get(0).getRadius(cx + i, cz + j);
+                        boolean touches = d == 0 || (d - 1) * 16 < window + r;
+                        Position2 p = new Position2(cx + i, cz + j);
+
+                        assertEquals(touches, planned.contains(p), "layer " + l + " chunk " + p + " of seed " + seed);
+
+                        if (touches) {
+                            reach = Math.max(reach, d * 16 + r);
+                            assertTrue(d * 16 + r <= plan.radius() * 16, "chunk " + p + " reaches past the writer");
+                        }
+                    }
+                }
+
+                window = reach;
+            }
+
+            assertEquals(window, plan.footprint());
+        }
+    }
+
+    private static Pair<KList<MantleComponent>, Integer> layer(int max, IntBinaryOperator radius) {
+        return new Pair<>(new KList<>(component(max, radius)), max);
+    }
+
+    private static MantleComponent component(int max, IntBinaryOperator radius) {
+        return new MantleComponent() {
+            @Override
+            public int getPriority() {
+                return 0;
+            }
+
+            @Override
+            public int getRadius() {
+                return max * 16;
+            }
+
+            @Override
+            public int getRadius(int x, int z) {
+                return radius.applyAsInt(x, z);
+            }
+
+            @Override
+            public EngineMantle getEngineMantle() {
+                return null;
+            }
+
+            @Override
+            public MantleFlag getFlag() {
+                return MantleFlag.OBJECT;
+            }
+
+            @Override
+            public void generateLayer(MantleWriter writer, int x, int z, ChunkContext context) {
+            }
+        };
+    }
+}
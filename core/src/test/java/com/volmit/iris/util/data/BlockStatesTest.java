@@ -0,0 +1,87 @@
+/*
+ * Iris is a World Generator for Minecraft Bukkit Servers
+ * Copyright (c) 2022 Arcane Arts (Volmit Software)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.volmit.iris.util.data;
+
+import com.volmit.iris.util.matter.IrisMatter;
+import com.volmit.iris.util.matter.Matter;
+import org.bukkit.Material;
+import org.bukkit.block.BlockFace;
+import org.bukkit.block.data.BlockData;
+import org.bukkit.block.data.MultipleFacing;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BlockStatesTest {
+    private static final String VINE = "minecraft:vine[east=false,north=true,south=false,up=false,west=false]";
+
+    @BeforeAll
+    static void server() {
+        StandInServer.install();
+    }
+
+    @Test
+    void attachingFacesLeavesTheCanonicalStateUntouched() {
+        BlockData canonical = BlockStates.parse(VINE);
+        String key = BlockStates.key(canonical);
+        BlockData stone = BlockStates.of(Material.STONE);
+        BlockData air = BlockStates.of(Material.AIR);
+
+        MultipleFacing attached = B.attachFaces((MultipleFacing) canonical, face -> face == BlockFace.UP ? stone : air);
+
+        assertNotSame(canonical, attached);
+        assertTrue(attached.hasFace(BlockFace.UP));
+        assertFalse(attached.hasFace(BlockFace.NORTH));
+        assertTrue(((MultipleFacing) canonical).hasFace(BlockFace.NORTH));
+        assertFalse(((MultipleFacing) canonical).hasFace(BlockFace.UP));
+        assertEquals(VINE, canonical.getAsString(true));
+        assertSame(canonical, BlockStates.parse(VINE));
+        assertSame(canonical, BlockStates.get(BlockStates.id(VINE)));
+        assertEquals(key, BlockStates.key(BlockStates.id(VINE)));
+    }
+
+    @Test
+    void decodedSectionsShareCanonicalStates() throws IOException {
+        Matter matter = new IrisMatter(16, 16, 16);
+        matter.slice(BlockData.class).set(1, 2, 3, B.getOrNull(VINE, false));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        matter.write(out);
+
+        BlockData decoded = Matter.read(new ByteArrayInputStream(out.toByteArray())).slice(BlockData.class).get(1, 2, 3);
+        assertSame(BlockStates.parse(VINE), decoded);
+
+        B.attachFaces((MultipleFacing) decoded, face -> BlockStates.of(Material.STONE));
+        assertEquals(VINE, BlockStates.parse(VINE).getAsString(true));
+    }
+
+    @Test
+    void parsedBlockDataIsAPrivateCopy() {
+        BlockData copy = B.getOrNull(VINE, false);
+        assertNotSame(BlockStates.parse(VINE), copy);
+
+        ((MultipleFacing) copy).setFace(BlockFace.UP, true);
+        assertEquals(VINE, BlockStates.parse(VINE).getAsString(true));
+        assertEquals(VINE, B.getOrNull(VINE, false).getAsString(true));
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Iris is a World Generator for Minecraft Bukkit Servers
+ * Copyright (c) 2022 Arcane Arts (Volmit Software)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.volmit.iris.util.mantle;
+
+import com.volmit.iris.util.io.CountingDataInputStream;
+import com.volmit.iris.util.matter.MatterObjectRef;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TectonicPlateTest {
+    private static final int WORLD_HEIGHT = 384;
+
+    @Test
+    void streamRoundTripKeepsFlagsAndObjects() throws IOException {
+        TectonicPlate plate = plate();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        try (DataOutputStream dos = new DataOutputStream(bytes)) {
+            plate.write(dos);
+        }
+
+        try (CountingDataInputStream din = CountingDataInputStream.wrap(new ByteArrayInputStream(bytes.toByteArray()))) {
+            assertPlate(new TectonicPlate(WORLD_HEIGHT, din));
+        }
+    }
+
+    @Test
+    void fileRoundTripKeepsFlagsAndObjects(@TempDir File folder) throws IOException {
+        File file = new File(folder, "0.0.ttp");
+        plate().write(file);
+        assertPlate(TectonicPlate.read(WORLD_HEIGHT, file));
+    }
+
+    @Test
+    void legacyStreamLayoutIsStillRead() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        try (DataOutputStream dos = new DataOutputStream(bytes)) {
+            dos.writeInt(1);
+            dos.writeInt(2);
+            ByteArrayOutputStream chunk = new ByteArrayOutputStream();
+            DataOutputStream c = new DataOutputStream(chunk);
+            c.writeByte(3);
+            c.writeByte(4);
+            c.writeByte(WORLD_HEIGHT >> 4);
+
+            for (int i = 0; i < MantleChunk.LEGACY_FLAG_COUNT; i++) {
+                c.writeBoolean(i == MantleFlag.CARVED.ordinal());
+            }
+
+            for (int i = 0; i < WORLD_HEIGHT >> 4; i++) {
+                c.writeInt(0);
+            }
+
+            for (int i = 0; i < 1024; i++) {
+                if (i == 4 * 32 + 3) {
+                    dos.writeInt(chunk.size());
+                    chunk.writeTo(dos);
+                } else {
+                    dos.writeInt(0);
+                }
+            }
+        }
+
+        try (CountingDataInputStream din = CountingDataInputStream.wrap(new ByteArrayInputStream(bytes.toByteArray()))) {
+            TectonicPlate plate = new TectonicPlate(WORLD_HEIGHT, din);
+            assertEquals(1, plate.getX());
+            assertEquals(2, plate.getZ());
+            MantleChunk chunk = plate.get(3, 4);
+            assertNotNull(chunk);
+            assertTrue(chunk.isFlagged(MantleFlag.CARVED));
+            assertFalse(chunk.isFlagged(MantleFlag.FLUID_UPDATES));
+        }
+    }
+
+    private static TectonicPlate plate() {
+        TectonicPlate plate = new TectonicPlate(WORLD_HEIGHT, 1, 2);
+        MantleChunk chunk = plate.getOrCreate(3, 4);
+
+        for (MantleFlag i : MantleFlag.values()) {
+            chunk.flag(i, i.ordinal() % 2 == 0 || i == MantleFlag.FLUID_UPDATES);
+        }
+
+        MatterObjectRef ref = chunk.getObjects().ref("trees/oak", 42);
+        chunk.getOrCreate(5).slice(MatterObjectRef.class).set(1, 2, 3, ref);
+        chunk.getOrCreate(5).slice(Integer.class).set(4, 5, 6, 7);
+        return plate;
+    }
+
+    private static void assertPlate(TectonicPlate plate) {
+        assertEquals(1, plate.getX());
+        assertEquals(2, plate.getZ());
+        MantleChunk chunk = plate.get(3, 4);
+        assertNotNull(chunk);
+        assertTrue(MantleFlag.values().length > MantleChunk.LEGACY_FLAG_COUNT);
+
+        for (MantleFlag i : MantleFlag.values()) {
+            assertEquals(i.ordinal() % 2 == 0 || i == MantleFlag.FLUID_UPDATES, chunk.isFlagged(i), i.name());
+        }
+
+        MatterObjectRef ref = chunk.get(5).slice(MatterObjectRef.class).get(1, 2, 3);
+        assertNotNull(ref);
+        assertEquals(new MantleObjectTable.Entry("trees/oak", 42), chunk.getObjects().get(ref));
+        assertEquals(7, chunk.get(5).slice(Integer.class).get(4, 5, 6));
+    }
+}
@@ -0,0 +1,220 @@
+/*
+ * Iris is a World Generator for Minecraft Bukkit Servers
+ * Copyright (c) 2022 Arcane Arts (Volmit Software)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.volmit.iris.util.data;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.Registry;
+import org.bukkit.Server;
+import org.bukkit.block.BlockFace;
+import org.bukkit.block.data.BlockData;
+import org.bukkit.block.data.MultipleFacing;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * A stand-in Bukkit server for tests and benchmarks that run without a server. It only creates block data.
+ * A state is a material plus its sorted properties, and vine like blocks implement {@link MultipleFacing}.
+ * Registries are empty and every other server call fails.
+ * Parsing is far cheaper than on a real server, so timings of code creating block data are a lower bound.
+ */
+public final class StandInServer implements InvocationHandler {
+    private static final Logger LOGGER = Logger.getLogger("StandInServer");
+    private static final Set<BlockFace> VINE_FACES = EnumSet.of(BlockFace.NORTH, BlockFace.EAST, BlockFace.SOUTH, BlockFace.WEST, BlockFace.UP);
+    private static final Set<BlockFace> LICHEN_FACES = EnumSet.of(BlockFace.NORTH, BlockFace.EAST, BlockFace.SOUTH, BlockFace.WEST, BlockFace.UP, BlockFace.DOWN);
+
+    private static final Registry<?> EMPTY_REGISTRY = (Registry<?>) Proxy.newProxyInstance(StandInServer.class.getClassLoader(), new Class[]{Registry.class}, (proxy, method, args) -> switch (method.getName()) {
+        case "iterator" -> Collections.emptyIterator();
+        case "stream" -> Stream.empty();
+        case "hashCode" -> System.identityHashCode(proxy);
+        case "equals" -> proxy == args[0];
+        case "toString" -> "EmptyRegistry";
+        default -> null;
+    });
+
+    private StandInServer() {
+    }
+
+    /**
+     * Install the stand-in server unless a server is already set
+     */
+    public static synchronized void install() {
+        if (Bukkit.getServer() == null) {
+            Bukkit.setServer((Server) Proxy.newProxyInstance(StandInServer.class.getClassLoader(), new Class[]{Server.class}, new StandInServer()));
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Object invoke(Object proxy, Method method, Object[] args) {
+        return switch (method.getName()) {
+            case "getLogger" -> LOGGER;
+            case "getName" -> "StandIn";
+            case "getVersion", "getBukkitVersion" -> "offline";
+            case "getRegistry" -> EMPTY_REGISTRY;
+            case "hashCode" -> System.identityHashCode(proxy);
+            case "equals" -> proxy == args[0];
+            case "toString" -> "StandInServer";
+            case "createBlockData" -> {
+                if (args[0] instanceof String raw) {
+                    yield parse(raw);
+                }
+
+                BlockData data = create((Material) args[0], args.length > 1 && args[1] instanceof String s ? s : null);
+
+                if (args.length > 1 && args[1] instanceof Consumer<?> c) {
+                    ((Consumer<BlockData>) c).accept(data);
+                }
+
+                yield data;
+            }
+            default -> throw new UnsupportedOperationException("Server#" + method.getName());
+        };
+    }
+
+    private static BlockData parse(String raw) {
+        String s = raw.trim().toLowerCase(Locale.ROOT);
+        int b = s.indexOf('[');
+        Material m = Material.matchMaterial(b < 0 ? s : s.substring(0, b));
+
+        if (m == null || !m.isBlock()) {
+            throw new IllegalArgumentException("Could not parse data: " + raw);
+        }
+
+        return create(m, b < 0 ? null : s.substring(b));
+    }
+
+    private static BlockData create(Material material, String properties) {
+        if (!material.isBlock()) {
+            throw new IllegalArgumentException("Not a block: " + material);
+        }
+
+        TreeMap<String, String> p = new TreeMap<>();
+
+        for (BlockFace i : faces(material)) {
+            p.put(i.name().toLowerCase(Locale.ROOT), "false");
+        }
+
+        if (properties != null && properties.length() > 2) {
+            for (String i : properties.substring(1, properties.length() - 1).split(",")) {
+                String[] kv = i.split("=", 2);
+
+                if (kv.length != 2) {
+                    throw new IllegalArgumentException("Could not parse data: " + properties);
+                }
+
+                p.put(kv[0].trim(), kv[1].trim());
+            }
+        }
+
+        return State.proxy(material, p);
+    }
+
+    private static Set<BlockFace> faces(Material material) {
+        return switch (material) {
+            case VINE -> VINE_FACES;
+            case GLOW_LICHEN, SCULK_VEIN -> LICHEN_FACES;
+            default -> Collections.emptySet();
+        };
+    }
+
+    private record State(Material material, TreeMap<String, String> properties) implements InvocationHandler {
+        static BlockData proxy(Material material, TreeMap<String, String> properties) {
+            Class<?>[] types = faces(material).isEmpty() ? new Class[]{BlockData.class} : new Class[]{MultipleFacing.class};
+            return (BlockData) Proxy.newProxyInstance(StandInServer.class.getClassLoader(), types, new State(material, properties));
+        }
+
+        static State of(Object data) {
+            return data != null && Proxy.isProxyClass(data.getClass()) && Proxy.getInvocationHandler(data) instanceof State s ? s : null;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) {
+            return switch (method.getName()) {
+                case "getMaterial" -> material;
+                case "getAsString" -> asString();
+                case "toString" -> "StandInBlockData{" + asString() + "}";
+                case "clone" -> proxy(material, new TreeMap<>(properties));
+                case "equals" -> equals(of(args[0]));
+                case "hashCode" -> hashCode();
+                case "matches" -> {
+                    State o = of(args[0]);
+                    yield o != null && o.material == material && properties.entrySet().containsAll(o.properties.entrySet());
+                }
+                case "merge" -> {
+                    State o = of(args[0]);
+
+                    if (o == null || o.material != material) {
+                        throw new IllegalArgumentException("Data not compatible");
+                    }
+
+                    TreeMap<String, String> p = new TreeMap<>(properties);
+                    p.putAll(o.properties);
+                    yield proxy(material, p);
+                }
+                case "getAllowedFaces" -> EnumSet.copyOf(faces(material));
+                case "getFaces" -> {
+                    Set<BlockFace> f = EnumSet.noneOf(BlockFace.class);
+
+                    for (BlockFace i : faces(material)) {
+                        if (hasFace(i)) {
+                            f.add(i);
+                        }
+                    }
+
+                    yield f;
+                }
+                case "hasFace" -> hasFace((BlockFace) args[0]);
+                case "setFace" -> {
+                    BlockFace face = (BlockFace) args[0];
+
+                    if (!faces(material).contains(face)) {
+                        throw new IllegalArgumentException("Face not allowed: " + face);
+                    }
+
+                    properties.put(face.name().toLowerCase(Locale.ROOT), String.valueOf(args[1]));
+                    yield null;
+                }
+                default -> throw new UnsupportedOperationException("BlockData#" + method.getName());
+            };
+        }
+
+        private boolean hasFace(BlockFace face) {
+            return "true".equals(properties.get(face.name().toLowerCase(Locale.ROOT)));
+        }
+
+        private String asString() {
+            StringBuilder b = new StringBuilder("minecraft:").append(material.name().toLowerCase(Locale.ROOT));
+
+            if (!properties.isEmpty()) {
+                StringJoiner j = new StringJoiner(",", "[", "]");
+                properties.forEach((k, v) -> j.add(k + "=" + v));
+                b.append(j);
+            }
+
+            return b.toString();
+        }
+    }
+}